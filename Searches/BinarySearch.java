@@ -1,10 +1,15 @@
 package Searches;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.IntStream;
 
+import static Searches.SearchUtils.checkRange;
+import static Searches.SearchUtils.lessBit;
 import static java.lang.String.format;
 
 /**
@@ -14,6 +19,12 @@ import static java.lang.String.format;
  * Binary search is one of the most popular algorithms
  * The algorithm finds the position of a target value within a sorted array
  *
+ * The primitive arrays are searched without boxing by a branchless loop,
+ * which also gives the lower and upper bounds of a key
+ *
+ * A batch of keys is found by {@code findAll}: sorted keys by galloping from the previous key,
+ * other keys by several interleaved searches, in parallel by {@code parallelFindAll}
+ *
  * Worst-case performance	O(log n)
  * Best-case performance	O(1)
  * Average performance	O(log n)
@@ -23,12 +34,23 @@ import static java.lang.String.format;
  * @author Varun Upadhyay (https://github.com/varunu28)
  * @author Podshivalov Nikita (https://github.com/nikitap492)
  *
- * @see SearchAlgorithm
+ * @see SortedSearchAlgorithm
+ * @see PrimitiveSearchAlgorithm
  * @see IterativeBinarySearch
  *
  */
 
-class BinarySearch implements SearchAlgorithm {
+class BinarySearch implements SortedSearchAlgorithm, PrimitiveSearchAlgorithm {
+
+    /**
+     * The number of the searches of a batch which take their steps together
+     */
+    private static final int INTERLEAVED = 16;
+
+    /**
+     * The number of the keys of a batch searched by one task of the parallel mode
+     */
+    private static final int PARALLEL_GRANULARITY = 1 << 12;
 
     /**
      *
@@ -39,7 +61,7 @@ class BinarySearch implements SearchAlgorithm {
      */
     @Override
     public  <T extends Comparable<T>> int find(T array[], T key) {
-        return search(array, key, 0, array.length);
+        return search(array, key, 0, array.length - 1);
     }
 
     /**
@@ -69,6 +91,275 @@ class BinarySearch implements SearchAlgorithm {
         return median;
     }
 
+    @Override
+    public <T extends Comparable<T>> int lowerBound(T[] array, T key) {
+        return SearchUtils.lowerBound(array, 0, array.length, key, Comparator.naturalOrder());
+    }
+
+    @Override
+    public <T extends Comparable<T>> int upperBound(T[] array, T key) {
+        return SearchUtils.upperBound(array, 0, array.length, key, Comparator.naturalOrder());
+    }
+
+    /**
+     * The upper bound is searched only from the lower bound
+     */
+    @Override
+    public <T extends Comparable<T>> int[] equalRange(T[] array, T key) {
+        int lower = lowerBound(array, key);
+        return new int[]{lower, SearchUtils.upperBound(array, lower, array.length, key, Comparator.naturalOrder())};
+    }
+
+    @Override
+    public int lowerBound(int[] array, int from, int to, int key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.lowerBound(array, from, to, key);
+    }
+
+    @Override
+    public int upperBound(int[] array, int from, int to, int key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.upperBound(array, from, to, key);
+    }
+
+    @Override
+    public int lowerBound(long[] array, int from, int to, long key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.lowerBound(array, from, to, key);
+    }
+
+    @Override
+    public int upperBound(long[] array, int from, int to, long key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.upperBound(array, from, to, key);
+    }
+
+    @Override
+    public int lowerBound(double[] array, int from, int to, double key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.lowerBound(array, from, to, key);
+    }
+
+    @Override
+    public int upperBound(double[] array, int from, int to, double key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.upperBound(array, from, to, key);
+    }
+
+    /**
+     * Finds every key of a batch in a sorted array.
+     * Sorted keys, like the keys of a merge join, are found by galloping from the index of the previous key,
+     * so a batch of m keys takes O(m log(n / m)) comparisons.
+     * Other keys are searched in groups of {@value #INTERLEAVED} by the branchless loop:
+     * the searches of a group take their steps together, so their loads don't depend on each other
+     * and the cache misses overlap.
+     *
+     * @param array a sorted array
+     * @param keys the keys to find
+     * @param out receives the first index of every key or -1 if the key is not found
+     * @param <T> is any comparable type
+     * @return out
+     */
+    public <T extends Comparable<T>> int[] findAll(T[] array, T[] keys, int[] out) {
+        checkOut(keys.length, out.length);
+        findAll(array, keys, out, 0, keys.length);
+        return out;
+    }
+
+    /**
+     * Same as {@link #findAll(Comparable[], Comparable[], int[])}, the batch is split between the threads of the common pool
+     */
+    public <T extends Comparable<T>> int[] parallelFindAll(T[] array, T[] keys, int[] out) {
+        checkOut(keys.length, out.length);
+        parallel(keys.length, (from, to) -> findAll(array, keys, out, from, to));
+        return out;
+    }
+
+    private static <T extends Comparable<T>> void findAll(T[] array, T[] keys, int[] out, int from, int to) {
+        boolean sorted = true;
+        for (int i = from + 1; i < to && sorted; i++) {
+            sorted = keys[i].compareTo(keys[i - 1]) >= 0;
+        }
+        int length = array.length;
+        if (sorted) {
+            int low = 0;
+            for (int i = from; i < to; i++) {
+                low = SearchUtils.gallop(array, low, length, keys[i], Comparator.naturalOrder());
+                out[i] = low < length && array[low].compareTo(keys[i]) == 0 ? low : -1;
+            }
+            return;
+        }
+
+        int[] base = new int[INTERLEAVED];
+        int i = from;
+        for (; i + INTERLEAVED <= to; i += INTERLEAVED) {
+            for (int half, remaining = length; remaining > 1; remaining -= half) {
+                half = remaining >>> 1;
+                for (int j = 0; j < INTERLEAVED; j++) {
+                    base[j] = array[base[j] + half - 1].compareTo(keys[i + j]) < 0 ? base[j] + half : base[j];
+                }
+            }
+            for (int j = 0; j < INTERLEAVED; j++) {
+                int index = length == 0 || array[base[j]].compareTo(keys[i + j]) >= 0 ? base[j] : base[j] + 1;
+                out[i + j] = index < length && array[index].compareTo(keys[i + j]) == 0 ? index : -1;
+                base[j] = 0;
+            }
+        }
+        for (; i < to; i++) {
+            int index = SearchUtils.lowerBound(array, 0, length, keys[i], Comparator.naturalOrder());
+            out[i] = index < length && array[index].compareTo(keys[i]) == 0 ? index : -1;
+        }
+    }
+
+    /**
+     * Finds every key of a batch, see {@link #findAll(Comparable[], Comparable[], int[])}
+     */
+    public int[] findAll(int[] array, int[] keys, int[] out) {
+        checkOut(keys.length, out.length);
+        findAll(array, keys, out, 0, keys.length);
+        return out;
+    }
+
+    /**
+     * Same as {@link #findAll(int[], int[], int[])}, the batch is split between the threads of the common pool
+     */
+    public int[] parallelFindAll(int[] array, int[] keys, int[] out) {
+        checkOut(keys.length, out.length);
+        parallel(keys.length, (from, to) -> findAll(array, keys, out, from, to));
+        return out;
+    }
+
+    private static void findAll(int[] array, int[] keys, int[] out, int from, int to) {
+        boolean sorted = true;
+        for (int i = from + 1; i < to && sorted; i++) {
+            sorted = !(keys[i] < keys[i - 1]);
+        }
+        int length = array.length;
+        if (sorted) {
+            int low = 0;
+            for (int i = from; i < to; i++) {
+                low = SearchUtils.gallop(array, low, length, keys[i]);
+                out[i] = low < length && array[low] == keys[i] ? low : -1;
+            }
+            return;
+        }
+
+        int[] base = new int[INTERLEAVED];
+        int i = from;
+        for (; i + INTERLEAVED <= to; i += INTERLEAVED) {
+            for (int half, remaining = length; remaining > 1; remaining -= half) {
+                half = remaining >>> 1;
+                for (int j = 0; j < INTERLEAVED; j++) {
+                    base[j] += half & -lessBit(array[base[j] + half - 1], keys[i + j]);
+                }
+            }
+            for (int j = 0; j < INTERLEAVED; j++) {
+                int index = length == 0 ? 0 : base[j] + lessBit(array[base[j]], keys[i + j]);
+                out[i + j] = index < length && array[index] == keys[i + j] ? index : -1;
+                base[j] = 0;
+            }
+        }
+        for (; i < to; i++) {
+            int index = SearchUtils.lowerBound(array, 0, length, keys[i]);
+            out[i] = index < length && array[index] == keys[i] ? index : -1;
+        }
+    }
+
+    /**
+     * Finds every key of a batch, see {@link #findAll(Comparable[], Comparable[], int[])}
+     */
+    public int[] findAll(long[] array, long[] keys, int[] out) {
+        checkOut(keys.length, out.length);
+        findAll(array, keys, out, 0, keys.length);
+        return out;
+    }
+
+    /**
+     * Same as {@link #findAll(long[], long[], int[])}, the batch is split between the threads of the common pool
+     */
+    public int[] parallelFindAll(long[] array, long[] keys, int[] out) {
+        checkOut(keys.length, out.length);
+        parallel(keys.length, (from, to) -> findAll(array, keys, out, from, to));
+        return out;
+    }
+
+    private static void findAll(long[] array, long[] keys, int[] out, int from, int to) {
+        boolean sorted = true;
+        for (int i = from + 1; i < to && sorted; i++) {
+            sorted = !(keys[i] < keys[i - 1]);
+        }
+        int length = array.length;
+        if (sorted) {
+            int low = 0;
+            for (int i = from; i < to; i++) {
+                low = SearchUtils.gallop(array, low, length, keys[i]);
+                out[i] = low < length && array[low] == keys[i] ? low : -1;
+            }
+            return;
+        }
+
+        int[] base = new int[INTERLEAVED];
+        int i = from;
+        for (; i + INTERLEAVED <= to; i += INTERLEAVED) {
+            for (int half, remaining = length; remaining > 1; remaining -= half) {
+                half = remaining >>> 1;
+                for (int j = 0; j < INTERLEAVED; j++) {
+                    base[j] += half & -lessBit(array[base[j] + half - 1], keys[i + j]);
+                }
+            }
+            for (int j = 0; j < INTERLEAVED; j++) {
+                int index = length == 0 ? 0 : base[j] + lessBit(array[base[j]], keys[i + j]);
+                out[i + j] = index < length && array[index] == keys[i + j] ? index : -1;
+                base[j] = 0;
+            }
+        }
+        for (; i < to; i++) {
+            int index = SearchUtils.lowerBound(array, 0, length, keys[i]);
+            out[i] = index < length && array[index] == keys[i] ? index : -1;
+        }
+    }
+
+    private static void checkOut(int keys, int out) {
+        if (out < keys) {
+            throw new IllegalArgumentException("out.length(" + out + ") < keys.length(" + keys + ")");
+        }
+    }
+
+    /**
+     * A part {@code [from, to)} of a batch
+     */
+    private interface RangeAction {
+        void run(int from, int to);
+    }
+
+    private static void parallel(int length, RangeAction action) {
+        ForkJoinPool.commonPool().invoke(new RangeTask(action, 0, length));
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeAction action;
+        private final int from;
+        private final int to;
+
+        RangeTask(RangeAction action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_GRANULARITY) {
+                action.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(action, from, middle), new RangeTask(action, middle, to));
+        }
+    }
+
     // Driver Program
     public static void main(String[] args) {
         // Just generate data
@@ -77,10 +368,10 @@ class BinarySearch implements SearchAlgorithm {
         int size = 100;
         int maxElement = 100000;
         
-        int[] integers = IntStream.generate(() -> r.nextInt(maxElement)).limit(size).sorted().toArray();
+        int[] integers = IntStream.generate(() -> random.nextInt(maxElement)).limit(size).sorted().toArray();
 
         // The element that should be found
-        int shouldBeFound = integers[r.nextInt(size - 1)];
+        int shouldBeFound = integers[random.nextInt(size - 1)];
 
         BinarySearch search = new BinarySearch();
         int atIndex = search.find(integers, shouldBeFound);
@@ -92,5 +383,16 @@ class BinarySearch implements SearchAlgorithm {
 
         int toCheck = Arrays.binarySearch(integers, shouldBeFound);
         System.out.println(format("Found by system method at an index: %d. Is equal: %b", toCheck, toCheck == atIndex));
+
+        // Range query over a sorted column: the elements in [20, 40)
+        long[] timestamps = {10, 20, 20, 30, 40, 40, 50};
+        int from = search.lowerBound(timestamps, 20);
+        int to = search.lowerBound(timestamps, 40);
+
+        // Output => [20, 20, 30]
+        System.out.println(Arrays.toString(Arrays.copyOfRange(timestamps, from, to)));
+
+        // Output => [4, 6]
+        System.out.println(Arrays.toString(search.equalRange(timestamps, 40)));
     }
 }
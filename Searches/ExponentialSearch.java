@@ -0,0 +1,180 @@
+package Searches;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+
+import static Searches.SearchUtils.checkRange;
+
+/**
+ * Exponential search, also called galloping search
+ *
+ * The search probes the indexes 0, 1, 3, 7, ... until an element is not less than the key,
+ * then the binary search finishes in the last step. It takes O(log i) comparisons for the key at the index i,
+ * so it is faster than the binary search for the keys near the beginning,
+ * and it doesn't need the length of the sequence: a sorted sequence without a known end,
+ * like a sorted file which is still written or an infinite sequence, can be searched by the index of its elements.
+ *
+ * Worst-case performance	O(log i)
+ * Best-case performance	O(1)
+ * Average performance	O(log i)
+ * Worst-case space complexity	O(1)
+ *
+ * @see SortedSearchAlgorithm
+ * @see PrimitiveSearchAlgorithm
+ * @see BinarySearch
+ *
+ */
+public final class ExponentialSearch implements SortedSearchAlgorithm, PrimitiveSearchAlgorithm {
+
+    /**
+     * @param array a sorted array
+     * @param key the key to search in array
+     * @return the first index of the key in the array or -1 if not found
+     */
+    @Override
+    public <T extends Comparable<T>> int find(T[] array, T key) {
+        int index = lowerBound(array, key);
+        return index < array.length && array[index].compareTo(key) == 0 ? index : -1;
+    }
+
+    @Override
+    public <T extends Comparable<T>> int lowerBound(T[] array, T key) {
+        return SearchUtils.gallop(array, 0, array.length, key, Comparator.naturalOrder());
+    }
+
+    @Override
+    public <T extends Comparable<T>> int upperBound(T[] array, T key) {
+        return SearchUtils.gallopUpper(array, 0, array.length, key, Comparator.naturalOrder());
+    }
+
+    /**
+     * The upper bound gallops from the lower bound, so it takes O(log i + log m) comparisons
+     * for m elements equal to the key
+     */
+    @Override
+    public <T extends Comparable<T>> int[] equalRange(T[] array, T key) {
+        int lower = lowerBound(array, key);
+        return new int[]{lower, SearchUtils.gallopUpper(array, lower, array.length, key, Comparator.naturalOrder())};
+    }
+
+    @Override
+    public int lowerBound(int[] array, int from, int to, int key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.gallop(array, from, to, key);
+    }
+
+    @Override
+    public int upperBound(int[] array, int from, int to, int key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.gallopUpper(array, from, to, key);
+    }
+
+    @Override
+    public int lowerBound(long[] array, int from, int to, long key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.gallop(array, from, to, key);
+    }
+
+    @Override
+    public int upperBound(long[] array, int from, int to, long key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.gallopUpper(array, from, to, key);
+    }
+
+    @Override
+    public int lowerBound(double[] array, int from, int to, double key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.gallop(array, from, to, key);
+    }
+
+    @Override
+    public int upperBound(double[] array, int from, int to, double key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.gallopUpper(array, from, to, key);
+    }
+
+    /**
+     * Searches a sorted sequence without a known end
+     *
+     * @param sequence returns the element at an index, the elements don't decrease
+     *                 and some element must be not less than the key, e.g. a sentinel after the last one
+     * @param key the key to search
+     * @return the first index whose element is not less than the key
+     * @throws IllegalArgumentException if all elements up to {@code Long.MAX_VALUE} are less than the key
+     */
+    public static long lowerBound(LongUnaryOperator sequence, long key) {
+        long low = 0;
+        long step = 1;
+        while (sequence.applyAsLong(low + step - 1) < key) {
+            low += step;
+            if (low == Long.MAX_VALUE) {
+                throw new IllegalArgumentException("No element is greater than or equal to " + key);
+            }
+            step = step > (Long.MAX_VALUE - low) >>> 1 ? Long.MAX_VALUE - low : step << 1;
+        }
+        // the answer is in [low, low + step - 1]
+        long high = low + step - 1;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (sequence.applyAsLong(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Searches a sorted sequence without a known end
+     *
+     * @param sequence returns the element at an index, the elements don't decrease in the order of the comparator
+     *                 and some element must be not less than the key
+     * @param key the key to search
+     * @param comparator the order of the elements
+     * @return the first index whose element is not less than the key
+     * @throws IllegalArgumentException if all elements up to {@code Long.MAX_VALUE} are less than the key
+     */
+    public static <T> long lowerBound(LongFunction<? extends T> sequence, T key, Comparator<? super T> comparator) {
+        long low = 0;
+        long step = 1;
+        while (comparator.compare(sequence.apply(low + step - 1), key) < 0) {
+            low += step;
+            if (low == Long.MAX_VALUE) {
+                throw new IllegalArgumentException("No element is greater than or equal to " + key);
+            }
+            step = step > (Long.MAX_VALUE - low) >>> 1 ? Long.MAX_VALUE - low : step << 1;
+        }
+        long high = low + step - 1;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (comparator.compare(sequence.apply(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Driver Program
+    public static void main(String[] args) {
+        ExponentialSearch search = new ExponentialSearch();
+        int[] integers = {1, 2, 3, 5, 8, 13, 21, 34, 55, 89};
+
+        // Output => 6
+        System.out.println(search.find(integers, 21));
+
+        // Output => [3, 6]
+        System.out.println(Arrays.toString(search.equalRange(new long[]{1, 2, 3, 5, 5, 5, 8}, 5)));
+
+        // Output => [1, 3]
+        System.out.println(Arrays.toString(search.equalRange(new String[]{"a", "b", "b", "c"}, "b")));
+
+        // The squares are an infinite sorted sequence, the first square not less than 1000 is 32 * 32
+        // Output => 32
+        System.out.println(lowerBound(index -> index * index, 1000));
+    }
+}
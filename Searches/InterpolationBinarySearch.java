@@ -0,0 +1,202 @@
+package Searches;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static Searches.SearchUtils.checkRange;
+import static Searches.SearchUtils.less;
+import static java.lang.String.format;
+
+/**
+ * Interpolation search guarded by the binary search
+ *
+ * Every step probes the index where the key would be if the elements between the bounds were uniformly distributed,
+ * as the {@link InterpolationSearch}. On skewed keys, like Zipf-distributed ids, the probes can land next to a bound
+ * and the plain interpolation search takes O(n) steps. So when a probe doesn't cut the range at least in half,
+ * it is followed by a bisection step. Every step halves the range or better,
+ * the worst case stays O(log n) with at most twice the probes of the binary search,
+ * while near-uniform keys are found in O(log log n) probes.
+ * The last {@value #BINARY_THRESHOLD} elements are searched by the branchless binary search.
+ *
+ * Worst-case performance	O(log n)
+ * Best-case performance	O(1)
+ * Average performance	O(log log n) if the elements are uniformly distributed
+ * Worst-case space complexity	O(1)
+ *
+ * @see InterpolationSearch
+ * @see PrimitiveSearchAlgorithm
+ *
+ */
+public final class InterpolationBinarySearch implements PrimitiveSearchAlgorithm {
+
+    /**
+     * The ranges up to this length are searched by the binary search
+     */
+    private static final int BINARY_THRESHOLD = 32;
+
+    @Override
+    public int lowerBound(int[] array, int from, int to, int key) {
+        checkRange(array.length, from, to);
+        return bound(array, from, to, key, false);
+    }
+
+    @Override
+    public int upperBound(int[] array, int from, int to, int key) {
+        checkRange(array.length, from, to);
+        return bound(array, from, to, key, true);
+    }
+
+    /**
+     * The answer stays in {@code [low, high]}: the elements before {@code low} go before the key
+     * and the elements from {@code high} don't
+     *
+     * @param upper whether the elements equal to the key go before it
+     */
+    private static int bound(int[] array, int low, int high, int key, boolean upper) {
+        while (high - low > BINARY_THRESHOLD) {
+            int first = array[low];
+            int last = array[high - 1];
+            if (upper ? key < first : !(first < key)) {
+                return low;
+            }
+            if (upper ? !(key < last) : last < key) {
+                return high;
+            }
+            int width = high - low;
+            int probe = probe(low, high, ((double) key - first) / ((double) last - first));
+            if (upper ? !(key < array[probe]) : array[probe] < key) {
+                low = probe + 1;
+            } else {
+                high = probe;
+            }
+            if (high - low > width >>> 1) {
+                int middle = (low + high) >>> 1;
+                if (upper ? !(key < array[middle]) : array[middle] < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+        }
+        return upper ? SearchUtils.upperBound(array, low, high, key) : SearchUtils.lowerBound(array, low, high, key);
+    }
+
+    @Override
+    public int lowerBound(long[] array, int from, int to, long key) {
+        checkRange(array.length, from, to);
+        return bound(array, from, to, key, false);
+    }
+
+    @Override
+    public int upperBound(long[] array, int from, int to, long key) {
+        checkRange(array.length, from, to);
+        return bound(array, from, to, key, true);
+    }
+
+    private static int bound(long[] array, int low, int high, long key, boolean upper) {
+        while (high - low > BINARY_THRESHOLD) {
+            long first = array[low];
+            long last = array[high - 1];
+            if (upper ? key < first : !(first < key)) {
+                return low;
+            }
+            if (upper ? !(key < last) : last < key) {
+                return high;
+            }
+            int width = high - low;
+            int probe = probe(low, high, ((double) key - first) / ((double) last - first));
+            if (upper ? !(key < array[probe]) : array[probe] < key) {
+                low = probe + 1;
+            } else {
+                high = probe;
+            }
+            if (high - low > width >>> 1) {
+                int middle = (low + high) >>> 1;
+                if (upper ? !(key < array[middle]) : array[middle] < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+        }
+        return upper ? SearchUtils.upperBound(array, low, high, key) : SearchUtils.lowerBound(array, low, high, key);
+    }
+
+    @Override
+    public int lowerBound(double[] array, int from, int to, double key) {
+        checkRange(array.length, from, to);
+        return bound(array, from, to, key, false);
+    }
+
+    @Override
+    public int upperBound(double[] array, int from, int to, double key) {
+        checkRange(array.length, from, to);
+        return bound(array, from, to, key, true);
+    }
+
+    private static int bound(double[] array, int low, int high, double key, boolean upper) {
+        while (high - low > BINARY_THRESHOLD) {
+            double first = array[low];
+            double last = array[high - 1];
+            if (upper ? less(key, first) : !less(first, key)) {
+                return low;
+            }
+            if (upper ? !less(key, last) : less(last, key)) {
+                return high;
+            }
+            int width = high - low;
+            int probe = probe(low, high, (key - first) / (last - first));
+            if (upper ? !less(key, array[probe]) : less(array[probe], key)) {
+                low = probe + 1;
+            } else {
+                high = probe;
+            }
+            if (high - low > width >>> 1) {
+                int middle = (low + high) >>> 1;
+                if (upper ? !less(key, array[middle]) : less(array[middle], key)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+        }
+        return upper ? SearchUtils.upperBound(array, low, high, key) : SearchUtils.lowerBound(array, low, high, key);
+    }
+
+    /**
+     * @param fraction the estimated position of the key between the first and the last element, in [0, 1] unless the
+     *                 elements are not finite
+     * @return the index of the probe in {@code [low, high)}
+     */
+    private static int probe(int low, int high, double fraction) {
+        double offset = fraction * (high - 1 - low);
+        return offset > 0 ? low + (int) Math.min(offset, high - 1 - low) : low;
+    }
+
+    // Driver Program
+    public static void main(String[] args) {
+        Random random = new Random();
+        int size = 100_000;
+        int[] uniform = IntStream.generate(() -> random.nextInt(1_000_000)).limit(size).sorted().toArray();
+
+        // Zipf-like keys: most of them are small, a few are huge
+        long[] skewed = new long[size];
+        for (int i = 0; i < size; i++) {
+            skewed[i] = (long) (1.0 / (1.0 - random.nextDouble()));
+        }
+        Arrays.sort(skewed);
+
+        InterpolationBinarySearch search = new InterpolationBinarySearch();
+        int shouldBeFound = uniform[random.nextInt(size)];
+        int atIndex = search.find(uniform, shouldBeFound);
+        System.out.println(format("Should be found: %d. Found %d at index %d. An array length %d",
+                shouldBeFound, uniform[atIndex], atIndex, size));
+
+        long skewedKey = skewed[random.nextInt(size)];
+        int[] range = search.equalRange(skewed, skewedKey);
+        System.out.println(format("Key %d of the skewed keys is at [%d, %d), is equal: %b",
+                skewedKey, range[0], range[1], Arrays.binarySearch(skewed, skewedKey) >= range[0]
+                        && Arrays.binarySearch(skewed, skewedKey) < range[1]));
+    }
+}
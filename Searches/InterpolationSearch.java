@@ -18,6 +18,8 @@ import static java.lang.String.format;
  *
  * @author Podshivalov Nikita (https://github.com/nikitap492)
  *
+ * @see InterpolationBinarySearch
+ *
  */
 class InterpolationSearch {
 
@@ -1,9 +1,11 @@
 package Searches;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Random;
 import java.util.stream.Stream;
 
+import static Searches.SearchUtils.checkRange;
 import static java.lang.String.format;
 
 /**
@@ -12,6 +14,9 @@ import static java.lang.String.format;
  * Iterative binary search is likely to have lower constant factors because it doesn't involve the overhead of manipulating the call stack.
  * But in java the recursive version can be optimized by the compiler to this version.
  *
+ * The primitive arrays are searched without boxing by a branchless loop,
+ * which also gives the lower and upper bounds of a key
+ *
  * Worst-case performance	O(log n)
  * Best-case performance	O(1)
  * Average performance	O(log n)
@@ -20,12 +25,13 @@ import static java.lang.String.format;
  * @author Gabriele La Greca : https://github.com/thegabriele97
  * @author Podshivalov Nikita (https://github.com/nikitap492)
  *
- * @see SearchAlgorithm
+ * @see SortedSearchAlgorithm
+ * @see PrimitiveSearchAlgorithm
  * @see BinarySearch
  *
  */
 
-public final class IterativeBinarySearch implements SearchAlgorithm {
+public final class IterativeBinarySearch implements SortedSearchAlgorithm, PrimitiveSearchAlgorithm {
 
     /**
      * This method implements an iterative version of binary search algorithm
@@ -58,6 +64,66 @@ public final class IterativeBinarySearch implements SearchAlgorithm {
         return -1;
     }
 
+    @Override
+    public <T extends Comparable<T>> int lowerBound(T[] array, T key) {
+        return SearchUtils.lowerBound(array, 0, array.length, key, Comparator.naturalOrder());
+    }
+
+    @Override
+    public <T extends Comparable<T>> int upperBound(T[] array, T key) {
+        return SearchUtils.upperBound(array, 0, array.length, key, Comparator.naturalOrder());
+    }
+
+    /**
+     * The upper bound is searched only from the lower bound
+     */
+    @Override
+    public <T extends Comparable<T>> int[] equalRange(T[] array, T key) {
+        int lower = lowerBound(array, key);
+        return new int[]{lower, SearchUtils.upperBound(array, lower, array.length, key, Comparator.naturalOrder())};
+    }
+
+    /**
+     * Branchless lower bound of a sorted int array
+     *
+     * @see SearchUtils#lowerBound(int[], int, int, int)
+     */
+    @Override
+    public int lowerBound(int[] array, int from, int to, int key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.lowerBound(array, from, to, key);
+    }
+
+    @Override
+    public int upperBound(int[] array, int from, int to, int key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.upperBound(array, from, to, key);
+    }
+
+    @Override
+    public int lowerBound(long[] array, int from, int to, long key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.lowerBound(array, from, to, key);
+    }
+
+    @Override
+    public int upperBound(long[] array, int from, int to, long key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.upperBound(array, from, to, key);
+    }
+
+    @Override
+    public int lowerBound(double[] array, int from, int to, double key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.lowerBound(array, from, to, key);
+    }
+
+    @Override
+    public int upperBound(double[] array, int from, int to, double key) {
+        checkRange(array.length, from, to);
+        return SearchUtils.upperBound(array, from, to, key);
+    }
+
     //Only a main method for test purpose
     public static void main(String[] args) {
         Random r = new Random();
@@ -0,0 +1,462 @@
+package Searches;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
+
+/**
+ * Learned index: a piecewise-linear model of the positions of the keys of a sorted primitive array
+ *
+ * The position of a key in a sorted array is a monotone function of the key, the cumulative distribution of the keys.
+ * The index approximates it by linear segments, so that every predicted position is at most epsilon away
+ * from the real one, then a lookup finishes with a binary search of about 2 * epsilon elements around the prediction,
+ * a few cache lines instead of the log2(n) misses of the binary search over the whole array.
+ * As the PGM-index, the segments are fitted in one pass, and the first keys of the segments are indexed
+ * by the same kind of model recursively, with a small epsilon, until one segment is left.
+ *
+ * The segments are fitted by a shrinking cone: a segment starts at a key and its position,
+ * every next key narrows the slopes which keep all keys of the segment within epsilon,
+ * and a key which leaves no slope starts the next segment. It is greedy, so it can take more segments
+ * than the optimal fit of the PGM-index, but it needs O(1) memory besides the segments.
+ * A run of equal keys also gets a point after its last key, so the keys missing from the array are predicted
+ * within epsilon + 1 as well.
+ *
+ * The index keeps a reference to the sorted array and takes only 16 bytes per segment, about n / epsilon segments
+ * for uniform keys. The lookups have the semantics of {@link PrimitiveSearchAlgorithm} for the array.
+ * A prediction off by more than epsilon, e.g. by the rounding of the doubles, costs a search of the rest of the array,
+ * it never gives a wrong answer.
+ *
+ * Worst-case performance	O(log n)
+ * Best-case performance	O(1)
+ * Average performance	O(log epsilon) per level
+ * Worst-case space complexity	O(n / epsilon) for uniform keys, O(n) in the worst case
+ *
+ * @see InterpolationSearch
+ * @see StaticSearchTree
+ * @see PrimitiveSearchAlgorithm
+ *
+ */
+public abstract class LearnedIndex {
+
+    /**
+     * The epsilon of the model of the sorted array
+     */
+    public static final int DEFAULT_EPSILON = 32;
+
+    /**
+     * The epsilon of the models of the segments, their windows fit in one or two cache lines
+     */
+    private static final int INTERNAL_EPSILON = 4;
+
+    /**
+     * The number of the keys in the sorted array
+     */
+    final int size;
+
+    /**
+     * The maximal error of the model of the sorted array
+     */
+    final int epsilon;
+
+    /**
+     * The first key of every segment of every level, the root first, the model of the sorted array last
+     */
+    private final long[][] firstKeys;
+
+    /**
+     * The slope of every segment of every level
+     */
+    private final double[][] slopes;
+
+    /**
+     * The position of the first key of every segment in the level below, and the size of the level below at the end
+     */
+    private final int[][] intercepts;
+
+    LearnedIndex(int size, int epsilon, Segments leaves) {
+        this.size = size;
+        this.epsilon = epsilon;
+        List<Segments> levels = new ArrayList<>();
+        levels.add(leaves);
+        while (levels.get(levels.size() - 1).count > 1) {
+            Segments below = levels.get(levels.size() - 1);
+            Segments level = new Segments(INTERNAL_EPSILON);
+            for (int i = 0; i < below.count; i++) {
+                level.add(below.firstKeys[i], i);
+            }
+            levels.add(level.finish(below.count));
+        }
+        int count = levels.size();
+        firstKeys = new long[count][];
+        slopes = new double[count][];
+        intercepts = new int[count][];
+        for (int level = 0; level < count; level++) {
+            Segments segments = levels.get(count - 1 - level);
+            firstKeys[level] = segments.firstKeys;
+            slopes[level] = segments.slopes;
+            intercepts[level] = segments.intercepts;
+        }
+    }
+
+    /**
+     * @param sorted a sorted array, it is not copied and must not be modified while the index is used
+     * @return the index of the array with the {@link #DEFAULT_EPSILON}
+     */
+    public static OfInt of(int[] sorted) {
+        return of(sorted, DEFAULT_EPSILON);
+    }
+
+    /**
+     * @param sorted a sorted array, it is not copied and must not be modified while the index is used
+     * @param epsilon the maximal error of the predicted positions, the window of the last binary search
+     * @return the index of the array
+     * @throws IllegalArgumentException if the array is not sorted or the epsilon is not positive
+     */
+    public static OfInt of(int[] sorted, int epsilon) {
+        return new OfInt(sorted, checkEpsilon(epsilon));
+    }
+
+    /**
+     * @param sorted a sorted array, it is not copied and must not be modified while the index is used
+     * @return the index of the array with the {@link #DEFAULT_EPSILON}
+     */
+    public static OfLong of(long[] sorted) {
+        return of(sorted, DEFAULT_EPSILON);
+    }
+
+    /**
+     * @param sorted a sorted array, it is not copied and must not be modified while the index is used
+     * @param epsilon the maximal error of the predicted positions, the window of the last binary search
+     * @return the index of the array
+     * @throws IllegalArgumentException if the array is not sorted or the epsilon is not positive
+     */
+    public static OfLong of(long[] sorted, int epsilon) {
+        return new OfLong(sorted, checkEpsilon(epsilon));
+    }
+
+    private static int checkEpsilon(int epsilon) {
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException("The epsilon must be positive: " + epsilon);
+        }
+        return epsilon;
+    }
+
+    /**
+     * @return the number of the keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of the segments of the model of the sorted array
+     */
+    int segments() {
+        return firstKeys[firstKeys.length - 1].length;
+    }
+
+    /**
+     * @return the number of the levels of the models, the model of the sorted array included
+     */
+    int levels() {
+        return firstKeys.length;
+    }
+
+    /**
+     * @param key a key greater than the first key of the sorted array and not greater than the last one
+     * @return the predicted first index of the sorted array whose element is not less than the key
+     */
+    final int predict(long key) {
+        int segment = 0;
+        int last = firstKeys.length - 1;
+        for (int level = 0; level < last; level++) {
+            int position = position(level, segment, key);
+            long[] below = firstKeys[level + 1];
+            // the last segment of the level below whose first key is not greater than the key
+            segment = upperBound(below, position - INTERNAL_EPSILON - 1, position + INTERNAL_EPSILON + 2, key) - 1;
+        }
+        return position(last, segment, key);
+    }
+
+    private int position(int level, int segment, long key) {
+        int[] intercepts = this.intercepts[level];
+        long position = intercepts[segment] + (long) (slopes[level][segment] * distance(firstKeys[level][segment], key));
+        return (int) Math.min(position, intercepts[segment + 1]);
+    }
+
+    /**
+     * {@link SearchUtils#upperBound(long[], int, int, long)} in the window around the predicted position,
+     * or around the window if the answer is not in it
+     */
+    private static int upperBound(long[] array, int low, int high, long key) {
+        low = Math.max(low, 0);
+        high = Math.min(high, array.length);
+        if (low > 0 && key < array[low - 1]) {
+            low = 0;
+        }
+        if (high < array.length && !(key < array[high])) {
+            high = array.length;
+        }
+        return SearchUtils.upperBound(array, low, high, key);
+    }
+
+    /**
+     * @return {@code to - from} as a double, the difference of the longs doesn't overflow
+     */
+    static double distance(long from, long to) {
+        long distance = to - from;
+        return distance >= 0 ? distance : distance + 0x1p64;
+    }
+
+    /**
+     * The segments of one level, fitted by the shrinking cone
+     */
+    static final class Segments {
+
+        private final int epsilon;
+
+        int count;
+        long[] firstKeys = new long[16];
+        double[] slopes = new double[16];
+        int[] intercepts = new int[16];
+
+        /**
+         * The slopes which keep all points of the last segment within the epsilon
+         */
+        private double low;
+        private double high;
+
+        Segments(int epsilon) {
+            this.epsilon = epsilon;
+        }
+
+        /**
+         * @param key a key greater than the previous one
+         * @param position its position in the level below
+         */
+        void add(long key, int position) {
+            if (count > 0) {
+                double dx = distance(firstKeys[count - 1], key);
+                double dy = position - intercepts[count - 1];
+                double low = Math.max(this.low, (dy - epsilon) / dx);
+                double high = Math.min(this.high, (dy + epsilon) / dx);
+                if (low <= high) {
+                    this.low = low;
+                    this.high = high;
+                    return;
+                }
+                close();
+            }
+            if (count == firstKeys.length) {
+                firstKeys = Arrays.copyOf(firstKeys, count * 2);
+                slopes = Arrays.copyOf(slopes, count * 2);
+                intercepts = Arrays.copyOf(intercepts, count * 2);
+            }
+            firstKeys[count] = key;
+            intercepts[count] = position;
+            count++;
+            low = 0;
+            high = Double.POSITIVE_INFINITY;
+        }
+
+        private void close() {
+            slopes[count - 1] = high == Double.POSITIVE_INFINITY ? 0 : (low + high) / 2;
+        }
+
+        /**
+         * @param size the size of the level below
+         */
+        Segments finish(int size) {
+            if (count > 0) {
+                close();
+            }
+            firstKeys = Arrays.copyOf(firstKeys, count);
+            slopes = Arrays.copyOf(slopes, count);
+            intercepts = Arrays.copyOf(intercepts, count + 1);
+            intercepts[count] = size;
+            return this;
+        }
+    }
+
+    /**
+     * Learned index of ints
+     */
+    public static final class OfInt extends LearnedIndex {
+
+        private final int[] keys;
+
+        private OfInt(int[] sorted, int epsilon) {
+            super(sorted.length, epsilon, fit(sorted, epsilon));
+            keys = sorted;
+        }
+
+        private static Segments fit(int[] sorted, int epsilon) {
+            Segments segments = new Segments(epsilon);
+            int n = sorted.length;
+            for (int i = 0; i < n; ) {
+                int key = sorted[i];
+                int end = i + 1;
+                while (end < n && sorted[end] == key) {
+                    end++;
+                }
+                if (end < n && sorted[end] < key) {
+                    throw new IllegalArgumentException("The array is not sorted at the index " + end);
+                }
+                segments.add(key, i);
+                if (end - i > 1 && end < n && sorted[end] != key + 1) {
+                    // the keys missing after a run of equal keys go after the run
+                    segments.add(key + 1L, end);
+                }
+                i = end;
+            }
+            return segments.finish(n);
+        }
+
+        /**
+         * @return the first index of the sorted array whose element is not less than the key, or the size
+         */
+        public int lowerBound(int key) {
+            if (size == 0 || key <= keys[0]) {
+                return 0;
+            }
+            if (key > keys[size - 1]) {
+                return size;
+            }
+            int position = predict(key);
+            int low = Math.max(position - epsilon - 1, 0);
+            int high = Math.min(position + epsilon + 1, size);
+            if (low > 0 && !(keys[low - 1] < key)) {
+                low = 0;
+            }
+            if (high < size && keys[high] < key) {
+                high = size;
+            }
+            return SearchUtils.lowerBound(keys, low, high, key);
+        }
+
+        /**
+         * @return the first index of the sorted array whose element is greater than the key, or the size
+         */
+        public int upperBound(int key) {
+            return key == Integer.MAX_VALUE ? size : lowerBound(key + 1);
+        }
+
+        /**
+         * @return the first index of the key in the sorted array or -1 if not found
+         */
+        public int find(int key) {
+            int index = lowerBound(key);
+            return index < size && keys[index] == key ? index : -1;
+        }
+
+        /**
+         * @return {@code {lowerBound, upperBound}}, the elements equal to the key are {@code [lowerBound, upperBound)}
+         */
+        public int[] equalRange(int key) {
+            return new int[]{lowerBound(key), upperBound(key)};
+        }
+    }
+
+    /**
+     * Learned index of longs
+     */
+    public static final class OfLong extends LearnedIndex {
+
+        private final long[] keys;
+
+        private OfLong(long[] sorted, int epsilon) {
+            super(sorted.length, epsilon, fit(sorted, epsilon));
+            keys = sorted;
+        }
+
+        private static Segments fit(long[] sorted, int epsilon) {
+            Segments segments = new Segments(epsilon);
+            int n = sorted.length;
+            for (int i = 0; i < n; ) {
+                long key = sorted[i];
+                int end = i + 1;
+                while (end < n && sorted[end] == key) {
+                    end++;
+                }
+                if (end < n && sorted[end] < key) {
+                    throw new IllegalArgumentException("The array is not sorted at the index " + end);
+                }
+                segments.add(key, i);
+                if (end - i > 1 && end < n && sorted[end] != key + 1) {
+                    // the keys missing after a run of equal keys go after the run
+                    segments.add(key + 1, end);
+                }
+                i = end;
+            }
+            return segments.finish(n);
+        }
+
+        /**
+         * @return the first index of the sorted array whose element is not less than the key, or the size
+         */
+        public int lowerBound(long key) {
+            if (size == 0 || key <= keys[0]) {
+                return 0;
+            }
+            if (key > keys[size - 1]) {
+                return size;
+            }
+            int position = predict(key);
+            int low = Math.max(position - epsilon - 1, 0);
+            int high = Math.min(position + epsilon + 1, size);
+            if (low > 0 && !(keys[low - 1] < key)) {
+                low = 0;
+            }
+            if (high < size && keys[high] < key) {
+                high = size;
+            }
+            return SearchUtils.lowerBound(keys, low, high, key);
+        }
+
+        /**
+         * @return the first index of the sorted array whose element is greater than the key, or the size
+         */
+        public int upperBound(long key) {
+            return key == Long.MAX_VALUE ? size : lowerBound(key + 1);
+        }
+
+        /**
+         * @return the first index of the key in the sorted array or -1 if not found
+         */
+        public int find(long key) {
+            int index = lowerBound(key);
+            return index < size && keys[index] == key ? index : -1;
+        }
+
+        /**
+         * @return {@code {lowerBound, upperBound}}, the elements equal to the key are {@code [lowerBound, upperBound)}
+         */
+        public int[] equalRange(long key) {
+            return new int[]{lowerBound(key), upperBound(key)};
+        }
+    }
+
+    // Driver Program
+    public static void main(String[] args) {
+        Random random = new Random();
+        int size = 1000;
+        int[] integers = IntStream.generate(() -> random.nextInt(100_000)).limit(size).sorted().toArray();
+
+        int shouldBeFound = integers[random.nextInt(size - 1)];
+
+        OfInt index = LearnedIndex.of(integers);
+        int atIndex = index.find(shouldBeFound);
+
+        System.out.println(format(
+                "Should be found: %d. Found %d at index %d. An array length %d, %d segments",
+                shouldBeFound, integers[atIndex], atIndex, size, index.segments()
+        ));
+
+        // Output => [2, 5]
+        System.out.println(Arrays.toString(LearnedIndex.of(new long[]{1, 3, 5, 5, 5, 8}).equalRange(5)));
+    }
+}
@@ -0,0 +1,191 @@
+package Searches;
+
+/**
+ *  The common interface of searching algorithms which work with sorted arrays of primitives.
+ *  Unlike {@link SearchAlgorithm} it doesn't need to box the elements,
+ *  and besides {@code find} it answers range queries:
+ *  {@code lowerBound} and {@code upperBound} are the bounds of the elements equal to a key,
+ *  so a range {@code [a, b)} of a sorted column is {@code [lowerBound(a), lowerBound(b))}.
+ *
+ *  The doubles are ordered as by {@link Double#compare(double, double)}
+ *
+ * @see SearchAlgorithm
+ *
+ **/
+public interface PrimitiveSearchAlgorithm {
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return the first index of the range whose element is not less than the key, or {@code to}
+     */
+    int lowerBound(int[] array, int from, int to, int key);
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return the first index of the range whose element is greater than the key, or {@code to}
+     */
+    int upperBound(int[] array, int from, int to, int key);
+
+    default int lowerBound(int[] array, int key) {
+        return lowerBound(array, 0, array.length, key);
+    }
+
+    default int upperBound(int[] array, int key) {
+        return upperBound(array, 0, array.length, key);
+    }
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return the first index of the key in the range or -1 if not found
+     */
+    default int find(int[] array, int from, int to, int key) {
+        int index = lowerBound(array, from, to, key);
+        return index < to && array[index] == key ? index : -1;
+    }
+
+    default int find(int[] array, int key) {
+        return find(array, 0, array.length, key);
+    }
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return {@code {lowerBound, upperBound}}, the elements equal to the key are {@code [lowerBound, upperBound)}
+     */
+    default int[] equalRange(int[] array, int from, int to, int key) {
+        int lower = lowerBound(array, from, to, key);
+        return new int[]{lower, upperBound(array, lower, to, key)};
+    }
+
+    default int[] equalRange(int[] array, int key) {
+        return equalRange(array, 0, array.length, key);
+    }
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return the first index of the range whose element is not less than the key, or {@code to}
+     */
+    int lowerBound(long[] array, int from, int to, long key);
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return the first index of the range whose element is greater than the key, or {@code to}
+     */
+    int upperBound(long[] array, int from, int to, long key);
+
+    default int lowerBound(long[] array, long key) {
+        return lowerBound(array, 0, array.length, key);
+    }
+
+    default int upperBound(long[] array, long key) {
+        return upperBound(array, 0, array.length, key);
+    }
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return the first index of the key in the range or -1 if not found
+     */
+    default int find(long[] array, int from, int to, long key) {
+        int index = lowerBound(array, from, to, key);
+        return index < to && array[index] == key ? index : -1;
+    }
+
+    default int find(long[] array, long key) {
+        return find(array, 0, array.length, key);
+    }
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return {@code {lowerBound, upperBound}}, the elements equal to the key are {@code [lowerBound, upperBound)}
+     */
+    default int[] equalRange(long[] array, int from, int to, long key) {
+        int lower = lowerBound(array, from, to, key);
+        return new int[]{lower, upperBound(array, lower, to, key)};
+    }
+
+    default int[] equalRange(long[] array, long key) {
+        return equalRange(array, 0, array.length, key);
+    }
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return the first index of the range whose element is not less than the key, or {@code to}
+     */
+    int lowerBound(double[] array, int from, int to, double key);
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return the first index of the range whose element is greater than the key, or {@code to}
+     */
+    int upperBound(double[] array, int from, int to, double key);
+
+    default int lowerBound(double[] array, double key) {
+        return lowerBound(array, 0, array.length, key);
+    }
+
+    default int upperBound(double[] array, double key) {
+        return upperBound(array, 0, array.length, key);
+    }
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return the first index of the key in the range or -1 if not found
+     */
+    default int find(double[] array, int from, int to, double key) {
+        int index = lowerBound(array, from, to, key);
+        return index < to && Double.compare(array[index], key) == 0 ? index : -1;
+    }
+
+    default int find(double[] array, double key) {
+        return find(array, 0, array.length, key);
+    }
+
+    /**
+     * @param array a sorted array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to search
+     * @return {@code {lowerBound, upperBound}}, the elements equal to the key are {@code [lowerBound, upperBound)}
+     */
+    default int[] equalRange(double[] array, int from, int to, double key) {
+        int lower = lowerBound(array, from, to, key);
+        return new int[]{lower, upperBound(array, lower, to, key)};
+    }
+
+    default int[] equalRange(double[] array, double key) {
+        return equalRange(array, 0, array.length, key);
+    }
+
+}
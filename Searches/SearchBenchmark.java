@@ -0,0 +1,211 @@
+package Searches;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * Benchmark of the lookups in sorted int arrays
+ *
+ * Every index is built once for a sorted array of uniformly or power-law distributed keys,
+ * then it looks up a batch of keys, half of them present in the array and half of them random between the first
+ * and the last key, once in random order and once sorted, as the probes of a merge join.
+ * A few warmup rounds first, then the measured rounds.
+ * For every case the benchmark reports
+ * - the build time and the bytes allocated by the build, measured for the current thread
+ * - the nanoseconds per lookup
+ *
+ * Every index runs the lookups in its own loop, so the call of the lookup is not shared between the indexes.
+ *
+ * Usage: java -Xmx4g Searches.SearchBenchmark [size ...]
+ * With {@code -XX:+UseTransparentHugePages} the large arrays miss the TLB less often.
+ *
+ * @see IterativeBinarySearch
+ * @see BinarySearch#findAll(int[], int[], int[])
+ * @see StaticSearchTree
+ * @see ExponentialSearch
+ * @see InterpolationBinarySearch
+ * @see LearnedIndex
+ *
+ */
+public class SearchBenchmark {
+
+    private static final int[] DEFAULT_SIZES = {1_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+    private static final int LOOKUPS = 1 << 20;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    enum Distribution {
+        UNIFORM, SKEWED;
+
+        /**
+         * @return sorted keys, uniformly distributed or power-law distributed like Zipf-distributed ids
+         */
+        int[] generate(int size, Random random) {
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = this == UNIFORM
+                        ? random.nextInt()
+                        : (int) Math.min(Integer.MAX_VALUE, 1 / Math.pow(1 - random.nextDouble(), 2));
+            }
+            Arrays.sort(keys);
+            return keys;
+        }
+    }
+
+    /**
+     * The sum of the results of all lookups, so the JIT doesn't remove them
+     */
+    private static long sink;
+
+    /**
+     * An index built for one sorted array
+     */
+    interface Lookups {
+        /**
+         * @return the sum of the results of the lookups of the keys
+         */
+        long lookUp(int[] keys);
+    }
+
+    private static Map<String, Function<int[], Lookups>> indexes() {
+        Map<String, Function<int[], Lookups>> indexes = new LinkedHashMap<>();
+        indexes.put("Arrays.binarySearch", sorted -> keys -> {
+            long sum = 0;
+            for (int key : keys) {
+                sum += Arrays.binarySearch(sorted, key);
+            }
+            return sum;
+        });
+        indexes.put("IterativeBinarySearch", sorted -> {
+            IterativeBinarySearch search = new IterativeBinarySearch();
+            return keys -> {
+                long sum = 0;
+                for (int key : keys) {
+                    sum += search.lowerBound(sorted, key);
+                }
+                return sum;
+            };
+        });
+        indexes.put("BinarySearch.findAll", sorted -> {
+            BinarySearch search = new BinarySearch();
+            return keys -> sum(search.findAll(sorted, keys, new int[keys.length]));
+        });
+        indexes.put("parallelFindAll", sorted -> {
+            BinarySearch search = new BinarySearch();
+            return keys -> sum(search.parallelFindAll(sorted, keys, new int[keys.length]));
+        });
+        indexes.put("ExponentialSearch", sorted -> {
+            ExponentialSearch search = new ExponentialSearch();
+            return keys -> {
+                long sum = 0;
+                for (int key : keys) {
+                    sum += search.lowerBound(sorted, key);
+                }
+                return sum;
+            };
+        });
+        indexes.put("InterpolationBinary", sorted -> {
+            InterpolationBinarySearch search = new InterpolationBinarySearch();
+            return keys -> {
+                long sum = 0;
+                for (int key : keys) {
+                    sum += search.lowerBound(sorted, key);
+                }
+                return sum;
+            };
+        });
+        indexes.put("StaticSearchTree", sorted -> {
+            StaticSearchTree.OfInt tree = StaticSearchTree.of(sorted);
+            return keys -> {
+                long sum = 0;
+                for (int key : keys) {
+                    sum += tree.lowerBound(key);
+                }
+                return sum;
+            };
+        });
+        indexes.put("LearnedIndex", sorted -> {
+            LearnedIndex.OfInt index = LearnedIndex.of(sorted);
+            return keys -> {
+                long sum = 0;
+                for (int key : keys) {
+                    sum += index.lowerBound(key);
+                }
+                return sum;
+            };
+        });
+        return indexes;
+    }
+
+    private static long sum(int[] results) {
+        long sum = 0;
+        for (int result : results) {
+            sum += result;
+        }
+        return sum;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static void benchmark(String name, Function<int[], Lookups> factory,
+                                  Distribution distribution, int[] sorted, String probes, int[] keys) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        Lookups lookups = factory.apply(sorted);
+        long build = System.nanoTime() - start;
+        long allocated = allocatedBytes() - bytes;
+
+        long sum = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sum += lookups.lookUp(keys);
+        }
+        long elapsed = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            start = System.nanoTime();
+            sum += lookups.lookUp(keys);
+            elapsed += System.nanoTime() - start;
+        }
+
+        sink += sum;
+
+        System.out.println(format("%-22s %-8s %-7s %,13d %12.1f %16.2f %12.1f",
+                name, distribution, probes, sorted.length,
+                build / 1e6,
+                allocated / (double) sorted.length,
+                elapsed / (double) MEASURED_ROUNDS / keys.length));
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? DEFAULT_SIZES : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        Random random = new Random(42);
+
+        System.out.println(format("%-22s %-8s %-7s %13s %12s %16s %12s",
+                "Index", "Keys", "Probes", "Size", "Build ms", "Alloc B/key", "ns/lookup"));
+        for (int size : sizes) {
+            for (Distribution distribution : Distribution.values()) {
+                int[] sorted = distribution.generate(size, random);
+                int[] keys = new int[LOOKUPS];
+                long span = (long) sorted[size - 1] - sorted[0] + 1;
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = random.nextBoolean()
+                            ? sorted[random.nextInt(size)]
+                            : (int) (sorted[0] + (long) (random.nextDouble() * span));
+                }
+                int[] sortedKeys = keys.clone();
+                Arrays.sort(sortedKeys);
+                for (Map.Entry<String, Function<int[], Lookups>> entry : indexes().entrySet()) {
+                    benchmark(entry.getKey(), entry.getValue(), distribution, sorted, "random", keys);
+                    benchmark(entry.getKey(), entry.getValue(), distribution, sorted, "sorted", sortedKeys);
+                }
+            }
+        }
+    }
+}
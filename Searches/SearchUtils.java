@@ -0,0 +1,384 @@
+package Searches;
+
+import java.util.Comparator;
+
+/**
+ * The class contains the search kernels shared by the search algorithms
+ *
+ * @see PrimitiveSearchAlgorithm
+ *
+ **/
+final class SearchUtils {
+
+    /**
+     * The primitive ranges up to this length are searched by a branchless loop.
+     * Its next load waits for the previous comparison, while a mispredicted branch
+     * still starts the load of the next element early, which wins once the array doesn't fit in the cache
+     */
+    static final int BRANCHLESS_LIMIT = 1 << 18;
+
+    private SearchUtils() {
+    }
+
+    /**
+     * @return the first index of {@code [from, to)} whose element is not less than the key, or {@code to}
+     */
+    static <T> int lowerBound(T[] array, int from, int to, T key, Comparator<? super T> comparator) {
+        int base = from;
+        int length = to - from;
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = comparator.compare(array[base + half - 1], key) < 0 ? base + half : base;
+            length -= half;
+        }
+        return comparator.compare(array[base], key) < 0 ? base + 1 : base;
+    }
+
+    /**
+     * @return the first index of {@code [from, to)} whose element is greater than the key, or {@code to}
+     */
+    static <T> int upperBound(T[] array, int from, int to, T key, Comparator<? super T> comparator) {
+        int base = from;
+        int length = to - from;
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = comparator.compare(key, array[base + half - 1]) < 0 ? base : base + half;
+            length -= half;
+        }
+        return comparator.compare(key, array[base]) < 0 ? base : base + 1;
+    }
+
+    /**
+     * Exponential search from {@code from}: the step doubles while the elements are less than the key,
+     * then the last step is searched by the binary search, so it takes O(log d) comparisons
+     * for the answer at the distance d from {@code from}
+     *
+     * @return the first index of {@code [from, to)} whose element is not less than the key, or {@code to}
+     */
+    static <T> int gallop(T[] array, int from, int to, T key, Comparator<? super T> comparator) {
+        int low = from;
+        int step = 1;
+        while (step < to - low && comparator.compare(array[low + step - 1], key) < 0) {
+            low += step;
+            step = step > (to - low) >>> 1 ? to - low : step << 1;
+        }
+        return lowerBound(array, low, Math.min(low + step, to), key, comparator);
+    }
+
+    static int gallop(int[] array, int from, int to, int key) {
+        int low = from;
+        int step = 1;
+        while (step < to - low && array[low + step - 1] < key) {
+            low += step;
+            step = step > (to - low) >>> 1 ? to - low : step << 1;
+        }
+        return lowerBound(array, low, Math.min(low + step, to), key);
+    }
+
+    static int gallop(long[] array, int from, int to, long key) {
+        int low = from;
+        int step = 1;
+        while (step < to - low && array[low + step - 1] < key) {
+            low += step;
+            step = step > (to - low) >>> 1 ? to - low : step << 1;
+        }
+        return lowerBound(array, low, Math.min(low + step, to), key);
+    }
+
+    static int gallop(double[] array, int from, int to, double key) {
+        int low = from;
+        int step = 1;
+        while (step < to - low && less(array[low + step - 1], key)) {
+            low += step;
+            step = step > (to - low) >>> 1 ? to - low : step << 1;
+        }
+        return lowerBound(array, low, Math.min(low + step, to), key);
+    }
+
+    /**
+     * Exponential search as {@link #gallop(Object[], int, int, Object, Comparator)}
+     *
+     * @return the first index of {@code [from, to)} whose element is greater than the key, or {@code to}
+     */
+    static <T> int gallopUpper(T[] array, int from, int to, T key, Comparator<? super T> comparator) {
+        int low = from;
+        int step = 1;
+        while (step < to - low && comparator.compare(key, array[low + step - 1]) >= 0) {
+            low += step;
+            step = step > (to - low) >>> 1 ? to - low : step << 1;
+        }
+        return upperBound(array, low, Math.min(low + step, to), key, comparator);
+    }
+
+    /**
+     * Exponential search as {@link #gallop(int[], int, int, int)}
+     *
+     * @return the first index of {@code [from, to)} whose element is greater than the key, or {@code to}
+     */
+    static int gallopUpper(int[] array, int from, int to, int key) {
+        int low = from;
+        int step = 1;
+        while (step < to - low && !(key < array[low + step - 1])) {
+            low += step;
+            step = step > (to - low) >>> 1 ? to - low : step << 1;
+        }
+        return upperBound(array, low, Math.min(low + step, to), key);
+    }
+
+    static int gallopUpper(long[] array, int from, int to, long key) {
+        int low = from;
+        int step = 1;
+        while (step < to - low && !(key < array[low + step - 1])) {
+            low += step;
+            step = step > (to - low) >>> 1 ? to - low : step << 1;
+        }
+        return upperBound(array, low, Math.min(low + step, to), key);
+    }
+
+    static int gallopUpper(double[] array, int from, int to, double key) {
+        int low = from;
+        int step = 1;
+        while (step < to - low && !less(key, array[low + step - 1])) {
+            low += step;
+            step = step > (to - low) >>> 1 ? to - low : step << 1;
+        }
+        return upperBound(array, low, Math.min(low + step, to), key);
+    }
+
+    /**
+     * The branchless loop halves the range and adds the half to the base masked by the result of the comparison,
+     * so there is no data-dependent branch to mispredict
+     *
+     * @return the first index of {@code [from, to)} whose element is not less than the key, or {@code to}
+     */
+    static int lowerBound(int[] array, int from, int to, int key) {
+        int length = to - from;
+        if (length > BRANCHLESS_LIMIT) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (array[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        if (length == 0) {
+            return from;
+        }
+        int base = from;
+        while (length > 1) {
+            int half = length >>> 1;
+            base += half & -lessBit(array[base + half - 1], key);
+            length -= half;
+        }
+        return base + lessBit(array[base], key);
+    }
+
+    /**
+     * @return the first index of {@code [from, to)} whose element is greater than the key, or {@code to}
+     */
+    static int upperBound(int[] array, int from, int to, int key) {
+        int length = to - from;
+        if (length > BRANCHLESS_LIMIT) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (key < array[mid]) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+        if (length == 0) {
+            return from;
+        }
+        int base = from;
+        while (length > 1) {
+            int half = length >>> 1;
+            base += half & (lessBit(key, array[base + half - 1]) - 1);
+            length -= half;
+        }
+        return base + 1 - lessBit(key, array[base]);
+    }
+
+    static int lowerBound(long[] array, int from, int to, long key) {
+        int length = to - from;
+        if (length > BRANCHLESS_LIMIT) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (array[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        if (length == 0) {
+            return from;
+        }
+        int base = from;
+        while (length > 1) {
+            int half = length >>> 1;
+            base += half & -lessBit(array[base + half - 1], key);
+            length -= half;
+        }
+        return base + lessBit(array[base], key);
+    }
+
+    static int upperBound(long[] array, int from, int to, long key) {
+        int length = to - from;
+        if (length > BRANCHLESS_LIMIT) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (key < array[mid]) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+        if (length == 0) {
+            return from;
+        }
+        int base = from;
+        while (length > 1) {
+            int half = length >>> 1;
+            base += half & (lessBit(key, array[base + half - 1]) - 1);
+            length -= half;
+        }
+        return base + 1 - lessBit(key, array[base]);
+    }
+
+    static int lowerBound(double[] array, int from, int to, double key) {
+        int length = to - from;
+        if (length > BRANCHLESS_LIMIT) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (less(array[mid], key)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        if (length == 0) {
+            return from;
+        }
+        int base = from;
+        while (length > 1) {
+            int half = length >>> 1;
+            base += half & -lessBit(array[base + half - 1], key);
+            length -= half;
+        }
+        return base + lessBit(array[base], key);
+    }
+
+    static int upperBound(double[] array, int from, int to, double key) {
+        int length = to - from;
+        if (length > BRANCHLESS_LIMIT) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (less(key, array[mid])) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+        if (length == 0) {
+            return from;
+        }
+        int base = from;
+        while (length > 1) {
+            int half = length >>> 1;
+            base += half & (lessBit(key, array[base + half - 1]) - 1);
+            length -= half;
+        }
+        return base + 1 - lessBit(key, array[base]);
+    }
+
+    /**
+     * @return 1 if {@code a < b} otherwise 0, without a branch
+     */
+    static int lessBit(int a, int b) {
+        return (int) (((long) a - b) >>> 63);
+    }
+
+    /**
+     * The sign of {@code a - b} corrected for the overflow
+     */
+    static int lessBit(long a, long b) {
+        long difference = a - b;
+        return (int) ((difference ^ ((a ^ b) & (difference ^ a))) >>> 63);
+    }
+
+    /**
+     * The doubles are compared as longs whose order is the same as {@link Double#compare(double, double)}
+     */
+    static int lessBit(double a, double b) {
+        return lessBit(sortableBits(a), sortableBits(b));
+    }
+
+    /**
+     * @return the bits of the double with the other bits flipped for negative values, so they are ordered as signed longs
+     */
+    static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) >>> 1);
+    }
+
+    /**
+     * The order of doubles is the same as {@link Double#compare(double, double)}:
+     * -0.0 is less than 0.0 and NaN is greater than any other value
+     *
+     * @return true if the first element is less then the second element
+     */
+    static boolean less(double v, double w) {
+        return Double.compare(v, w) < 0;
+    }
+
+    /**
+     * Checks that {@code [from, to)} is a valid range of an array
+     * @param length the length of the array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @throws IllegalArgumentException if {@code from > to}
+     * @throws ArrayIndexOutOfBoundsException if {@code from < 0} or {@code to > length}
+     */
+    static void checkRange(int length, int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (to > length) {
+            throw new ArrayIndexOutOfBoundsException(to);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package Searches;
+
+/**
+ *  The common interface of searching algorithms which only work with sorted arrays.
+ *  Besides {@code find} it answers range queries:
+ *  {@code lowerBound} and {@code upperBound} are the bounds of the elements equal to a key,
+ *  so a range {@code [a, b)} of a sorted array is {@code [lowerBound(a), lowerBound(b))}.
+ *
+ * @see SearchAlgorithm
+ * @see PrimitiveSearchAlgorithm
+ *
+ **/
+public interface SortedSearchAlgorithm extends SearchAlgorithm {
+
+    /**
+     * @param array a sorted array
+     * @param key the key to search
+     * @param <T> Comparable type
+     * @return the first index whose element is not less than the key, or the length of the array
+     */
+    <T extends Comparable<T>> int lowerBound(T[] array, T key);
+
+    /**
+     * @param array a sorted array
+     * @param key the key to search
+     * @param <T> Comparable type
+     * @return the first index whose element is greater than the key, or the length of the array
+     */
+    <T extends Comparable<T>> int upperBound(T[] array, T key);
+
+    /**
+     * @param array a sorted array
+     * @param key the key to search
+     * @param <T> Comparable type
+     * @return {@code {lowerBound, upperBound}}, the elements equal to the key are {@code [lowerBound, upperBound)}
+     */
+    default <T extends Comparable<T>> int[] equalRange(T[] array, T key) {
+        return new int[]{lowerBound(array, key), upperBound(array, key)};
+    }
+
+}
@@ -0,0 +1,323 @@
+package Searches;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static Searches.SearchUtils.lessBit;
+import static java.lang.String.format;
+
+/**
+ * Static search tree: a sorted primitive array laid out as an implicit B+ tree (S+ tree)
+ *
+ * A binary search over a large array misses the cache on almost every level, about log2(n) times per lookup.
+ * The tree stores the keys in nodes of one cache line, 16 ints or 8 longs, and every node has one child more than keys,
+ * so a lookup reads log17(n) or log9(n) nodes, about 6 instead of 26 for 10^8 ints,
+ * and the few upper levels stay in the cache.
+ *
+ * The nodes have no pointers: the children of the node {@code i} are the nodes {@code i * (B + 1) + j}
+ * of the next layer. The leaf layer is the sorted array itself padded to whole nodes,
+ * so a lookup returns the index in the sorted array without a rank table,
+ * and an internal key is the largest key of its child. The nodes are scanned by a branchless count of the smaller keys.
+ * The layers above the leaves take about 1/B of the memory of the array.
+ *
+ * The lookups have the semantics of {@link PrimitiveSearchAlgorithm} for the array the tree was built from.
+ *
+ * Worst-case performance	O(B log_B(n))
+ * Best-case performance	O(B log_B(n))
+ * Worst-case space complexity	O(n)
+ *
+ * @see IterativeBinarySearch
+ * @see PrimitiveSearchAlgorithm
+ *
+ */
+public abstract class StaticSearchTree {
+
+    /**
+     * The number of the keys in the sorted array
+     */
+    final int size;
+
+    /**
+     * The keys per node
+     */
+    final int keysPerNode;
+
+    /**
+     * The first index of every layer, the root first, the leaves last
+     */
+    final int[] layers;
+
+    /**
+     * The number of the nodes of every layer
+     */
+    final int[] nodes;
+
+    StaticSearchTree(int size, int keysPerNode) {
+        this.size = size;
+        this.keysPerNode = keysPerNode;
+        // at least one padding key, so the largest key of the tree is the maximal value
+        // and a lookup never goes past the last child
+        int count = 1;
+        int[] nodes = {size / keysPerNode + 1};
+        while (nodes[count - 1] > 1) {
+            nodes = Arrays.copyOf(nodes, count + 1);
+            nodes[count] = (nodes[count - 1] + keysPerNode) / (keysPerNode + 1);
+            count++;
+        }
+        this.nodes = new int[count];
+        this.layers = new int[count];
+        int start = 0;
+        for (int layer = 0; layer < count; layer++) {
+            this.nodes[layer] = nodes[count - 1 - layer];
+            this.layers[layer] = start;
+            start = Math.addExact(start, Math.multiplyExact(this.nodes[layer], keysPerNode));
+        }
+    }
+
+    /**
+     * @param sorted a sorted array, it is copied
+     * @return the tree of the array
+     */
+    public static OfInt of(int[] sorted) {
+        return new OfInt(sorted);
+    }
+
+    /**
+     * @param sorted a sorted array, it is copied
+     * @return the tree of the array
+     */
+    public static OfLong of(long[] sorted) {
+        return new OfLong(sorted);
+    }
+
+    /**
+     * @return the number of the keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of the key slots of all layers
+     */
+    abstract int capacity();
+
+    /**
+     * @return the number of the leaf slots covered by a node of the layer
+     */
+    long span(int layer) {
+        long span = keysPerNode;
+        for (int below = layer + 1; below < layers.length; below++) {
+            span *= keysPerNode + 1;
+        }
+        return span;
+    }
+
+    /**
+     * The index of the leaf which is the largest key of the child, or -1 if the child is empty
+     */
+    long lastLeaf(int layer, long child) {
+        long span = span(layer + 1);
+        long leaves = (long) nodes[nodes.length - 1] * keysPerNode;
+        return child * span < leaves ? Math.min((child + 1) * span, leaves) - 1 : -1;
+    }
+
+    /**
+     * Search tree of ints
+     */
+    public static final class OfInt extends StaticSearchTree {
+
+        private static final int KEYS_PER_NODE = 16;
+
+        private final int[] keys;
+
+        private OfInt(int[] sorted) {
+            super(sorted.length, KEYS_PER_NODE);
+            keys = new int[layers[layers.length - 1] + nodes[nodes.length - 1] * KEYS_PER_NODE];
+            int leaves = layers[layers.length - 1];
+            System.arraycopy(sorted, 0, keys, leaves, sorted.length);
+            Arrays.fill(keys, leaves + sorted.length, keys.length, Integer.MAX_VALUE);
+            for (int layer = 0; layer < layers.length - 1; layer++) {
+                for (int node = 0; node < nodes[layer]; node++) {
+                    for (int j = 0; j < KEYS_PER_NODE; j++) {
+                        long leaf = lastLeaf(layer, (long) node * (KEYS_PER_NODE + 1) + j);
+                        keys[layers[layer] + node * KEYS_PER_NODE + j] = leaf < 0 ? Integer.MAX_VALUE : keys[leaves + (int) leaf];
+                    }
+                }
+            }
+        }
+
+        @Override
+        int capacity() {
+            return keys.length;
+        }
+
+        /**
+         * @return the first index of the sorted array whose element is not less than the key, or the size
+         */
+        public int lowerBound(int key) {
+            int node = 0;
+            int last = layers.length - 1;
+            for (int layer = 0; layer < last; layer++) {
+                node = node * (KEYS_PER_NODE + 1) + countLess(layers[layer] + node * KEYS_PER_NODE, key);
+            }
+            return Math.min(node * KEYS_PER_NODE + countLess(layers[last] + node * KEYS_PER_NODE, key), size);
+        }
+
+        /**
+         * @return the first index of the sorted array whose element is greater than the key, or the size
+         */
+        public int upperBound(int key) {
+            if (key == Integer.MAX_VALUE) {
+                return size;
+            }
+            int node = 0;
+            int last = layers.length - 1;
+            for (int layer = 0; layer < last; layer++) {
+                node = node * (KEYS_PER_NODE + 1) + countNotGreater(layers[layer] + node * KEYS_PER_NODE, key);
+            }
+            return Math.min(node * KEYS_PER_NODE + countNotGreater(layers[last] + node * KEYS_PER_NODE, key), size);
+        }
+
+        /**
+         * @return the first index of the key in the sorted array or -1 if not found
+         */
+        public int find(int key) {
+            int index = lowerBound(key);
+            return index < size && keys[layers[layers.length - 1] + index] == key ? index : -1;
+        }
+
+        /**
+         * @return {@code {lowerBound, upperBound}}, the elements equal to the key are {@code [lowerBound, upperBound)}
+         */
+        public int[] equalRange(int key) {
+            return new int[]{lowerBound(key), upperBound(key)};
+        }
+
+        private int countLess(int node, int key) {
+            int count = 0;
+            for (int i = node; i < node + KEYS_PER_NODE; i++) {
+                count += lessBit(keys[i], key);
+            }
+            return count;
+        }
+
+        private int countNotGreater(int node, int key) {
+            int count = KEYS_PER_NODE;
+            for (int i = node; i < node + KEYS_PER_NODE; i++) {
+                count -= lessBit(key, keys[i]);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Search tree of longs
+     */
+    public static final class OfLong extends StaticSearchTree {
+
+        private static final int KEYS_PER_NODE = 8;
+
+        private final long[] keys;
+
+        private OfLong(long[] sorted) {
+            super(sorted.length, KEYS_PER_NODE);
+            keys = new long[layers[layers.length - 1] + nodes[nodes.length - 1] * KEYS_PER_NODE];
+            int leaves = layers[layers.length - 1];
+            System.arraycopy(sorted, 0, keys, leaves, sorted.length);
+            Arrays.fill(keys, leaves + sorted.length, keys.length, Long.MAX_VALUE);
+            for (int layer = 0; layer < layers.length - 1; layer++) {
+                for (int node = 0; node < nodes[layer]; node++) {
+                    for (int j = 0; j < KEYS_PER_NODE; j++) {
+                        long leaf = lastLeaf(layer, (long) node * (KEYS_PER_NODE + 1) + j);
+                        keys[layers[layer] + node * KEYS_PER_NODE + j] = leaf < 0 ? Long.MAX_VALUE : keys[leaves + (int) leaf];
+                    }
+                }
+            }
+        }
+
+        @Override
+        int capacity() {
+            return keys.length;
+        }
+
+        /**
+         * @return the first index of the sorted array whose element is not less than the key, or the size
+         */
+        public int lowerBound(long key) {
+            int node = 0;
+            int last = layers.length - 1;
+            for (int layer = 0; layer < last; layer++) {
+                node = node * (KEYS_PER_NODE + 1) + countLess(layers[layer] + node * KEYS_PER_NODE, key);
+            }
+            return Math.min(node * KEYS_PER_NODE + countLess(layers[last] + node * KEYS_PER_NODE, key), size);
+        }
+
+        /**
+         * @return the first index of the sorted array whose element is greater than the key, or the size
+         */
+        public int upperBound(long key) {
+            if (key == Long.MAX_VALUE) {
+                return size;
+            }
+            int node = 0;
+            int last = layers.length - 1;
+            for (int layer = 0; layer < last; layer++) {
+                node = node * (KEYS_PER_NODE + 1) + countNotGreater(layers[layer] + node * KEYS_PER_NODE, key);
+            }
+            return Math.min(node * KEYS_PER_NODE + countNotGreater(layers[last] + node * KEYS_PER_NODE, key), size);
+        }
+
+        /**
+         * @return the first index of the key in the sorted array or -1 if not found
+         */
+        public int find(long key) {
+            int index = lowerBound(key);
+            return index < size && keys[layers[layers.length - 1] + index] == key ? index : -1;
+        }
+
+        /**
+         * @return {@code {lowerBound, upperBound}}, the elements equal to the key are {@code [lowerBound, upperBound)}
+         */
+        public int[] equalRange(long key) {
+            return new int[]{lowerBound(key), upperBound(key)};
+        }
+
+        private int countLess(int node, long key) {
+            int count = 0;
+            for (int i = node; i < node + KEYS_PER_NODE; i++) {
+                count += lessBit(keys[i], key);
+            }
+            return count;
+        }
+
+        private int countNotGreater(int node, long key) {
+            int count = KEYS_PER_NODE;
+            for (int i = node; i < node + KEYS_PER_NODE; i++) {
+                count -= lessBit(key, keys[i]);
+            }
+            return count;
+        }
+    }
+
+    // Driver Program
+    public static void main(String[] args) {
+        Random random = new Random();
+        int size = 1000;
+        int[] integers = IntStream.generate(() -> random.nextInt(100_000)).limit(size).sorted().toArray();
+
+        int shouldBeFound = integers[random.nextInt(size - 1)];
+
+        OfInt tree = StaticSearchTree.of(integers);
+        int atIndex = tree.find(shouldBeFound);
+
+        System.out.println(format(
+                "Should be found: %d. Found %d at index %d. An array length %d",
+                shouldBeFound, integers[atIndex], atIndex, size
+        ));
+
+        // Output => [2, 5]
+        System.out.println(Arrays.toString(StaticSearchTree.of(new long[]{1, 3, 5, 5, 5, 8}).equalRange(5)));
+    }
+}
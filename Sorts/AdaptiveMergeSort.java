@@ -0,0 +1,361 @@
+package Sorts;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static Sorts.SortUtils.*;
+
+/**
+ * Natural (run-adaptive) Merge Sort in the manner of TimSort
+ *
+ * Unlike {@link MergeSort} it doesn't split the array blindly, it finds the runs which are already sorted:
+ * ascending runs are taken as they are, strictly descending runs are reversed
+ * (strictly, so equal elements never change their order).
+ * Runs shorter than the minimal run length are extended by the binary insertion sort.
+ * The runs are kept on a stack and merged while their lengths keep the stack balanced.
+ * A merge skips the prefix of the left run and the suffix of the right run which are already in place,
+ * and switches to galloping when one run keeps winning, so long runs are copied in blocks.
+ *
+ * Worst-case performance O(n log n)
+ * Best-case performance O(n), a sorted or reversed array is a single run
+ * Worst-case space complexity O(n)
+ *
+ * The sort is stable
+ *
+ * @see MergeSort
+ * @see SortAlgorithm
+ *
+ */
+public class AdaptiveMergeSort implements SortAlgorithm {
+
+    /**
+     * Arrays shorter than this are sorted by the binary insertion sort, it is also the base of the minimal run length
+     */
+    private static final int MIN_MERGE = 32;
+
+    /**
+     * How many times in a row a run should win before the merge starts galloping
+     */
+    private static final int MIN_GALLOP = 7;
+
+    @Override
+    public <T> T[] sort(T[] unsorted, Comparator<? super T> comparator) {
+        int length = unsorted.length;
+        if (length < 2) {
+            return unsorted;
+        }
+        if (length < MIN_MERGE) {
+            int runLength = countRunAndMakeAscending(unsorted, 0, length, comparator);
+            binaryInsertionSort(unsorted, 0, length, runLength, comparator);
+            return unsorted;
+        }
+
+        Merger<T> merger = new Merger<>(unsorted, comparator);
+        int minRun = minRunLength(length);
+        int low = 0;
+        int remaining = length;
+        do {
+            int runLength = countRunAndMakeAscending(unsorted, low, length, comparator);
+            if (runLength < minRun) {
+                int forced = Math.min(remaining, minRun);
+                binaryInsertionSort(unsorted, low, low + forced, runLength, comparator);
+                runLength = forced;
+            }
+            merger.pushRun(low, runLength);
+            merger.mergeCollapse();
+
+            low += runLength;
+            remaining -= runLength;
+        } while (remaining != 0);
+
+        merger.mergeForceCollapse();
+        return unsorted;
+    }
+
+    /**
+     * @return the minimal run length, between MIN_MERGE / 2 and MIN_MERGE,
+     * such that length / minRun is close to a power of two
+     */
+    private static int minRunLength(int length) {
+        int odd = 0;
+        while (length >= MIN_MERGE) {
+            odd |= length & 1;
+            length >>= 1;
+        }
+        return length + odd;
+    }
+
+    /**
+     * Finds the length of the run starting at low, a strictly descending run is reversed
+     *
+     * @return the length of the run
+     */
+    private static <T> int countRunAndMakeAscending(T[] array, int low, int high, Comparator<? super T> comparator) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+
+        if (less(comparator, array[runHigh++], array[low])) {
+            while (runHigh < high && less(comparator, array[runHigh], array[runHigh - 1])) {
+                runHigh++;
+            }
+            flip(array, low, runHigh - 1);
+        } else {
+            while (runHigh < high && !less(comparator, array[runHigh], array[runHigh - 1])) {
+                runHigh++;
+            }
+        }
+        return runHigh - low;
+    }
+
+    /**
+     * Sorts {@code [low, high)} where {@code [low, start)} is already sorted,
+     * every next element is put after the equal ones found by the binary search
+     */
+    private static <T> void binaryInsertionSort(T[] array, int low, int high, int start, Comparator<? super T> comparator) {
+        for (start += low; start < high; start++) {
+            T pivot = array[start];
+            int left = low;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (less(comparator, pivot, array[mid])) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(array, left, array, left + 1, start - left);
+            array[left] = pivot;
+        }
+    }
+
+    /**
+     * Counts the elements of {@code array[base, base + length)} which are not greater than the key.
+     * It checks the positions 0, 1, 3, 7, ... first, and then does the binary search between the last two,
+     * so it takes O(log k) comparisons where k is the answer
+     */
+    private static <T> int gallopRight(T key, T[] array, int base, int length, Comparator<? super T> comparator) {
+        int low = 0;
+        int high = 1;
+        while (high <= length && !less(comparator, key, array[base + high - 1])) {
+            low = high;
+            high = (high << 1) + 1;
+            if (high <= 0) {
+                high = length + 1; // overflow
+            }
+        }
+        high = Math.min(high, length);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (less(comparator, key, array[base + mid])) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Counts the elements of {@code array[base, base + length)} which are less than the key,
+     * the same galloping search as {@link #gallopRight}
+     */
+    private static <T> int gallopLeft(T key, T[] array, int base, int length, Comparator<? super T> comparator) {
+        int low = 0;
+        int high = 1;
+        while (high <= length && less(comparator, array[base + high - 1], key)) {
+            low = high;
+            high = (high << 1) + 1;
+            if (high <= 0) {
+                high = length + 1; // overflow
+            }
+        }
+        high = Math.min(high, length);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (less(comparator, array[base + mid], key)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The state of one sort: the stack of pending runs and the merge buffer
+     */
+    private static final class Merger<T> {
+        private final T[] array;
+        private final Comparator<? super T> comparator;
+        private final int[] runBase = new int[64];
+        private final int[] runLength = new int[64];
+        private int stackSize;
+        private int minGallop = MIN_GALLOP;
+        private T[] buffer;
+
+        @SuppressWarnings("unchecked")
+        Merger(T[] array, Comparator<? super T> comparator) {
+            this.array = array;
+            this.comparator = comparator;
+            this.buffer = (T[]) new Object[Math.min(256, array.length / 2)];
+        }
+
+        void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLength[stackSize] = length;
+            stackSize++;
+        }
+
+        /**
+         * Merges the runs on the top of the stack until
+         * every run is longer than the sum of the next two and than the next one,
+         * so the lengths grow at least as fast as the Fibonacci numbers and the merges are balanced
+         */
+        void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+                        || n > 1 && runLength[n - 2] <= runLength[n - 1] + runLength[n]) {
+                    if (runLength[n - 1] < runLength[n + 1]) {
+                        n--;
+                    }
+                } else if (runLength[n] > runLength[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges the runs i and i + 1 of the stack
+         */
+        private void mergeAt(int i) {
+            int leftBase = runBase[i];
+            int leftLength = runLength[i];
+            int rightBase = runBase[i + 1];
+            int rightLength = runLength[i + 1];
+
+            runLength[i] = leftLength + rightLength;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            stackSize--;
+
+            // the elements of the left run which are not greater than the first right one are in place
+            int skipped = gallopRight(array[rightBase], array, leftBase, leftLength, comparator);
+            leftBase += skipped;
+            leftLength -= skipped;
+            if (leftLength == 0) {
+                return;
+            }
+
+            // the elements of the right run which are not less than the last left one are in place
+            rightLength = gallopLeft(array[leftBase + leftLength - 1], array, rightBase, rightLength, comparator);
+            if (rightLength == 0) {
+                return;
+            }
+
+            merge(leftBase, leftLength, rightBase, rightLength);
+        }
+
+        /**
+         * Merges two adjacent runs, the left run is moved to the buffer
+         * and the result is written from the left, it never overtakes the unread part of the right run
+         */
+        private void merge(int leftBase, int leftLength, int rightBase, int rightLength) {
+            if (buffer.length < leftLength) {
+                buffer = Arrays.copyOf(buffer, Math.max(leftLength, Math.min(array.length / 2, buffer.length * 2)));
+            }
+            System.arraycopy(array, leftBase, buffer, 0, leftLength);
+
+            int left = 0;
+            int right = rightBase;
+            int rightEnd = rightBase + rightLength;
+            int dest = leftBase;
+
+            outer:
+            while (true) {
+                int leftWins = 0;
+                int rightWins = 0;
+
+                // one element at a time until one run wins too often
+                do {
+                    if (less(comparator, array[right], buffer[left])) {
+                        array[dest++] = array[right++];
+                        rightWins++;
+                        leftWins = 0;
+                        if (right == rightEnd) {
+                            break outer;
+                        }
+                    } else {
+                        array[dest++] = buffer[left++];
+                        leftWins++;
+                        rightWins = 0;
+                        if (left == leftLength) {
+                            break outer;
+                        }
+                    }
+                } while ((leftWins | rightWins) < minGallop);
+
+                // galloping, blocks of each run are found by the galloping search and copied at once
+                do {
+                    leftWins = gallopRight(array[right], buffer, left, leftLength - left, comparator);
+                    System.arraycopy(buffer, left, array, dest, leftWins);
+                    left += leftWins;
+                    dest += leftWins;
+                    if (left == leftLength) {
+                        break outer;
+                    }
+
+                    rightWins = gallopLeft(buffer[left], array, right, rightEnd - right, comparator);
+                    System.arraycopy(array, right, array, dest, rightWins);
+                    right += rightWins;
+                    dest += rightWins;
+                    if (right == rightEnd) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (leftWins >= MIN_GALLOP || rightWins >= MIN_GALLOP);
+
+                // galloping didn't pay, it is harder to start it next time
+                minGallop = Math.max(minGallop, 0) + 2;
+            }
+
+            // the rest of the right run is already in place
+            System.arraycopy(buffer, left, array, dest, leftLength - left);
+        }
+    }
+
+    // Driver program
+    public static void main(String[] args) {
+        Integer[] nearlySorted = new Integer[100];
+        for (int i = 0; i < nearlySorted.length; i++) {
+            nearlySorted[i] = i;
+        }
+        swap(nearlySorted, 10, 60);
+        swap(nearlySorted, 30, 90);
+
+        AdaptiveMergeSort sort = new AdaptiveMergeSort();
+        sort.sort(nearlySorted);
+        // Output => 0 1 2 ... 99
+        print(nearlySorted);
+
+        String[] strings = {"c", "a", "e", "b", "d"};
+        // Output => [e, d, c, b, a]
+        print(sort.sort(strings, Comparator.reverseOrder()));
+    }
+}
@@ -0,0 +1,736 @@
+package Sorts;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static Sorts.SortUtils.*;
+import static java.lang.String.format;
+
+/**
+ * A facade which chooses the sort for every input
+ *
+ * Before sorting it looks at the input:
+ * - the size
+ * - the presortedness: a sample of adjacent pairs, if nearly all of them are ascending
+ *   (or descending) the input is probably made of long runs
+ * - the duplicates: a sorted sample of the elements, if it has few distinct values
+ *   the input is probably dominated by a few keys
+ * - the key type: strings and boxed integers in their natural order have a radix sort
+ *
+ * and dispatches the input, the first matching rule wins:
+ * - tiny arrays to the {@link InsertionSort}
+ * - presorted arrays to the {@link AdaptiveMergeSort}, primitive arrays are checked
+ *   to be sorted or reversed completely and are only reversed if needed
+ * - strings to the {@link MSDRadixSort}, Integers and Longs to the {@link RadixSort}
+ * - huge object arrays to the {@link ParallelMergeSort} if there is more than one thread
+ * - other object arrays to the {@link AdaptiveMergeSort}, which makes the fewest comparisons
+ *   and merges the runs of equal keys by galloping
+ * - primitive arrays with heavy duplicates to the three-way {@link QuickSort}
+ * - other primitive arrays to the {@link RadixSort}, short ones to the {@link QuickSort}
+ *
+ * All sorts of the object arrays are stable, whatever the input, so the records sorted by a key
+ * keep the order of the records with equal keys.
+ *
+ * Every decision keeps the sampled features of its input, the ratios of the ascending and the descending pairs
+ * and of the distinct elements, together with the size and the time of the sort.
+ * A listener gets every {@link Decision}, and {@link #decisions()} gives the counts, the times
+ * and the mean features per strategy, so the thresholds can be tuned from real inputs.
+ *
+ * @see SortAlgorithm
+ *
+ */
+public class AdaptiveSort implements SortAlgorithm, PrimitiveSortAlgorithm {
+
+    /**
+     * The sorts the facade can choose, a PRESORTED primitive array is only reversed if needed
+     * and a PRESORTED object array is merged by the {@link AdaptiveMergeSort}
+     */
+    public enum Strategy {
+        INSERTION_SORT, PRESORTED, ADAPTIVE_MERGE_SORT, QUICK_SORT, RADIX_SORT, MSD_RADIX_SORT, PARALLEL_MERGE_SORT
+    }
+
+    /**
+     * Arrays shorter than this are sorted by the insertion sort
+     */
+    static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * The number of the sampled pairs and elements
+     */
+    static final int SAMPLE_SIZE = 64;
+
+    /**
+     * The input is presorted if at most this part of the sampled pairs is out of order
+     */
+    static final int PRESORTED_DIVISOR = 16;
+
+    /**
+     * The input has heavy duplicates if at most this part of the sampled elements is distinct
+     */
+    static final int DUPLICATES_DIVISOR = 4;
+
+    /**
+     * Primitive arrays shorter than this are sorted by the quick sort instead of the radix sort
+     */
+    static final int RADIX_SORT_THRESHOLD = 1 << 12;
+
+    /**
+     * Object arrays longer than this are sorted in parallel
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    private static final AdaptiveMergeSort ADAPTIVE_MERGE_SORT = new AdaptiveMergeSort();
+    private static final QuickSort QUICK_SORT = new QuickSort();
+    private static final RadixSort RADIX_SORT = new RadixSort();
+    private static final MSDRadixSort MSD_RADIX_SORT = new MSDRadixSort();
+
+    private final ParallelMergeSort parallelSort;
+    private final boolean parallel;
+
+    private final Consumer<? super Decision> listener;
+    private final Map<Strategy, Counters> counters = new EnumMap<>(Strategy.class);
+    private final ThreadLocal<Decision> last = new ThreadLocal<>();
+
+    /**
+     * The features of the input sampled by the rules, -1 if a rule didn't sample them
+     */
+    private static final class Features {
+        int pairs = -1;
+        int ascents = -1;
+        int descents = -1;
+        int elements = -1;
+        int distinct = -1;
+    }
+
+    /**
+     * One decision of the facade: the chosen strategy and what it was chosen for
+     */
+    public static final class Decision {
+
+        private final Strategy strategy;
+        private final int length;
+        private final double ascentRatio;
+        private final double descentRatio;
+        private final double distinctRatio;
+        private final long elapsedNanos;
+
+        private Decision(Strategy strategy, int length, Features features, long elapsedNanos) {
+            this.strategy = strategy;
+            this.length = length;
+            this.ascentRatio = features.pairs > 0 ? (double) features.ascents / features.pairs : Double.NaN;
+            this.descentRatio = features.pairs > 0 ? (double) features.descents / features.pairs : Double.NaN;
+            this.distinctRatio = features.elements > 0 ? (double) features.distinct / features.elements : Double.NaN;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * @return the number of the sorted elements
+         */
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * @return the part of the sampled adjacent pairs which are ascending, NaN if the pairs were not sampled
+         */
+        public double getAscentRatio() {
+            return ascentRatio;
+        }
+
+        /**
+         * @return the part of the sampled adjacent pairs which are descending, NaN if the pairs were not sampled
+         */
+        public double getDescentRatio() {
+            return descentRatio;
+        }
+
+        /**
+         * @return the part of the sampled elements which are distinct, NaN if the elements were not sampled
+         */
+        public double getDistinctRatio() {
+            return distinctRatio;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return format("Decision{strategy=%s, length=%d, ascents=%.3f, descents=%.3f, distinct=%.3f, elapsed=%.3f ms}",
+                    strategy, length, ascentRatio, descentRatio, distinctRatio, elapsedNanos / 1e6);
+        }
+    }
+
+    /**
+     * A snapshot of the decisions of one strategy, the mean ratios are over the decisions which sampled them
+     */
+    public static final class Statistics {
+
+        private final long calls;
+        private final long elements;
+        private final long elapsedNanos;
+        private final double meanAscentRatio;
+        private final double meanDescentRatio;
+        private final double meanDistinctRatio;
+
+        private Statistics(Counters counters) {
+            this.calls = counters.calls.sum();
+            this.elements = counters.elements.sum();
+            this.elapsedNanos = counters.elapsedNanos.sum();
+            long presortedness = counters.presortedness.sum();
+            long duplicates = counters.duplicates.sum();
+            this.meanAscentRatio = presortedness > 0 ? counters.ascentRatios.sum() / presortedness : Double.NaN;
+            this.meanDescentRatio = presortedness > 0 ? counters.descentRatios.sum() / presortedness : Double.NaN;
+            this.meanDistinctRatio = duplicates > 0 ? counters.distinctRatios.sum() / duplicates : Double.NaN;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * @return the total length of the sorted arrays
+         */
+        public long getElements() {
+            return elements;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getMeanAscentRatio() {
+            return meanAscentRatio;
+        }
+
+        public double getMeanDescentRatio() {
+            return meanDescentRatio;
+        }
+
+        public double getMeanDistinctRatio() {
+            return meanDistinctRatio;
+        }
+
+        @Override
+        public String toString() {
+            return format("Statistics{calls=%d, elements=%d, ascents=%.3f, descents=%.3f, distinct=%.3f, elapsed=%.3f ms}",
+                    calls, elements, meanAscentRatio, meanDescentRatio, meanDistinctRatio, elapsedNanos / 1e6);
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder elements = new LongAdder();
+        final LongAdder elapsedNanos = new LongAdder();
+        final LongAdder presortedness = new LongAdder();
+        final DoubleAdder ascentRatios = new DoubleAdder();
+        final DoubleAdder descentRatios = new DoubleAdder();
+        final LongAdder duplicates = new LongAdder();
+        final DoubleAdder distinctRatios = new DoubleAdder();
+    }
+
+    public AdaptiveSort() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool for the parallel sorts of huge object arrays
+     */
+    public AdaptiveSort(ForkJoinPool pool) {
+        this(pool, decision -> {
+        });
+    }
+
+    /**
+     * @param pool the pool for the parallel sorts of huge object arrays
+     * @param listener gets every decision on the thread of the sort, after the sort
+     */
+    public AdaptiveSort(ForkJoinPool pool, Consumer<? super Decision> listener) {
+        this.parallelSort = new ParallelMergeSort(pool, ParallelMergeSort.DEFAULT_GRANULARITY);
+        this.parallel = pool.getParallelism() > 1;
+        this.listener = listener;
+        for (Strategy strategy : Strategy.values()) {
+            counters.put(strategy, new Counters());
+        }
+    }
+
+    @Override
+    public <T> T[] sort(T[] unsorted, Comparator<? super T> comparator) {
+        long start = System.nanoTime();
+        Features features = new Features();
+        Strategy strategy = choose(unsorted, comparator, features);
+        switch (strategy) {
+            case INSERTION_SORT:
+                InsertionSort.insertionSort(unsorted, 0, unsorted.length, comparator);
+                break;
+            case RADIX_SORT:
+                sortByKey(unsorted);
+                break;
+            case MSD_RADIX_SORT:
+                MSD_RADIX_SORT.sort(unsorted, comparator);
+                break;
+            case PARALLEL_MERGE_SORT:
+                parallelSort.sort(unsorted, comparator);
+                break;
+            default:
+                // the runs of a presorted array are merged by the adaptive merge sort as well
+                ADAPTIVE_MERGE_SORT.sort(unsorted, comparator);
+        }
+        record(strategy, unsorted.length, start, features);
+        return unsorted;
+    }
+
+    private <T> Strategy choose(T[] array, Comparator<? super T> comparator, Features features) {
+        int length = array.length;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            return Strategy.INSERTION_SORT;
+        }
+        if (isPresorted(array, comparator, features)) {
+            return Strategy.PRESORTED;
+        }
+        if (comparator == Comparator.naturalOrder()) {
+            if (array instanceof CharSequence[]) {
+                return Strategy.MSD_RADIX_SORT;
+            }
+            if (array instanceof Integer[] || array instanceof Long[]) {
+                return Strategy.RADIX_SORT;
+            }
+        }
+        if (parallel && length > PARALLEL_THRESHOLD) {
+            return Strategy.PARALLEL_MERGE_SORT;
+        }
+        return Strategy.ADAPTIVE_MERGE_SORT;
+    }
+
+    private static <T> void sortByKey(T[] array) {
+        if (array instanceof Integer[]) {
+            ToIntFunction<T> key = value -> (Integer) value;
+            RadixSort.sortByInt(array, key);
+        } else {
+            ToLongFunction<T> key = value -> (Long) value;
+            RadixSort.sortByLong(array, key);
+        }
+    }
+
+    /**
+     * Compares the pairs of adjacent elements at evenly spaced positions
+     */
+    private static <T> boolean isPresorted(T[] array, Comparator<? super T> comparator, Features features) {
+        int samples = Math.min(SAMPLE_SIZE, array.length - 1);
+        int step = (array.length - 1) / samples;
+        int descents = 0;
+        int ascents = 0;
+        for (int i = 0; i < samples * step; i += step) {
+            int cmp = compare(comparator, array[i], array[i + 1]);
+            if (cmp > 0) {
+                descents++;
+            } else if (cmp < 0) {
+                ascents++;
+            }
+        }
+        features.pairs = samples;
+        features.ascents = ascents;
+        features.descents = descents;
+        return Math.min(descents, ascents) <= samples / PRESORTED_DIVISOR;
+    }
+
+    @Override
+    public int[] sort(int[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        long start = System.nanoTime();
+        Features features = new Features();
+        Strategy strategy = choose(unsorted, from, to, features);
+        switch (strategy) {
+            case INSERTION_SORT:
+                InsertionSort.insertionSort(unsorted, from, to);
+                break;
+            case PRESORTED:
+                break;
+            case RADIX_SORT:
+                RADIX_SORT.sort(unsorted, from, to);
+                break;
+            default:
+                QUICK_SORT.sort(unsorted, from, to);
+        }
+        record(strategy, to - from, start, features);
+        return unsorted;
+    }
+
+    /**
+     * Chooses the sort, a presorted part is checked completely and reversed if it is descending
+     */
+    private static Strategy choose(int[] array, int from, int to, Features features) {
+        int length = to - from;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            return Strategy.INSERTION_SORT;
+        }
+        if (isPresorted(array, from, to, features) && sortRun(array, from, to)) {
+            return Strategy.PRESORTED;
+        }
+        if (hasHeavyDuplicates(array, from, to, features)) {
+            return Strategy.QUICK_SORT;
+        }
+        return length < RADIX_SORT_THRESHOLD ? Strategy.QUICK_SORT : Strategy.RADIX_SORT;
+    }
+
+    private static boolean isPresorted(int[] array, int from, int to, Features features) {
+        int samples = Math.min(SAMPLE_SIZE, to - from - 1);
+        int step = (to - from - 1) / samples;
+        int descents = 0;
+        int ascents = 0;
+        for (int i = from; i < from + samples * step; i += step) {
+            if (array[i + 1] < array[i]) {
+                descents++;
+            } else if (array[i] < array[i + 1]) {
+                ascents++;
+            }
+        }
+        features.pairs = samples;
+        features.ascents = ascents;
+        features.descents = descents;
+        return Math.min(descents, ascents) <= samples / PRESORTED_DIVISOR;
+    }
+
+    /**
+     * @return true if the part is ascending or descending, a descending part is reversed
+     */
+    private static boolean sortRun(int[] array, int from, int to) {
+        int i = from + 1;
+        while (i < to && !(array[i] < array[i - 1])) {
+            i++;
+        }
+        if (i == to) {
+            return true;
+        }
+        i = from + 1;
+        while (i < to && !(array[i - 1] < array[i])) {
+            i++;
+        }
+        if (i < to) {
+            return false;
+        }
+        for (int left = from, right = to - 1; left < right; left++, right--) {
+            swap(array, left, right);
+        }
+        return true;
+    }
+
+    private static boolean hasHeavyDuplicates(int[] array, int from, int to, Features features) {
+        int samples = Math.min(SAMPLE_SIZE, to - from);
+        int step = (to - from) / samples;
+        int[] sample = new int[samples];
+        for (int i = 0; i < samples; i++) {
+            sample[i] = array[from + i * step];
+        }
+        InsertionSort.insertionSort(sample, 0, samples);
+        int distinct = 1;
+        for (int i = 1; i < samples; i++) {
+            if (sample[i - 1] < sample[i]) {
+                distinct++;
+            }
+        }
+        features.elements = samples;
+        features.distinct = distinct;
+        return distinct <= samples / DUPLICATES_DIVISOR;
+    }
+
+    @Override
+    public long[] sort(long[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        long start = System.nanoTime();
+        Features features = new Features();
+        Strategy strategy = choose(unsorted, from, to, features);
+        switch (strategy) {
+            case INSERTION_SORT:
+                InsertionSort.insertionSort(unsorted, from, to);
+                break;
+            case PRESORTED:
+                break;
+            case RADIX_SORT:
+                RADIX_SORT.sort(unsorted, from, to);
+                break;
+            default:
+                QUICK_SORT.sort(unsorted, from, to);
+        }
+        record(strategy, to - from, start, features);
+        return unsorted;
+    }
+
+    /**
+     * Chooses the sort, a presorted part is checked completely and reversed if it is descending
+     */
+    private static Strategy choose(long[] array, int from, int to, Features features) {
+        int length = to - from;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            return Strategy.INSERTION_SORT;
+        }
+        if (isPresorted(array, from, to, features) && sortRun(array, from, to)) {
+            return Strategy.PRESORTED;
+        }
+        if (hasHeavyDuplicates(array, from, to, features)) {
+            return Strategy.QUICK_SORT;
+        }
+        return length < RADIX_SORT_THRESHOLD ? Strategy.QUICK_SORT : Strategy.RADIX_SORT;
+    }
+
+    private static boolean isPresorted(long[] array, int from, int to, Features features) {
+        int samples = Math.min(SAMPLE_SIZE, to - from - 1);
+        int step = (to - from - 1) / samples;
+        int descents = 0;
+        int ascents = 0;
+        for (int i = from; i < from + samples * step; i += step) {
+            if (array[i + 1] < array[i]) {
+                descents++;
+            } else if (array[i] < array[i + 1]) {
+                ascents++;
+            }
+        }
+        features.pairs = samples;
+        features.ascents = ascents;
+        features.descents = descents;
+        return Math.min(descents, ascents) <= samples / PRESORTED_DIVISOR;
+    }
+
+    /**
+     * @return true if the part is ascending or descending, a descending part is reversed
+     */
+    private static boolean sortRun(long[] array, int from, int to) {
+        int i = from + 1;
+        while (i < to && !(array[i] < array[i - 1])) {
+            i++;
+        }
+        if (i == to) {
+            return true;
+        }
+        i = from + 1;
+        while (i < to && !(array[i - 1] < array[i])) {
+            i++;
+        }
+        if (i < to) {
+            return false;
+        }
+        for (int left = from, right = to - 1; left < right; left++, right--) {
+            swap(array, left, right);
+        }
+        return true;
+    }
+
+    private static boolean hasHeavyDuplicates(long[] array, int from, int to, Features features) {
+        int samples = Math.min(SAMPLE_SIZE, to - from);
+        int step = (to - from) / samples;
+        long[] sample = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            sample[i] = array[from + i * step];
+        }
+        InsertionSort.insertionSort(sample, 0, samples);
+        int distinct = 1;
+        for (int i = 1; i < samples; i++) {
+            if (sample[i - 1] < sample[i]) {
+                distinct++;
+            }
+        }
+        features.elements = samples;
+        features.distinct = distinct;
+        return distinct <= samples / DUPLICATES_DIVISOR;
+    }
+
+    @Override
+    public double[] sort(double[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        long start = System.nanoTime();
+        Features features = new Features();
+        Strategy strategy = choose(unsorted, from, to, features);
+        switch (strategy) {
+            case INSERTION_SORT:
+                InsertionSort.insertionSort(unsorted, from, to);
+                break;
+            case PRESORTED:
+                break;
+            case RADIX_SORT:
+                RADIX_SORT.sort(unsorted, from, to);
+                break;
+            default:
+                QUICK_SORT.sort(unsorted, from, to);
+        }
+        record(strategy, to - from, start, features);
+        return unsorted;
+    }
+
+    /**
+     * Chooses the sort, a presorted part is checked completely and reversed if it is descending
+     */
+    private static Strategy choose(double[] array, int from, int to, Features features) {
+        int length = to - from;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            return Strategy.INSERTION_SORT;
+        }
+        if (isPresorted(array, from, to, features) && sortRun(array, from, to)) {
+            return Strategy.PRESORTED;
+        }
+        if (hasHeavyDuplicates(array, from, to, features)) {
+            return Strategy.QUICK_SORT;
+        }
+        return length < RADIX_SORT_THRESHOLD ? Strategy.QUICK_SORT : Strategy.RADIX_SORT;
+    }
+
+    private static boolean isPresorted(double[] array, int from, int to, Features features) {
+        int samples = Math.min(SAMPLE_SIZE, to - from - 1);
+        int step = (to - from - 1) / samples;
+        int descents = 0;
+        int ascents = 0;
+        for (int i = from; i < from + samples * step; i += step) {
+            if (less(array[i + 1], array[i])) {
+                descents++;
+            } else if (less(array[i], array[i + 1])) {
+                ascents++;
+            }
+        }
+        features.pairs = samples;
+        features.ascents = ascents;
+        features.descents = descents;
+        return Math.min(descents, ascents) <= samples / PRESORTED_DIVISOR;
+    }
+
+    /**
+     * @return true if the part is ascending or descending, a descending part is reversed
+     */
+    private static boolean sortRun(double[] array, int from, int to) {
+        int i = from + 1;
+        while (i < to && !(less(array[i], array[i - 1]))) {
+            i++;
+        }
+        if (i == to) {
+            return true;
+        }
+        i = from + 1;
+        while (i < to && !(less(array[i - 1], array[i]))) {
+            i++;
+        }
+        if (i < to) {
+            return false;
+        }
+        for (int left = from, right = to - 1; left < right; left++, right--) {
+            swap(array, left, right);
+        }
+        return true;
+    }
+
+    private static boolean hasHeavyDuplicates(double[] array, int from, int to, Features features) {
+        int samples = Math.min(SAMPLE_SIZE, to - from);
+        int step = (to - from) / samples;
+        double[] sample = new double[samples];
+        for (int i = 0; i < samples; i++) {
+            sample[i] = array[from + i * step];
+        }
+        InsertionSort.insertionSort(sample, 0, samples);
+        int distinct = 1;
+        for (int i = 1; i < samples; i++) {
+            if (less(sample[i - 1], sample[i])) {
+                distinct++;
+            }
+        }
+        features.elements = samples;
+        features.distinct = distinct;
+        return distinct <= samples / DUPLICATES_DIVISOR;
+    }
+
+    private void record(Strategy strategy, int length, long start, Features features) {
+        Decision decision = new Decision(strategy, length, features, System.nanoTime() - start);
+        Counters counters = this.counters.get(strategy);
+        counters.calls.increment();
+        counters.elements.add(length);
+        counters.elapsedNanos.add(decision.elapsedNanos);
+        if (features.pairs > 0) {
+            counters.presortedness.increment();
+            counters.ascentRatios.add(decision.ascentRatio);
+            counters.descentRatios.add(decision.descentRatio);
+        }
+        if (features.elements > 0) {
+            counters.duplicates.increment();
+            counters.distinctRatios.add(decision.distinctRatio);
+        }
+        last.set(decision);
+        listener.accept(decision);
+    }
+
+    /**
+     * @return the last decision of the current thread or null if it didn't sort yet
+     */
+    public Decision lastDecision() {
+        return last.get();
+    }
+
+    /**
+     * @return for every strategy how many times it was chosen, how many elements it sorted, how long it took
+     * and the mean features of its inputs
+     */
+    public Map<Strategy, Statistics> decisions() {
+        Map<Strategy, Statistics> decisions = new EnumMap<>(Strategy.class);
+        counters.forEach((strategy, counters) -> decisions.put(strategy, new Statistics(counters)));
+        return Collections.unmodifiableMap(decisions);
+    }
+
+    public static void main(String[] args) {
+        AdaptiveSort adaptiveSort = new AdaptiveSort();
+
+        Integer[] tiny = {4, 23, 6, 78, 1, 54, 231, 9, 12};
+        adaptiveSort.sort(tiny);
+
+        // Output => INSERTION_SORT [1, 4, 6, 9, 12, 23, 54, 78, 231]
+        System.out.println(adaptiveSort.lastDecision().getStrategy() + " " + Arrays.toString(tiny));
+
+        String[] strings = new String[1000];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = "key" + (i * 7919 % strings.length);
+        }
+        adaptiveSort.sort(strings);
+
+        // Output => MSD_RADIX_SORT
+        System.out.println(adaptiveSort.lastDecision().getStrategy());
+
+        int[][] records = new int[1000][];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = new int[]{i % 4, i};
+        }
+        adaptiveSort.sort(records, Comparator.comparingInt(record -> record[0]));
+
+        // The records with equal keys keep their order
+        // Output => ADAPTIVE_MERGE_SORT [0, 0] [0, 4] [0, 8]
+        System.out.println(adaptiveSort.lastDecision().getStrategy() + " " + Arrays.toString(records[0])
+                + " " + Arrays.toString(records[1]) + " " + Arrays.toString(records[2]));
+
+        int[] reversed = new int[100_000];
+        for (int i = 0; i < reversed.length; i++) {
+            reversed[i] = reversed.length - i;
+        }
+        adaptiveSort.sort(reversed);
+
+        // Output => PRESORTED
+        System.out.println(adaptiveSort.lastDecision().getStrategy());
+
+        int[] fewUnique = new int[100_000];
+        for (int i = 0; i < fewUnique.length; i++) {
+            fewUnique[i] = i * 7919 % 10;
+        }
+        adaptiveSort.sort(fewUnique);
+
+        // Output => QUICK_SORT
+        System.out.println(adaptiveSort.lastDecision().getStrategy());
+
+        adaptiveSort.decisions().forEach((strategy, metrics) -> System.out.println(strategy + ": " + metrics));
+    }
+}
@@ -1,9 +1,29 @@
 package Sorts;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 import static Sorts.SortUtils.less;
 import static Sorts.SortUtils.print;
 
 /**
+ * Binary Tree Sort
+ *
+ * The elements are inserted into a balanced binary search tree, an AVL tree,
+ * and read back by an in-order traversal.
+ * The tree has no node objects: the nodes are indexes into parallel arrays of the values,
+ * the left and right children and the heights, which grow like an ArrayList.
+ * Equal elements are inserted to the right, so the sort is stable.
+ *
+ * The {@link Tree} can also be used on its own as an online sort:
+ * the elements of a stream are added one by one and the sorted view is available at any time.
+ *
+ * Worst-case performance O(n log n)
+ * Best-case performance O(n log n)
+ * Worst-case space complexity O(n)
  *
  * @author Podshivalov Nikita (https://github.com/nikitap492)
  *
@@ -12,69 +32,212 @@ import static Sorts.SortUtils.print;
  */
 public class BinaryTreeSort implements SortAlgorithm {
 
-	interface TreeVisitor<T extends Comparable<T>>  {
-		void visit(Node<T> node);
-	}
+	/**
+	 * AVL tree over index arrays
+	 *
+	 * @param <T> the type of the elements
+	 */
+	public static final class Tree<T> implements Iterable<T> {
+
+		private static final int NIL = -1;
+		private static final int DEFAULT_CAPACITY = 16;
 
-	private static class SortVisitor<T extends Comparable<T>> implements TreeVisitor<T> {
+		private final Comparator<? super T> comparator;
 
-		private final T[] array;
-		private int counter;
+		private Object[] values;
+		private int[] left;
+		private int[] right;
+		private byte[] height;
 
-		SortVisitor(T[] array) {
-			this.array = array;
+		private int root = NIL;
+		private int size;
+		private int modCount;
+
+		public Tree(Comparator<? super T> comparator) {
+			this(comparator, DEFAULT_CAPACITY);
 		}
 
-		@Override
-		public void visit(Node<T> node) {
-			array[counter++] = node.value;
+		/**
+		 * @param comparator the order of the elements
+		 * @param capacity the expected number of the elements
+		 */
+		public Tree(Comparator<? super T> comparator, int capacity) {
+			this.comparator = comparator;
+			capacity = Math.max(capacity, 1);
+			values = new Object[capacity];
+			left = new int[capacity];
+			right = new int[capacity];
+			height = new byte[capacity];
 		}
-	}
 
-	private static class Node<T extends Comparable<T>>{
-		private T value;
-		private Node<T> left;
-		private Node<T> right;
+		/**
+		 * Inserts the element after the equal elements
+		 *
+		 * @param value the element to insert
+		 */
+		public void add(T value) {
+			if (size == values.length) {
+				grow();
+			}
+			int node = size++;
+			values[node] = value;
+			left[node] = NIL;
+			right[node] = NIL;
+			height[node] = 1;
+			root = insert(root, node);
+			modCount++;
+		}
 
-		Node(T value) {
-			this.value = value;
+		public int size() {
+			return size;
 		}
 
-		void insert(Node<T> node) {
-			if (less(node.value, value)){
-				if (left != null) left.insert(node);
-				else left = node;
+		/**
+		 * Copies the elements in sorted order into the array,
+		 * a new array of the same type is allocated if the array is too short
+		 *
+		 * @param array the array for the elements
+		 * @return the array with the elements at the beginning
+		 */
+		public T[] toArray(T[] array) {
+			if (array.length < size) {
+				array = Arrays.copyOf(array, size);
 			}
-			else {
-				if (right != null) right.insert(node);
-				else right = node;
+			int i = 0;
+			for (T value : this) {
+				array[i++] = value;
 			}
+			return array;
 		}
 
-		void traverse(TreeVisitor<T> visitor) {
-			if ( left != null)
-				left.traverse(visitor);
+		/**
+		 * @return iterator over the elements in sorted order
+		 */
+		@Override
+		public Iterator<T> iterator() {
+			return new InOrder();
+		}
 
-			visitor.visit(this);
+		private void grow() {
+			int capacity = values.length + (values.length >> 1) + 1;
+			values = Arrays.copyOf(values, capacity);
+			left = Arrays.copyOf(left, capacity);
+			right = Arrays.copyOf(right, capacity);
+			height = Arrays.copyOf(height, capacity);
+		}
 
-			if ( right != null )
-				right.traverse(visitor );
+		/**
+		 * Inserts the node into the subtree
+		 *
+		 * @return the root of the subtree after the rebalancing
+		 */
+		private int insert(int subtree, int node) {
+			if (subtree == NIL) {
+				return node;
+			}
+			if (less(comparator, value(node), value(subtree))) {
+				left[subtree] = insert(left[subtree], node);
+			} else {
+				right[subtree] = insert(right[subtree], node);
+			}
+			return balance(subtree);
 		}
 
-	}
+		private int balance(int node) {
+			int balance = height(left[node]) - height(right[node]);
+			if (balance > 1) {
+				if (height(left[left[node]]) < height(right[left[node]])) {
+					left[node] = rotateLeft(left[node]);
+				}
+				return rotateRight(node);
+			}
+			if (balance < -1) {
+				if (height(right[right[node]]) < height(left[right[node]])) {
+					right[node] = rotateRight(right[node]);
+				}
+				return rotateLeft(node);
+			}
+			update(node);
+			return node;
+		}
 
+		private int rotateRight(int node) {
+			int pivot = left[node];
+			left[node] = right[pivot];
+			right[pivot] = node;
+			update(node);
+			update(pivot);
+			return pivot;
+		}
 
-	@Override
-	public  <T extends Comparable<T>> T[] sort(T[] array) {
+		private int rotateLeft(int node) {
+			int pivot = right[node];
+			right[node] = left[pivot];
+			left[pivot] = node;
+			update(node);
+			update(pivot);
+			return pivot;
+		}
 
-		Node<T> root = new Node<>(array[0]);
-		for (int i = 1; i < array.length; i++) {
-			root.insert(new Node<>(array[i]));
+		private void update(int node) {
+			height[node] = (byte) (Math.max(height(left[node]), height(right[node])) + 1);
 		}
 
-		root.traverse(new SortVisitor<>(array));
+		private int height(int node) {
+			return node == NIL ? 0 : height[node];
+		}
+
+		@SuppressWarnings("unchecked")
+		private T value(int node) {
+			return (T) values[node];
+		}
+
+		/**
+		 * In-order traversal with an explicit stack of the left spine
+		 */
+		private final class InOrder implements Iterator<T> {
+
+			private final int[] stack = new int[height(root)];
+			private final int expectedModCount = modCount;
+			private int top;
+
+			InOrder() {
+				pushLeft(root);
+			}
+
+			@Override
+			public boolean hasNext() {
+				return top > 0;
+			}
 
-		return array;
+			@Override
+			public T next() {
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if (top == 0) {
+					throw new NoSuchElementException();
+				}
+				int node = stack[--top];
+				pushLeft(right[node]);
+				return value(node);
+			}
+
+			private void pushLeft(int node) {
+				for (; node != NIL; node = left[node]) {
+					stack[top++] = node;
+				}
+			}
+		}
+	}
+
+	@Override
+	public <T> T[] sort(T[] array, Comparator<? super T> comparator) {
+		Tree<T> tree = new Tree<>(comparator, array.length);
+		for (T value : array) {
+			tree.add(value);
+		}
+		return tree.toArray(array);
 	}
 
 
@@ -90,7 +253,20 @@ public class BinaryTreeSort implements SortAlgorithm {
 
 		String[] stringArray = {"c", "a", "e", "b","d", "dd","da","zz", "AA", "aa","aB","Hb", "Z"};
 		print(treeSort.sort(stringArray));
+
+		// Online sort: the sorted view is available after every element
+		Tree<Integer> tree = new Tree<>(Comparator.naturalOrder());
+		for (int value : new int[]{5, 1, 4}) {
+			tree.add(value);
+		}
+
+		// Output => [1, 4, 5]
+		print(tree.toArray(new Integer[0]));
+
+		tree.add(2);
+
+		// Output => [1, 2, 4, 5]
+		print(tree.toArray(new Integer[0]));
 	}
 
 }
-
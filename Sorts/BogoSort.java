@@ -1,5 +1,6 @@
 package Sorts;
 
+import java.util.Comparator;
 import java.util.Random;
 
 
@@ -15,9 +16,9 @@ public class BogoSort implements SortAlgorithm {
     private static final Random random = new Random();
 
 
-    private static <T extends Comparable<T>> boolean isSorted(T array[]){
+    private static <T> boolean isSorted(T array[], Comparator<? super T> comparator){
         for(int i = 0; i<array.length - 1; i++){
-            if(SortUtils.less(array[i + 1], array[i])) return false;
+            if(SortUtils.less(comparator, array[i + 1], array[i])) return false;
         }
         return true;
     }
@@ -32,8 +33,9 @@ public class BogoSort implements SortAlgorithm {
         }
     }
 
-    public <T extends Comparable<T>> T[] sort(T array[]) {
-        while(!isSorted(array)){
+    @Override
+    public <T> T[] sort(T array[], Comparator<? super T> comparator) {
+        while(!isSorted(array, comparator)){
             nextPermutation(array);
         }
         return array;
@@ -1,5 +1,7 @@
 package Sorts;
 
+import java.util.Comparator;
+
 import static Sorts.SortUtils.*;
 
 /**
@@ -10,23 +12,75 @@ import static Sorts.SortUtils.*;
  * @see SortAlgorithm
  */
 
-class BubbleSort implements SortAlgorithm {
+class BubbleSort implements SortAlgorithm, PrimitiveSortAlgorithm {
     /**
      * This method implements the Generic Bubble Sort
      *
      * @param array The array to be sorted
+     * @param comparator The order of the elements
      * Sorts the array in increasing order
      **/
 
     @Override
-    public  <T extends Comparable<T>> T[] sort(T array[]) {
+    public  <T> T[] sort(T array[], Comparator<? super T> comparator) {
         int last = array.length;
         //Sorting
         boolean swap;
         do {
             swap = false;
             for (int count = 0; count < last-1; count++) {
-                if (less(array[count], array[count + 1])) {
+                if (less(comparator, array[count + 1], array[count])) {
+                    swap = swap(array, count, count + 1);
+                }
+            }
+            last--;
+        } while (swap);
+        return array;
+    }
+
+    @Override
+    public int[] sort(int[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        int last = to;
+        boolean swap;
+        do {
+            swap = false;
+            for (int count = from; count < last - 1; count++) {
+                if (array[count + 1] < array[count]) {
+                    swap = swap(array, count, count + 1);
+                }
+            }
+            last--;
+        } while (swap);
+        return array;
+    }
+
+    @Override
+    public long[] sort(long[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        int last = to;
+        boolean swap;
+        do {
+            swap = false;
+            for (int count = from; count < last - 1; count++) {
+                if (array[count + 1] < array[count]) {
+                    swap = swap(array, count, count + 1);
+                }
+            }
+            last--;
+        } while (swap);
+        return array;
+    }
+
+    @Override
+    public double[] sort(double[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        int last = to;
+        boolean swap;
+        do {
+            swap = false;
+            for (int count = from; count < last - 1; count++) {
+                if (less(array[count + 1], array[count])) {
                     swap = swap(array, count, count + 1);
                 }
             }
@@ -43,12 +97,12 @@ class BubbleSort implements SortAlgorithm {
         BubbleSort bubbleSort = new BubbleSort();
         bubbleSort.sort(integers);
 
-        // Output => 231, 78, 54, 23, 12, 9, 6, 4, 1
+        // Output => 1, 4, 6, 9, 12, 23, 54, 78, 231
         print(integers);
 
         // String Input
         String[] strings = {"c", "a", "e", "b","d"};
-        //Output => e, d, c, b, a
+        //Output => a, b, c, d, e
         print(bubbleSort.sort(strings));
 
     }
@@ -0,0 +1,406 @@
+package Sorts;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * In-place sorts of NIO buffers
+ *
+ * The elements between the position and the limit of an {@link IntBuffer} or a {@link LongBuffer} are sorted,
+ * and so are the fixed-width records of a {@link ByteBuffer}, for example a {@link MappedByteBuffer} of a file,
+ * by an integer key inside every record. Nothing is copied to the heap:
+ * - buffers backed by an array are sorted as the array by the {@link AdaptiveSort}
+ * - the other buffers are sorted in place by an American flag sort, a radix sort from the most significant byte
+ *   which needs no second buffer unlike the LSD {@link RadixSort}:
+ *   the elements are counted by a byte of their key and every element is swapped directly into its bucket,
+ *   then every bucket is sorted by the next byte.
+ *   Small buckets are sorted as by the {@link QuickSort}: a three-way partition,
+ *   the insertion sort for tiny parts and the {@link HeapSort} when the recursion gets too deep.
+ *   The code of these sorts is repeated for the {@code Elements} of the buffers, because the sorts of the arrays
+ *   read and swap the array elements directly, and going through an accessor would slow the array sorts down.
+ *
+ * Every record is moved at most once per key byte, which matters when the records are long.
+ * A buffer can hold at most 2 GB, a larger file is sorted by mapping and sorting it in parts
+ * and merging the sorted parts, like the {@link ExternalMergeSort} does.
+ *
+ * Worst-case performance O(n * key width), Worst-case space complexity O(1)
+ *
+ * @see RadixSort
+ * @see QuickSort
+ * @see ExternalMergeSort
+ *
+ */
+public final class BufferSort {
+
+    /**
+     * Parts shorter than this are sorted by the quick sort instead of being distributed
+     */
+    private static final int RADIX_SORT_THRESHOLD = 64;
+
+    /**
+     * Parts shorter than this are sorted by the insertion sort
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private static final int RADIX = 256;
+
+    private static final AdaptiveSort ADAPTIVE_SORT = new AdaptiveSort();
+
+    private BufferSort() {
+    }
+
+    /**
+     * Sorts the ints between the position and the limit of the buffer
+     *
+     * @param buffer the buffer to be sorted
+     */
+    public static void sort(IntBuffer buffer) {
+        if (buffer.hasArray()) {
+            int from = buffer.arrayOffset() + buffer.position();
+            ADAPTIVE_SORT.sort(buffer.array(), from, from + buffer.remaining());
+        } else {
+            sort(new IntElements(buffer));
+        }
+    }
+
+    /**
+     * Sorts the longs between the position and the limit of the buffer
+     *
+     * @param buffer the buffer to be sorted
+     */
+    public static void sort(LongBuffer buffer) {
+        if (buffer.hasArray()) {
+            int from = buffer.arrayOffset() + buffer.position();
+            ADAPTIVE_SORT.sort(buffer.array(), from, from + buffer.remaining());
+        } else {
+            sort(new LongElements(buffer));
+        }
+    }
+
+    /**
+     * Sorts the records between the position and the limit of the buffer by their keys.
+     * The key is a signed integer of 1, 2, 4 or 8 bytes in the byte order of the buffer,
+     * as written by {@link ByteBuffer#put}, {@link ByteBuffer#putShort}, {@link ByteBuffer#putInt}
+     * or {@link ByteBuffer#putLong}
+     *
+     * @param buffer the buffer with the records
+     * @param recordSize the size of a record in bytes
+     * @param keyOffset the offset of the key in a record
+     * @param keyWidth the size of the key in bytes
+     */
+    public static void sortRecords(ByteBuffer buffer, int recordSize, int keyOffset, int keyWidth) {
+        if (keyWidth != 1 && keyWidth != 2 && keyWidth != 4 && keyWidth != 8) {
+            throw new IllegalArgumentException("keyWidth(" + keyWidth + ") is not 1, 2, 4 or 8");
+        }
+        if (keyOffset < 0 || keyOffset + keyWidth > recordSize) {
+            throw new IllegalArgumentException("key [" + keyOffset + ", " + (keyOffset + keyWidth)
+                    + ") is out of the record of " + recordSize + " bytes");
+        }
+        if (buffer.remaining() % recordSize != 0) {
+            throw new IllegalArgumentException(buffer.remaining() + " bytes are not whole records of " + recordSize);
+        }
+        sort(new Records(buffer, recordSize, keyOffset, keyWidth));
+    }
+
+    /**
+     * A sequence of elements with integer keys, which can be swapped
+     */
+    private abstract static class Elements {
+
+        /**
+         * The number of the elements
+         */
+        final int size;
+
+        /**
+         * The number of the bytes of the keys
+         */
+        final int width;
+
+        Elements(int size, int width) {
+            this.size = size;
+            this.width = width;
+        }
+
+        /**
+         * @return the key of the element, aligned to the most significant bit and with the sign bit flipped,
+         * so the unsigned order of the keys is the signed order of the elements
+         */
+        abstract long key(int i);
+
+        abstract void swap(int i, int j);
+    }
+
+    private static final class IntElements extends Elements {
+
+        private final IntBuffer buffer;
+        private final int base;
+
+        IntElements(IntBuffer buffer) {
+            super(buffer.remaining(), Integer.BYTES);
+            this.buffer = buffer;
+            this.base = buffer.position();
+        }
+
+        @Override
+        long key(int i) {
+            return (long) (buffer.get(base + i) ^ Integer.MIN_VALUE) << 32;
+        }
+
+        @Override
+        void swap(int i, int j) {
+            int value = buffer.get(base + i);
+            buffer.put(base + i, buffer.get(base + j));
+            buffer.put(base + j, value);
+        }
+    }
+
+    private static final class LongElements extends Elements {
+
+        private final LongBuffer buffer;
+        private final int base;
+
+        LongElements(LongBuffer buffer) {
+            super(buffer.remaining(), Long.BYTES);
+            this.buffer = buffer;
+            this.base = buffer.position();
+        }
+
+        @Override
+        long key(int i) {
+            return buffer.get(base + i) ^ Long.MIN_VALUE;
+        }
+
+        @Override
+        void swap(int i, int j) {
+            long value = buffer.get(base + i);
+            buffer.put(base + i, buffer.get(base + j));
+            buffer.put(base + j, value);
+        }
+    }
+
+    private static final class Records extends Elements {
+
+        private final ByteBuffer buffer;
+        private final int base;
+        private final int recordSize;
+        private final int keyOffset;
+        private final byte[] left;
+        private final byte[] right;
+
+        Records(ByteBuffer buffer, int recordSize, int keyOffset, int keyWidth) {
+            super(buffer.remaining() / recordSize, keyWidth);
+            this.buffer = buffer;
+            this.base = buffer.position();
+            this.recordSize = recordSize;
+            this.keyOffset = keyOffset;
+            this.left = new byte[recordSize];
+            this.right = new byte[recordSize];
+        }
+
+        @Override
+        long key(int i) {
+            int index = base + i * recordSize + keyOffset;
+            switch (width) {
+                case 1:
+                    return (long) (buffer.get(index) ^ Byte.MIN_VALUE) << 56;
+                case 2:
+                    return (long) (buffer.getShort(index) ^ Short.MIN_VALUE) << 48;
+                case 4:
+                    return (long) (buffer.getInt(index) ^ Integer.MIN_VALUE) << 32;
+                default:
+                    return buffer.getLong(index) ^ Long.MIN_VALUE;
+            }
+        }
+
+        @Override
+        void swap(int i, int j) {
+            int first = base + i * recordSize;
+            int second = base + j * recordSize;
+            buffer.get(first, left);
+            buffer.get(second, right);
+            buffer.put(first, right);
+            buffer.put(second, left);
+        }
+    }
+
+    private static void sort(Elements elements) {
+        radixSort(elements, 0, elements.size, 0);
+    }
+
+    /**
+     * American flag sort of {@code [from, to)} by the key bytes from the given level,
+     * the key bytes before the level are equal in the part
+     */
+    private static void radixSort(Elements elements, int from, int to, int level) {
+        while (to - from >= RADIX_SORT_THRESHOLD && level < elements.width) {
+            int shift = Long.SIZE - Byte.SIZE * (level + 1);
+            int[] count = new int[RADIX];
+            for (int i = from; i < to; i++) {
+                count[digit(elements.key(i), shift)]++;
+            }
+            if (count[digit(elements.key(from), shift)] == to - from) {
+                // all keys have the same byte, nothing to distribute
+                level++;
+                continue;
+            }
+
+            int[] start = new int[RADIX + 1];
+            start[0] = from;
+            for (int b = 0; b < RADIX; b++) {
+                start[b + 1] = start[b] + count[b];
+            }
+            int[] next = Arrays.copyOf(start, RADIX);
+            for (int b = 0; b < RADIX; b++) {
+                while (next[b] < start[b + 1]) {
+                    int digit = digit(elements.key(next[b]), shift);
+                    if (digit == b) {
+                        next[b]++;
+                    } else {
+                        elements.swap(next[b], next[digit]++);
+                    }
+                }
+            }
+
+            for (int b = 0; b < RADIX; b++) {
+                radixSort(elements, start[b], start[b + 1], level + 1);
+            }
+            return;
+        }
+        if (level < elements.width) {
+            quickSort(elements, from, to - 1, QuickSort.depthLimit(to - from));
+        }
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) (key >>> shift) & (RADIX - 1);
+    }
+
+    /**
+     * The three-way partitioning quick sort of {@link QuickSort} over {@code [left, right]},
+     * with the same depth limit, repeated for the keys and the swaps of the {@code Elements}
+     */
+    private static void quickSort(Elements elements, int left, int right, int depthLimit) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(elements, left, right + 1);
+                return;
+            }
+
+            int mid = (left + right) >>> 1;
+            elements.swap(left, median(elements, left, mid, right));
+            long pivot = elements.key(left);
+
+            // [left, lt) < pivot, [lt, gt] == pivot, (gt, right] > pivot
+            int lt = left;
+            int gt = right;
+            int i = left + 1;
+            while (i <= gt) {
+                int cmp = Long.compareUnsigned(elements.key(i), pivot);
+                if (cmp < 0) {
+                    elements.swap(lt++, i++);
+                } else if (cmp > 0) {
+                    elements.swap(i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (lt - left < right - gt) {
+                quickSort(elements, left, lt - 1, depthLimit);
+                left = gt + 1;
+            } else {
+                quickSort(elements, gt + 1, right, depthLimit);
+                right = lt - 1;
+            }
+        }
+        insertionSort(elements, left, right + 1);
+    }
+
+    private static int median(Elements elements, int a, int b, int c) {
+        long x = elements.key(a);
+        long y = elements.key(b);
+        long z = elements.key(c);
+        return Long.compareUnsigned(x, y) < 0
+                ? (Long.compareUnsigned(y, z) < 0 ? b : Long.compareUnsigned(x, z) < 0 ? c : a)
+                : (Long.compareUnsigned(z, y) < 0 ? b : Long.compareUnsigned(z, x) < 0 ? c : a);
+    }
+
+    private static void insertionSort(Elements elements, int from, int to) {
+        for (int j = from + 1; j < to; j++) {
+            long key = elements.key(j);
+            for (int i = j; i > from && Long.compareUnsigned(key, elements.key(i - 1)) < 0; i--) {
+                elements.swap(i, i - 1);
+            }
+        }
+    }
+
+    private static void heapSort(Elements elements, int from, int to) {
+        int size = to - from;
+        for (int root = size / 2 - 1; root >= 0; root--) {
+            siftDown(elements, from, root, size);
+        }
+        while (size > 1) {
+            elements.swap(from, from + --size);
+            siftDown(elements, from, 0, size);
+        }
+    }
+
+    private static void siftDown(Elements elements, int offset, int root, int size) {
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size
+                    && Long.compareUnsigned(elements.key(offset + child), elements.key(offset + child + 1)) < 0) {
+                child++;
+            }
+            if (Long.compareUnsigned(elements.key(offset + root), elements.key(offset + child)) >= 0) {
+                return;
+            }
+            elements.swap(offset + root, offset + child);
+            root = child;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        IntBuffer ints = ByteBuffer.allocateDirect(6 * Integer.BYTES).asIntBuffer();
+        ints.put(new int[]{4, -23, 6, 78, 1, -54}).flip();
+        sort(ints);
+
+        // Output => -54 -23 1 4 6 78
+        while (ints.hasRemaining()) {
+            System.out.print(ints.get() + " ");
+        }
+        System.out.println();
+
+        // Records of 16 bytes: a long payload and an int key at offset 8
+        Path file = Files.createTempFile("records", ".bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int records = 5;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, records * 16L);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            int[] keys = {30, -10, 20, 0, 10};
+            for (int i = 0; i < records; i++) {
+                mapped.putLong(i * 16, i).putInt(i * 16 + 8, keys[i]);
+            }
+            sortRecords(mapped, 16, 8, Integer.BYTES);
+            mapped.force();
+
+            // Output => -10 0 10 20 30
+            for (int i = 0; i < records; i++) {
+                System.out.print(mapped.getInt(i * 16 + 8) + " ");
+            }
+            System.out.println();
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package Sorts;
 
+import java.util.Comparator;
+
 /**
  *
  * @author Mateus Bizzo (https://github.com/MattBizzo)
@@ -7,17 +9,18 @@ package Sorts;
  *
  */
 
-class CocktailShakerSort implements SortAlgorithm {
+class CocktailShakerSort implements SortAlgorithm, PrimitiveSortAlgorithm {
 
 	/**
 	 * This method implements the Generic Cocktail Shaker Sort
 	 *
 	 * @param array The array to be sorted
+	 * @param comparator The order of the elements
 	 * Sorts the array in increasing order
 	 **/
 
     @Override
-    public <T extends Comparable<T>> T[] sort(T[] array) {
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator) {
 
         int length = array.length;
         int left = 0;
@@ -27,7 +30,7 @@ class CocktailShakerSort implements SortAlgorithm {
             // front
             swappedRight = 0;
             for (int i = left; i < right; i++) {
-                if (SortUtils.less(array[i + 1], array[i])) {
+                if (SortUtils.less(comparator, array[i + 1], array[i])) {
                     SortUtils.swap(array, i, i + 1);
                     swappedRight = i;
                 }
@@ -36,7 +39,66 @@ class CocktailShakerSort implements SortAlgorithm {
             right = swappedRight;
             swappedLeft = length - 1;
             for (int j = right; j > left; j--) {
-                if (SortUtils.less(array[j], array[j - 1])) {
+                if (SortUtils.less(comparator, array[j], array[j - 1])) {
+                    SortUtils.swap(array, j - 1, j);
+                    swappedLeft = j;
+                }
+            }
+            left = swappedLeft;
+        }
+        return array;
+
+    }
+
+    @Override
+    public int[] sort(int[] array, int from, int to) {
+        SortUtils.checkRange(array.length, from, to);
+        int left = from;
+        int right = to - 1;
+        int swappedLeft, swappedRight;
+        while (left < right) {
+            // front
+            swappedRight = from;
+            for (int i = left; i < right; i++) {
+                if (array[i + 1] < array[i]) {
+                    SortUtils.swap(array, i, i + 1);
+                    swappedRight = i;
+                }
+            }
+            // back
+            right = swappedRight;
+            swappedLeft = to - 1;
+            for (int j = right; j > left; j--) {
+                if (array[j] < array[j - 1]) {
+                    SortUtils.swap(array, j - 1, j);
+                    swappedLeft = j;
+                }
+            }
+            left = swappedLeft;
+        }
+        return array;
+    }
+
+    @Override
+    public long[] sort(long[] array, int from, int to) {
+        SortUtils.checkRange(array.length, from, to);
+        int left = from;
+        int right = to - 1;
+        int swappedLeft, swappedRight;
+        while (left < right) {
+            // front
+            swappedRight = from;
+            for (int i = left; i < right; i++) {
+                if (array[i + 1] < array[i]) {
+                    SortUtils.swap(array, i, i + 1);
+                    swappedRight = i;
+                }
+            }
+            // back
+            right = swappedRight;
+            swappedLeft = to - 1;
+            for (int j = right; j > left; j--) {
+                if (array[j] < array[j - 1]) {
                     SortUtils.swap(array, j - 1, j);
                     swappedLeft = j;
                 }
@@ -44,7 +106,35 @@ class CocktailShakerSort implements SortAlgorithm {
             left = swappedLeft;
         }
         return array;
+    }
 
+    @Override
+    public double[] sort(double[] array, int from, int to) {
+        SortUtils.checkRange(array.length, from, to);
+        int left = from;
+        int right = to - 1;
+        int swappedLeft, swappedRight;
+        while (left < right) {
+            // front
+            swappedRight = from;
+            for (int i = left; i < right; i++) {
+                if (SortUtils.less(array[i + 1], array[i])) {
+                    SortUtils.swap(array, i, i + 1);
+                    swappedRight = i;
+                }
+            }
+            // back
+            right = swappedRight;
+            swappedLeft = to - 1;
+            for (int j = right; j > left; j--) {
+                if (SortUtils.less(array[j], array[j - 1])) {
+                    SortUtils.swap(array, j - 1, j);
+                    swappedLeft = j;
+                }
+            }
+            left = swappedLeft;
+        }
+        return array;
     }
 
 	// Driver Program
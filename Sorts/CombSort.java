@@ -1,5 +1,7 @@
 package Sorts;
 
+import java.util.Comparator;
+
 import static Sorts.SortUtils.*;
 
 
@@ -21,7 +23,7 @@ import static Sorts.SortUtils.*;
  * @author Podshivalov Nikita (https://github.com/nikitap492)
  *
  */
-class CombSort implements SortAlgorithm {
+class CombSort implements SortAlgorithm, PrimitiveSortAlgorithm {
 
     // To find gap between elements
     private int nextGap(int gap) {
@@ -33,10 +35,11 @@ class CombSort implements SortAlgorithm {
     /**
      * Function to sort arr[] using Comb
      * @param arr - an array should be sorted
+     * @param comparator - the order of the elements
      * @return sorted array
      */
     @Override
-    public <T extends Comparable<T>> T[] sort(T arr[]) {
+    public <T> T[] sort(T arr[], Comparator<? super T> comparator) {
         int size  = arr.length;
 
         // initialize gap
@@ -55,7 +58,7 @@ class CombSort implements SortAlgorithm {
  
             // Compare all elements with current gap
             for (int i = 0; i < size - gap ; i++) {
-                if (less(arr[i + gap], arr[i])) {
+                if (less(comparator, arr[i + gap], arr[i])) {
                     // Swap arr[i] and arr[i+gap]
                     swapped = swap(arr, i, i + gap);
                 }
@@ -63,6 +66,57 @@ class CombSort implements SortAlgorithm {
         }
         return arr;
     }
+
+    @Override
+    public int[] sort(int[] arr, int from, int to) {
+        checkRange(arr.length, from, to);
+        int gap = to - from;
+        boolean swapped = true;
+        while (gap != 1 || swapped) {
+            gap = nextGap(gap);
+            swapped = false;
+            for (int i = from; i < to - gap; i++) {
+                if (arr[i + gap] < arr[i]) {
+                    swapped = swap(arr, i, i + gap);
+                }
+            }
+        }
+        return arr;
+    }
+
+    @Override
+    public long[] sort(long[] arr, int from, int to) {
+        checkRange(arr.length, from, to);
+        int gap = to - from;
+        boolean swapped = true;
+        while (gap != 1 || swapped) {
+            gap = nextGap(gap);
+            swapped = false;
+            for (int i = from; i < to - gap; i++) {
+                if (arr[i + gap] < arr[i]) {
+                    swapped = swap(arr, i, i + gap);
+                }
+            }
+        }
+        return arr;
+    }
+
+    @Override
+    public double[] sort(double[] arr, int from, int to) {
+        checkRange(arr.length, from, to);
+        int gap = to - from;
+        boolean swapped = true;
+        while (gap != 1 || swapped) {
+            gap = nextGap(gap);
+            swapped = false;
+            for (int i = from; i < to - gap; i++) {
+                if (less(arr[i + gap], arr[i])) {
+                    swapped = swap(arr, i, i + gap);
+                }
+            }
+        }
+        return arr;
+    }
  
     // Driver method
     public static void main(String args[]) {
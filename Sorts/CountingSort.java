@@ -1,11 +1,13 @@
 package Sorts;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 import static Sorts.SortUtils.print;
 
 /**
@@ -16,11 +18,21 @@ import static Sorts.SortUtils.print;
  */
 class CountingSort implements SortAlgorithm {
 
+    /**
+     * Arrays longer than this are counted in parallel
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * The keys are counted in parallel only when every chunk has this many keys per counter of its histogram,
+     * a wide range would be allocated and summed once per chunk for only a few keys
+     */
+    private static final int KEYS_PER_COUNTER = 4;
 
 
     @Override
-    public <T extends Comparable<T>> T[] sort(T[] unsorted) {
-        return sort(Arrays.asList(unsorted)).toArray(unsorted);
+    public <T> T[] sort(T[] unsorted, Comparator<? super T> comparator) {
+        return sort(Arrays.asList(unsorted), comparator).toArray(unsorted);
     }
 
     /**
@@ -33,25 +45,132 @@ class CountingSort implements SortAlgorithm {
      **/
     @Override
     public <T extends Comparable<T>> List<T> sort(List<T> list) {
+        return sort(list, Comparator.naturalOrder());
+    }
 
-        Map<T, Integer> frequency = new TreeMap<>();
+    /**
+     * The same as {@link CountingSort#sort(List)} but the keys of the frequency map are ordered by the comparator.
+     * Every key keeps the bucket of its elements instead of a count,
+     * so the elements which compare equal but are different objects are all kept, in their original order
+     *
+     * @param list The list to be sorted
+     * @param comparator The order of the elements
+     **/
+    private static <T> List<T> sort(List<T> list, Comparator<? super T> comparator) {
+
+        Map<T, List<T>> buckets = new TreeMap<>(comparator);
         // The final output array
         List<T> sortedArray = new ArrayList<>(list.size());
 
-        // Counting the frequency of @param array elements
-        list.forEach(v -> frequency.put(v, frequency.getOrDefault(v, 0) + 1));
+        // Collecting the equal elements of @param array into buckets
+        list.forEach(v -> buckets.computeIfAbsent(v, k -> new ArrayList<>()).add(v));
 
         // Filling the sortedArray
-        for(Map.Entry<T, Integer> element : frequency.entrySet()) {
-            for(int j=0; j<element.getValue(); j++){
-                sortedArray.add(element.getKey());
-            }
+        for (List<T> bucket : buckets.values()) {
+            sortedArray.addAll(bucket);
         }
 
         return sortedArray;
     }
 
 
+    /**
+     * Array Counting Sort for keys from a known range.
+     * The frequencies are counted into a flat array instead of a map,
+     * so the sort takes O(n + k) time where k = max - min + 1
+     *
+     * @param array The array to be sorted
+     * @param min The least possible key
+     * @param max The greatest possible key
+     * @return the same array
+     * @throws ArrayIndexOutOfBoundsException if a key is out of {@code [min, max]}
+     **/
+    public int[] sortInRange(int[] array, int min, int max) {
+        int[] count = count(array, min, max);
+
+        int index = 0;
+        for (int value = 0; value < count.length; value++) {
+            Arrays.fill(array, index, index + count[value], value + min);
+            index += count[value];
+        }
+        return array;
+    }
+
+    /**
+     * Stable Array Counting Sort of objects by an int key from a known range.
+     * The counts are turned into the start positions of the keys by prefix sums,
+     * then every object is put to the next position of its key
+     *
+     * @param array The array to be sorted
+     * @param key Extracts the key of an object
+     * @param min The least possible key
+     * @param max The greatest possible key
+     * @return the same array
+     * @throws ArrayIndexOutOfBoundsException if a key is out of {@code [min, max]}
+     **/
+    public <T> T[] sortInRange(T[] array, ToIntFunction<? super T> key, int min, int max) {
+        int[] keys = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = key.applyAsInt(array[i]);
+        }
+        int[] position = count(keys, min, max);
+
+        int start = 0;
+        for (int value = 0; value < position.length; value++) {
+            int c = position[value];
+            position[value] = start;
+            start += c;
+        }
+
+        T[] sorted = array.clone();
+        for (int i = 0; i < array.length; i++) {
+            sorted[position[keys[i] - min]++] = array[i];
+        }
+        System.arraycopy(sorted, 0, array, 0, array.length);
+        return array;
+    }
+
+    /**
+     * Counts the keys, long arrays with a narrow range of keys are split into chunks
+     * which are counted in parallel into their own histograms and summed at the end
+     *
+     * @param keys The keys to be counted
+     * @param min The least possible key
+     * @param max The greatest possible key
+     * @return the frequencies, {@code count[key - min]}
+     */
+    private static int[] count(int[] keys, int min, int max) {
+        long range = (long) max - min + 1;
+        if (range < 1 || range > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Illegal range of keys: [" + min + ", " + max + "]");
+        }
+        int chunks = Math.min(ForkJoinPool.getCommonPoolParallelism(), keys.length / PARALLEL_THRESHOLD);
+        if (chunks <= 1 || range * KEYS_PER_COUNTER > keys.length / chunks) {
+            return count(keys, 0, keys.length, min, (int) range);
+        }
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> count(keys,
+                        (int) ((long) keys.length * chunk / chunks),
+                        (int) ((long) keys.length * (chunk + 1) / chunks),
+                        min, (int) range))
+                .reduce((left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        left[i] += right[i];
+                    }
+                    return left;
+                })
+                .get();
+    }
+
+    private static int[] count(int[] keys, int from, int to, int min, int range) {
+        int[] count = new int[range];
+        for (int i = from; i < to; i++) {
+            count[keys[i] - min]++;
+        }
+        return count;
+    }
+
     /**
      * Stream Counting Sort
      * The same as method {@link CountingSort#sort(List)} } but this method uses stream API
@@ -61,10 +180,10 @@ class CountingSort implements SortAlgorithm {
      **/
     private static <T extends Comparable<T>> List<T> streamSort(List<T> list) {
         return  list.stream()
-                .collect(toMap(k -> k, v -> 1, (v1, v2) -> v1 + v2, TreeMap::new))
-                .entrySet()
+                .collect(groupingBy(k -> k, TreeMap::new, toList()))
+                .values()
                 .stream()
-                .flatMap(entry -> IntStream.rangeClosed(1, entry.getValue()).mapToObj(t -> entry.getKey()))
+                .flatMap(List::stream)
                 .collect(toList());
     }
 
@@ -98,5 +217,30 @@ class CountingSort implements SortAlgorithm {
         System.out.println("After Sorting By Streams:");
         print(streamSort(unsortedStrings));
 
+        System.out.println("\n------------------------------\n");
+
+        // Bounded int Input
+        int[] bounded = {4, -3, 6, 7, 1, 5, 2, 1, 9, -3, 9, 0};
+        countingSort.sortInRange(bounded, -3, 9);
+
+        //Output => [-3, -3, 0, 1, 1, 2, 4, 5, 6, 7, 9, 9]
+        System.out.println("After Sorting In Range:");
+        System.out.println(Arrays.toString(bounded));
+
+        // Objects By Key Input
+        String[] byLength = {"ccc", "a", "bb", "b", "aaa", "c"};
+        countingSort.sortInRange(byLength, String::length, 1, 3);
+
+        //Output => [a, b, c, bb, ccc, aaa]
+        System.out.println("After Sorting By Length:");
+        System.out.println(Arrays.toString(byLength));
+
+        // Equal Keys Of Different Objects Input
+        String[] equalLengths = {"bb", "a", "cc", "b"};
+        countingSort.sort(equalLengths, Comparator.comparingInt(String::length));
+
+        //Output => [a, b, bb, cc]
+        System.out.println("After Sorting By Comparator:");
+        System.out.println(Arrays.toString(equalLengths));
     }
 }
@@ -1,16 +1,17 @@
 package Sorts;
 
-import static Sorts.SortUtils.less;
-import static Sorts.SortUtils.print;
+import java.util.Comparator;
+
+import static Sorts.SortUtils.*;
 
 /**
  *  @author Podshivalov Nikita (https://github.com/nikitap492)
  */
-class CycleSort implements SortAlgorithm {
+class CycleSort implements SortAlgorithm, PrimitiveSortAlgorithm {
 
 
     @Override
-    public <T extends Comparable<T>> T[] sort(T[] arr) {
+    public <T> T[] sort(T[] arr, Comparator<? super T> comparator) {
         int n = arr.length;
 
         // traverse array elements
@@ -21,13 +22,13 @@ class CycleSort implements SortAlgorithm {
             // Find position where we put the item.
             int pos = j;
             for (int i = j + 1; i < n; i++)
-                if (less(arr[i], item)) pos++;
+                if (less(comparator, arr[i], item)) pos++;
 
             // If item is already in correct position
             if (pos == j)  continue;
 
             // ignore all duplicate elements
-            while (item.compareTo(arr[pos]) == 0)
+            while (compare(comparator, item, arr[pos]) == 0)
                 pos += 1;
 
             // put the item to it's right position
@@ -41,13 +42,13 @@ class CycleSort implements SortAlgorithm {
 
                 // Find position where we put the element
                 for (int i = j + 1; i < n; i++)
-                    if (less(arr[i], item)){
+                    if (less(comparator, arr[i], item)){
                         pos += 1;
                     }
 
 
                 // ignore all duplicate elements
-                while (item.compareTo(arr[pos]) == 0)
+                while (compare(comparator, item, arr[pos]) == 0)
                     pos += 1;
 
                 // put the item to it's right position
@@ -60,13 +61,133 @@ class CycleSort implements SortAlgorithm {
         return arr;
     }
 
-    private <T extends Comparable<T>> T replace(T[] arr, int pos, T item){
+    private <T> T replace(T[] arr, int pos, T item){
         T temp = item;
         item = arr[pos];
         arr[pos] = temp;
         return item;
     }
 
+    @Override
+    public int[] sort(int[] arr, int from, int to) {
+        checkRange(arr.length, from, to);
+        for (int j = from; j <= to - 2; j++) {
+            int item = arr[j];
+
+            int pos = j;
+            for (int i = j + 1; i < to; i++)
+                if (arr[i] < item) pos++;
+
+            if (pos == j)  continue;
+
+            while (item == arr[pos])
+                pos += 1;
+
+            int displaced = arr[pos];
+            arr[pos] = item;
+            item = displaced;
+
+            while (pos != j) {
+                pos = j;
+
+                for (int i = j + 1; i < to; i++)
+                    if (arr[i] < item) {
+                        pos += 1;
+                    }
+
+                while (item == arr[pos])
+                    pos += 1;
+
+                if (item != arr[pos]) {
+                    displaced = arr[pos];
+                    arr[pos] = item;
+                    item = displaced;
+                }
+            }
+        }
+        return arr;
+    }
+
+    @Override
+    public long[] sort(long[] arr, int from, int to) {
+        checkRange(arr.length, from, to);
+        for (int j = from; j <= to - 2; j++) {
+            long item = arr[j];
+
+            int pos = j;
+            for (int i = j + 1; i < to; i++)
+                if (arr[i] < item) pos++;
+
+            if (pos == j)  continue;
+
+            while (item == arr[pos])
+                pos += 1;
+
+            long displaced = arr[pos];
+            arr[pos] = item;
+            item = displaced;
+
+            while (pos != j) {
+                pos = j;
+
+                for (int i = j + 1; i < to; i++)
+                    if (arr[i] < item) {
+                        pos += 1;
+                    }
+
+                while (item == arr[pos])
+                    pos += 1;
+
+                if (item != arr[pos]) {
+                    displaced = arr[pos];
+                    arr[pos] = item;
+                    item = displaced;
+                }
+            }
+        }
+        return arr;
+    }
+
+    @Override
+    public double[] sort(double[] arr, int from, int to) {
+        checkRange(arr.length, from, to);
+        for (int j = from; j <= to - 2; j++) {
+            double item = arr[j];
+
+            int pos = j;
+            for (int i = j + 1; i < to; i++)
+                if (less(arr[i], item)) pos++;
+
+            if (pos == j)  continue;
+
+            while (Double.compare(item, arr[pos]) == 0)
+                pos += 1;
+
+            double displaced = arr[pos];
+            arr[pos] = item;
+            item = displaced;
+
+            while (pos != j) {
+                pos = j;
+
+                for (int i = j + 1; i < to; i++)
+                    if (less(arr[i], item)) {
+                        pos += 1;
+                    }
+
+                while (Double.compare(item, arr[pos]) == 0)
+                    pos += 1;
+
+                if (Double.compare(item, arr[pos]) != 0) {
+                    displaced = arr[pos];
+                    arr[pos] = item;
+                    item = displaced;
+                }
+            }
+        }
+        return arr;
+    }
+
 
 
     public static void main(String[] args) {
@@ -0,0 +1,353 @@
+package Sorts;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * External Merge Sort of a file with fixed-width records which doesn't fit in memory
+ *
+ * The file is read in chunks of the memory budget, every chunk is decoded,
+ * sorted by the {@link ParallelMergeSort} and written to a temporary file (a run).
+ * Then the runs are merged by a heap of their first records, at most fan-in runs at a time,
+ * until only one file is left.
+ *
+ * Performance O(n log n) comparisons, O(n log_k (n / m)) records read and written,
+ * where m is the number of records in memory and k is the fan-in
+ *
+ * The sort is stable
+ *
+ * @see MergeSort
+ * @see ParallelMergeSort
+ *
+ */
+public class ExternalMergeSort<T extends Comparable<T>> {
+
+    /**
+     * Converts records to fixed-width bytes and back
+     */
+    public interface RecordCodec<T> {
+
+        /**
+         * @return the number of bytes of every record
+         */
+        int recordSize();
+
+        /**
+         * Writes exactly {@link #recordSize()} bytes of the record to the buffer
+         */
+        void write(T record, ByteBuffer buffer);
+
+        /**
+         * Reads exactly {@link #recordSize()} bytes of a record from the buffer
+         */
+        T read(ByteBuffer buffer);
+    }
+
+    /**
+     * The longest run, the length of the largest array
+     */
+    private static final int MAX_RUN_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * The largest read or write buffer, larger buffers don't make the reads faster
+     * and a direct buffer can't take more than 2 GiB
+     */
+    private static final int MAX_BUFFER_SIZE = 1 << 26;
+
+    private final RecordCodec<T> codec;
+    private final int runLength;
+    private final int fanIn;
+    private final Path tempDirectory;
+    private final ParallelMergeSort runSort = new ParallelMergeSort();
+
+    /**
+     * @param codec converts records to bytes and back
+     * @param memoryBudget how many bytes of encoded records are sorted in memory at once,
+     *                     the decoded records take more heap depending on their class.
+     *                     A run takes at most {@code Integer.MAX_VALUE - 8} records, the length of the largest array,
+     *                     and it is read and written through buffers of at most 64 MiB
+     * @param fanIn how many runs are merged at once, at least 2
+     * @param tempDirectory where the runs are written
+     */
+    public ExternalMergeSort(RecordCodec<T> codec, long memoryBudget, int fanIn, Path tempDirectory) {
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("The fan-in should be at least 2: " + fanIn);
+        }
+        long runLength = memoryBudget / codec.recordSize();
+        if (runLength < 1) {
+            throw new IllegalArgumentException("Illegal memory budget: " + memoryBudget);
+        }
+        this.codec = codec;
+        this.runLength = (int) Math.min(runLength, MAX_RUN_LENGTH);
+        this.fanIn = fanIn;
+        this.tempDirectory = tempDirectory;
+    }
+
+    public ExternalMergeSort(RecordCodec<T> codec, long memoryBudget, int fanIn) {
+        this(codec, memoryBudget, fanIn, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Sorts the records of the input file and writes them to the output file
+     *
+     * @param input the file with records, its size should be a multiple of the record size
+     * @param output the file for the sorted records, it is overwritten
+     */
+    public void sort(Path input, Path output) throws IOException {
+        List<Path> temporary = new ArrayList<>();
+        try {
+            List<Path> runs = createRuns(input, temporary);
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    Path run = createTempFile(temporary);
+                    merge(group, run);
+                    for (Path sorted : group) {
+                        Files.delete(sorted);
+                    }
+                    merged.add(run);
+                }
+                runs = merged;
+            }
+            merge(runs, output);
+        } finally {
+            for (Path run : temporary) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Splits the input into sorted runs of at most runLength records
+     */
+    private List<Path> createRuns(Path input, List<Path> temporary) throws IOException {
+        int recordSize = codec.recordSize();
+        List<Path> runs = new ArrayList<>();
+        try (FileChannel in = FileChannel.open(input, READ)) {
+            if (in.size() % recordSize != 0) {
+                throw new IOException("The size of " + input + " is not a multiple of " + recordSize);
+            }
+            long recordCount = in.size() / recordSize;
+            int length = (int) Math.min(runLength, recordCount);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize(length, recordSize));
+            // the arrays are reused by all runs of full length
+            @SuppressWarnings("unchecked")
+            T[] records = (T[]) new Comparable<?>[length];
+            @SuppressWarnings("unchecked")
+            T[] scratch = (T[]) new Comparable<?>[length];
+
+            for (long remaining = recordCount; remaining > 0; ) {
+                int count = (int) Math.min(length, remaining);
+                T[] run = count == length ? records : Arrays.copyOf(records, count);
+                buffer.limit(0);
+                for (int i = 0; i < count; i++) {
+                    if (!buffer.hasRemaining()) {
+                        // the buffer never takes the records of the next run, so it is empty after the run
+                        readFully(in, buffer, (long) (count - i) * recordSize);
+                    }
+                    run[i] = codec.read(buffer);
+                }
+                remaining -= count;
+                runSort.sort(run, scratch);
+
+                buffer.clear();
+                Path file = createTempFile(temporary);
+                try (FileChannel out = FileChannel.open(file, WRITE)) {
+                    for (int i = 0; i < count; i++) {
+                        if (buffer.remaining() < recordSize) {
+                            buffer.flip();
+                            writeFully(out, buffer);
+                            buffer.clear();
+                        }
+                        codec.write(run[i], buffer);
+                    }
+                    buffer.flip();
+                    writeFully(out, buffer);
+                }
+                runs.add(file);
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * @return the size of a buffer of whole records, at most the records and at most {@link #MAX_BUFFER_SIZE}
+     * unless a record is larger
+     */
+    private static int bufferSize(long records, int recordSize) {
+        return (int) Math.min(records, Math.max(1, MAX_BUFFER_SIZE / recordSize)) * recordSize;
+    }
+
+    /**
+     * K-way merge of sorted runs, every run gets an equal part of the memory budget for its buffer
+     */
+    private void merge(List<Path> runs, Path output) throws IOException {
+        int recordSize = codec.recordSize();
+        int bufferSize = bufferSize(Math.max(1, runLength / (runs.size() + 1)), recordSize);
+        PriorityQueue<RunReader> heap = new PriorityQueue<>(Math.max(1, runs.size()));
+        try (FileChannel out = FileChannel.open(output, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            for (int i = 0; i < runs.size(); i++) {
+                RunReader reader = new RunReader(runs.get(i), i, bufferSize);
+                if (reader.advance()) {
+                    heap.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+            while (!heap.isEmpty()) {
+                RunReader reader = heap.poll();
+                if (buffer.remaining() < recordSize) {
+                    buffer.flip();
+                    writeFully(out, buffer);
+                    buffer.clear();
+                }
+                codec.write(reader.head, buffer);
+                if (reader.advance()) {
+                    heap.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            buffer.flip();
+            writeFully(out, buffer);
+        } finally {
+            for (RunReader reader : heap) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Reads a run through a buffer and keeps its current record
+     */
+    private final class RunReader implements Comparable<RunReader>, Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int index;
+        private T head;
+
+        RunReader(Path run, int index, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(run, READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.index = index;
+            buffer.flip();
+        }
+
+        /**
+         * Moves to the next record
+         * @return false if the run is over
+         */
+        boolean advance() throws IOException {
+            if (!buffer.hasRemaining() && readFully(channel, buffer) == 0) {
+                head = null;
+                return false;
+            }
+            head = codec.read(buffer);
+            return true;
+        }
+
+        @Override
+        public int compareTo(RunReader other) {
+            int cmp = head.compareTo(other.head);
+            // the earlier run goes first, so the merge is stable
+            return cmp != 0 ? cmp : Integer.compare(index, other.index);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private Path createTempFile(List<Path> temporary) throws IOException {
+        Path file = Files.createTempFile(tempDirectory, "run", ".tmp");
+        temporary.add(file);
+        return file;
+    }
+
+    /**
+     * Fills the buffer from the channel until it is full or the channel is over
+     * @return the number of bytes in the buffer, it is ready to be read
+     */
+    private static int readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        return readFully(channel, buffer, buffer.capacity());
+    }
+
+    /**
+     * The same as {@link #readFully(FileChannel, ByteBuffer)} but reads at most the given number of bytes
+     */
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long bytes) throws IOException {
+        buffer.clear();
+        buffer.limit((int) Math.min(buffer.capacity(), bytes));
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading
+        }
+        buffer.flip();
+        return buffer.remaining();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Driver program
+    public static void main(String[] args) throws IOException {
+        RecordCodec<Integer> codec = new RecordCodec<Integer>() {
+            @Override
+            public int recordSize() {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void write(Integer record, ByteBuffer buffer) {
+                buffer.putInt(record);
+            }
+
+            @Override
+            public Integer read(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+
+        int size = 1_000_000;
+        Random random = new Random();
+        ByteBuffer data = ByteBuffer.allocate(size * Integer.BYTES);
+        for (int i = 0; i < size; i++) {
+            data.putInt(random.nextInt());
+        }
+        Path input = Files.createTempFile("unsorted", ".bin");
+        Path output = Files.createTempFile("sorted", ".bin");
+        Files.write(input, data.array());
+
+        // 64 KB of records in memory, 16 runs are merged at once
+        new ExternalMergeSort<>(codec, 1 << 16, 16).sort(input, output);
+
+        ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(output));
+        boolean isSorted = true;
+        for (int i = 1; i < size; i++) {
+            isSorted &= sorted.getInt((i - 1) * Integer.BYTES) <= sorted.getInt(i * Integer.BYTES);
+        }
+        // Output => Sorted 1000000 records: true
+        System.out.println("Sorted " + sorted.capacity() / Integer.BYTES + " records: " + isSorted);
+
+        Files.delete(input);
+        Files.delete(output);
+    }
+}
@@ -1,5 +1,7 @@
 package Sorts;
 
+import java.util.Comparator;
+
 import static Sorts.SortUtils.*;
 
 /**
@@ -9,21 +11,66 @@ import static Sorts.SortUtils.*;
  * @since 2018-04-10
  *
  **/
-public class GnomeSort implements SortAlgorithm{
+public class GnomeSort implements SortAlgorithm, PrimitiveSortAlgorithm {
 
     @Override
-    public <T extends Comparable<T>> T[] sort(T[] arr) {
+    public <T> T[] sort(T[] arr, Comparator<? super T> comparator) {
         int i = 1;
         int j = 2;
         while (i < arr.length){
-            if ( less(arr[i - 1], arr[i]) )  i = j++;
+            if ( less(comparator, arr[i - 1], arr[i]) )  i = j++;
             else {
                 swap(arr, i - 1, i);
                 if (--i == 0){ i = j++; }
             }
         }
 
-        return null;
+        return arr;
+    }
+
+    @Override
+    public int[] sort(int[] arr, int from, int to) {
+        checkRange(arr.length, from, to);
+        int i = from + 1;
+        int j = from + 2;
+        while (i < to){
+            if ( arr[i] >= arr[i - 1] )  i = j++;
+            else {
+                swap(arr, i - 1, i);
+                if (--i == from){ i = j++; }
+            }
+        }
+        return arr;
+    }
+
+    @Override
+    public long[] sort(long[] arr, int from, int to) {
+        checkRange(arr.length, from, to);
+        int i = from + 1;
+        int j = from + 2;
+        while (i < to){
+            if ( arr[i] >= arr[i - 1] )  i = j++;
+            else {
+                swap(arr, i - 1, i);
+                if (--i == from){ i = j++; }
+            }
+        }
+        return arr;
+    }
+
+    @Override
+    public double[] sort(double[] arr, int from, int to) {
+        checkRange(arr.length, from, to);
+        int i = from + 1;
+        int j = from + 2;
+        while (i < to){
+            if ( !less(arr[i], arr[i - 1]) )  i = j++;
+            else {
+                swap(arr, i - 1, i);
+                if (--i == from){ i = j++; }
+            }
+        }
+        return arr;
     }
 
     public static void main(String[] args) {
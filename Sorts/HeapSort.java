@@ -1,120 +1,429 @@
 package Sorts;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Comparator;
 
 import static Sorts.SortUtils.*;
 
 /**
  * Heap Sort Algorithm
- * Implements MinHeap
+ *
+ * The array is turned into a max heap in place, then the maximum is swapped to the end
+ * of the heap again and again, so the heap shrinks while the sorted part grows.
+ *
+ * The extraction is the bottom-up variant of Floyd: the textbook sift-down compares the moved element
+ * with the greater child on every level, although it almost always sinks to the bottom again.
+ * The bottom-up sift-down only follows the greater children down to a leaf, one comparison per level,
+ * and then climbs back up to the place of the element, which is usually a level or two.
+ * That gives about n log n + O(n) comparisons instead of 2 n log n.
+ *
+ * The heap is binary by default. A 4-ary heap has half of the levels and the four children of a node
+ * are next to each other in memory, so it has fewer cache misses on large arrays,
+ * at the price of three comparisons per level.
+ *
+ * Worst-case performance O(n log n)
+ * Best-case performance O(n log n)
+ * Worst-case space complexity O(1)
  *
  * @author Podshivalov Nikita (https://github.com/nikitap492)
  *
+ * @see QuickSort
+ * @see Selection
+ * @see SortAlgorithm
+ *
  */
-public class HeapSort implements SortAlgorithm {
-
-
-    private static class Heap<T extends Comparable<T>> {
-        /** Array to store heap */
-        private T[] heap;
-
-        /**
-         * Constructor
-         *
-         * @param heap array of unordered integers
-         */
-        public Heap(T[] heap) {
-            this.heap = heap;
-        }
-
-        /**
-         * Heapifies subtree from top as root to last as last child
-         *
-         * @param rootIndex index of root
-         * @param lastChild index of last child
-         */
-        private void heapSubtree(int rootIndex, int lastChild) {
-            int leftIndex = rootIndex * 2 + 1;
-            int rightIndex = rootIndex * 2 + 2;
-            T root = heap[rootIndex];
-            if (rightIndex <= lastChild) { // if has right and left children
-                T left = heap[leftIndex];
-                T right = heap[rightIndex];
-                if (less(left, right) && less(left, root)) {
-                    swap(heap, leftIndex, rootIndex);
-                    heapSubtree(leftIndex, lastChild);
-                } else if (less(right, root)) {
-                    swap(heap, rightIndex, rootIndex);
-                    heapSubtree(rightIndex, lastChild);
+public class HeapSort implements SortAlgorithm, PrimitiveSortAlgorithm {
+
+    /**
+     * Every node of the heap has {@code 2^shift} children
+     */
+    private final int shift;
+
+    public HeapSort() {
+        this(2);
+    }
+
+    /**
+     * @param arity the number of children of every node of the heap, a power of two,
+     *              4 is better for large arrays
+     */
+    public HeapSort(int arity) {
+        if (arity < 2 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException("arity(" + arity + ") is not a power of two greater than 1");
+        }
+        this.shift = Integer.numberOfTrailingZeros(arity);
+    }
+
+    @Override
+    public <T> T[] sort(T[] unsorted, Comparator<? super T> comparator) {
+        heapSort(unsorted, 0, unsorted.length, shift, comparator);
+        return unsorted;
+    }
+
+    /**
+     * In-place heap sort of {@code [from, to)} using a binary max heap.
+     * The other sorts use it as a fallback for a part of an array
+     */
+    static <T> void heapSort(T[] array, int from, int to, Comparator<? super T> comparator) {
+        heapSort(array, from, to, 1, comparator);
+    }
+
+    /**
+     * In-place heap sort of {@code [from, to)} using a max heap with {@code 2^shift} children per node
+     */
+    static <T> void heapSort(T[] array, int from, int to, int shift, Comparator<? super T> comparator) {
+        int size = to - from;
+        if (size < 2) {
+            return;
+        }
+        for (int root = (size - 2) >> shift; root >= 0; root--) {
+            siftDown(array, from, root, size, shift, comparator);
+        }
+        while (size > 1) {
+            T value = array[from + --size];
+            array[from + size] = array[from];
+            siftDownBottomUp(array, from, value, size, shift, comparator);
+        }
+    }
+
+    /**
+     * Moves the root of a binary max heap stored at {@code heap[offset .. offset + size)} down to its place
+     *
+     * @param heap the array with the heap
+     * @param offset index of the first element of the heap
+     * @param root index of the root relative to offset
+     * @param size the size of the heap
+     */
+    static <T> void siftDown(T[] heap, int offset, int root, int size, Comparator<? super T> comparator) {
+        siftDown(heap, offset, root, size, 1, comparator);
+    }
+
+    private static <T> void siftDown(T[] heap, int offset, int root, int size, int shift, Comparator<? super T> comparator) {
+        T value = heap[offset + root];
+        // the last node with a child, checked before shifting so the index can't overflow
+        int lastParent = (size - 2) >> shift;
+        while (root <= lastParent) {
+            int child = (root << shift) + 1;
+            int last = child + Math.min(1 << shift, size - child);
+            for (int i = child + 1; i < last; i++) {
+                if (less(comparator, heap[offset + child], heap[offset + i])) {
+                    child = i;
                 }
-            } else if (leftIndex <= lastChild) { // if no right child, but has left child
-                T left = heap[leftIndex];
-                if (less(left, root)) {
-                    swap(heap, leftIndex, rootIndex);
-                    heapSubtree(leftIndex, lastChild);
+            }
+            if (!less(comparator, value, heap[offset + child])) {
+                break;
+            }
+            heap[offset + root] = heap[offset + child];
+            root = child;
+        }
+        heap[offset + root] = value;
+    }
+
+    /**
+     * Puts the value to the root of the heap, whose root has been removed:
+     * the hole at the root moves down along the greater children to a leaf,
+     * then the value climbs up from the leaf to its place
+     */
+    private static <T> void siftDownBottomUp(T[] heap, int offset, T value, int size, int shift, Comparator<? super T> comparator) {
+        int hole = 0;
+        // the last node with a child, checked before shifting so the index can't overflow
+        int lastParent = (size - 2) >> shift;
+        while (hole <= lastParent) {
+            int child = (hole << shift) + 1;
+            int last = child + Math.min(1 << shift, size - child);
+            for (int i = child + 1; i < last; i++) {
+                if (less(comparator, heap[offset + child], heap[offset + i])) {
+                    child = i;
                 }
             }
+            heap[offset + hole] = heap[offset + child];
+            hole = child;
+        }
+        while (hole > 0) {
+            int parent = (hole - 1) >>> shift;
+            if (!less(comparator, heap[offset + parent], value)) {
+                break;
+            }
+            heap[offset + hole] = heap[offset + parent];
+            hole = parent;
         }
+        heap[offset + hole] = value;
+    }
 
+    @Override
+    public int[] sort(int[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        heapSort(unsorted, from, to, shift);
+        return unsorted;
+    }
+
+    /**
+     * In-place heap sort of {@code [from, to)} using a binary max heap
+     */
+    static void heapSort(int[] array, int from, int to) {
+        heapSort(array, from, to, 1);
+    }
+
+    /**
+     * In-place heap sort of {@code [from, to)} using a max heap with {@code 2^shift} children per node
+     */
+    static void heapSort(int[] array, int from, int to, int shift) {
+        int size = to - from;
+        if (size <= SortingNetworks.MAX_SIZE) {
+            SortingNetworks.sort(array, from, to);
+            return;
+        }
+        for (int root = (size - 2) >> shift; root >= 0; root--) {
+            siftDown(array, from, root, size, shift);
+        }
+        while (size > 1) {
+            int value = array[from + --size];
+            array[from + size] = array[from];
+            siftDownBottomUp(array, from, value, size, shift);
+        }
+    }
+
+    /**
+     * Moves the root of a binary max heap stored at {@code heap[offset .. offset + size)} down to its place
+     *
+     * @param heap the array with the heap
+     * @param offset index of the first element of the heap
+     * @param root index of the root relative to offset
+     * @param size the size of the heap
+     */
+    static void siftDown(int[] heap, int offset, int root, int size) {
+        siftDown(heap, offset, root, size, 1);
+    }
 
-        /**
-         * Makes heap with root as root
-         *
-         * @param root index of root of heap
-         */
-        private void makeMinHeap(int root) {
-            int leftIndex = root * 2 + 1;
-            int rightIndex = root * 2 + 2;
-            boolean hasLeftChild = leftIndex < heap.length;
-            boolean hasRightChild = rightIndex < heap.length;
-            if (hasRightChild) { //if has left and right
-                makeMinHeap(leftIndex);
-                makeMinHeap(rightIndex);
-                heapSubtree(root, heap.length - 1);
-            } else if (hasLeftChild) {
-                heapSubtree(root, heap.length - 1);
+    private static void siftDown(int[] heap, int offset, int root, int size, int shift) {
+        int value = heap[offset + root];
+        // the last node with a child, checked before shifting so the index can't overflow
+        int lastParent = (size - 2) >> shift;
+        while (root <= lastParent) {
+            int child = (root << shift) + 1;
+            int last = child + Math.min(1 << shift, size - child);
+            for (int i = child + 1; i < last; i++) {
+                if (heap[offset + child] < heap[offset + i]) {
+                    child = i;
+                }
             }
+            if (value >= heap[offset + child]) {
+                break;
+            }
+            heap[offset + root] = heap[offset + child];
+            root = child;
         }
+        heap[offset + root] = value;
+    }
 
-        /**
-         * Gets the root of heap
-         *
-         * @return root of heap
-         */
-        private T getRoot(int size) {
-            swap(heap, 0, size);
-            heapSubtree(0, size - 1);
-            return heap[size]; // return old root
+    private static void siftDownBottomUp(int[] heap, int offset, int value, int size, int shift) {
+        int hole = 0;
+        // the last node with a child, checked before shifting so the index can't overflow
+        int lastParent = (size - 2) >> shift;
+        while (hole <= lastParent) {
+            int child = (hole << shift) + 1;
+            int last = child + Math.min(1 << shift, size - child);
+            for (int i = child + 1; i < last; i++) {
+                if (heap[offset + child] < heap[offset + i]) {
+                    child = i;
+                }
+            }
+            heap[offset + hole] = heap[offset + child];
+            hole = child;
+        }
+        while (hole > 0) {
+            int parent = (hole - 1) >>> shift;
+            if (heap[offset + parent] >= value) {
+                break;
+            }
+            heap[offset + hole] = heap[offset + parent];
+            hole = parent;
         }
+        heap[offset + hole] = value;
+    }
 
+    @Override
+    public long[] sort(long[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        heapSort(unsorted, from, to, shift);
+        return unsorted;
+    }
 
+    /**
+     * In-place heap sort of {@code [from, to)} using a binary max heap
+     */
+    static void heapSort(long[] array, int from, int to) {
+        heapSort(array, from, to, 1);
+    }
 
+    /**
+     * In-place heap sort of {@code [from, to)} using a max heap with {@code 2^shift} children per node
+     */
+    static void heapSort(long[] array, int from, int to, int shift) {
+        int size = to - from;
+        if (size <= SortingNetworks.MAX_SIZE) {
+            SortingNetworks.sort(array, from, to);
+            return;
+        }
+        for (int root = (size - 2) >> shift; root >= 0; root--) {
+            siftDown(array, from, root, size, shift);
+        }
+        while (size > 1) {
+            long value = array[from + --size];
+            array[from + size] = array[from];
+            siftDownBottomUp(array, from, value, size, shift);
+        }
+    }
 
+    /**
+     * Moves the root of a binary max heap stored at {@code heap[offset .. offset + size)} down to its place
+     *
+     * @param heap the array with the heap
+     * @param offset index of the first element of the heap
+     * @param root index of the root relative to offset
+     * @param size the size of the heap
+     */
+    static void siftDown(long[] heap, int offset, int root, int size) {
+        siftDown(heap, offset, root, size, 1);
+    }
 
+    private static void siftDown(long[] heap, int offset, int root, int size, int shift) {
+        long value = heap[offset + root];
+        // the last node with a child, checked before shifting so the index can't overflow
+        int lastParent = (size - 2) >> shift;
+        while (root <= lastParent) {
+            int child = (root << shift) + 1;
+            int last = child + Math.min(1 << shift, size - child);
+            for (int i = child + 1; i < last; i++) {
+                if (heap[offset + child] < heap[offset + i]) {
+                    child = i;
+                }
+            }
+            if (value >= heap[offset + child]) {
+                break;
+            }
+            heap[offset + root] = heap[offset + child];
+            root = child;
+        }
+        heap[offset + root] = value;
     }
 
-    @Override
-    public <T extends Comparable<T>> T[] sort(T[] unsorted) {
-       return sort(Arrays.asList(unsorted)).toArray(unsorted);
+    private static void siftDownBottomUp(long[] heap, int offset, long value, int size, int shift) {
+        int hole = 0;
+        // the last node with a child, checked before shifting so the index can't overflow
+        int lastParent = (size - 2) >> shift;
+        while (hole <= lastParent) {
+            int child = (hole << shift) + 1;
+            int last = child + Math.min(1 << shift, size - child);
+            for (int i = child + 1; i < last; i++) {
+                if (heap[offset + child] < heap[offset + i]) {
+                    child = i;
+                }
+            }
+            heap[offset + hole] = heap[offset + child];
+            hole = child;
+        }
+        while (hole > 0) {
+            int parent = (hole - 1) >>> shift;
+            if (heap[offset + parent] >= value) {
+                break;
+            }
+            heap[offset + hole] = heap[offset + parent];
+            hole = parent;
+        }
+        heap[offset + hole] = value;
     }
 
     @Override
-    public <T extends Comparable<T>> List<T> sort(List<T> unsorted) {
-        int size = unsorted.size();
+    public double[] sort(double[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        heapSort(unsorted, from, to, shift);
+        return unsorted;
+    }
 
-        @SuppressWarnings("unchecked")
-        Heap<T> heap = new Heap<>(unsorted.toArray((T[]) new Comparable[unsorted.size()]));
+    /**
+     * In-place heap sort of {@code [from, to)} using a binary max heap
+     */
+    static void heapSort(double[] array, int from, int to) {
+        heapSort(array, from, to, 1);
+    }
 
-        heap.makeMinHeap(0); // make min heap using index 0 as root.
-        List<T> sorted =  new ArrayList<>(size);
-        while (size > 0) {
-            T min = heap.getRoot(--size);
-            sorted.add(min);
+    /**
+     * In-place heap sort of {@code [from, to)} using a max heap with {@code 2^shift} children per node
+     */
+    static void heapSort(double[] array, int from, int to, int shift) {
+        int size = to - from;
+        if (size <= SortingNetworks.MAX_SIZE) {
+            SortingNetworks.sort(array, from, to);
+            return;
+        }
+        for (int root = (size - 2) >> shift; root >= 0; root--) {
+            siftDown(array, from, root, size, shift);
         }
+        while (size > 1) {
+            double value = array[from + --size];
+            array[from + size] = array[from];
+            siftDownBottomUp(array, from, value, size, shift);
+        }
+    }
 
-        return sorted;
+    /**
+     * Moves the root of a binary max heap stored at {@code heap[offset .. offset + size)} down to its place
+     *
+     * @param heap the array with the heap
+     * @param offset index of the first element of the heap
+     * @param root index of the root relative to offset
+     * @param size the size of the heap
+     */
+    static void siftDown(double[] heap, int offset, int root, int size) {
+        siftDown(heap, offset, root, size, 1);
+    }
+
+    private static void siftDown(double[] heap, int offset, int root, int size, int shift) {
+        double value = heap[offset + root];
+        // the last node with a child, checked before shifting so the index can't overflow
+        int lastParent = (size - 2) >> shift;
+        while (root <= lastParent) {
+            int child = (root << shift) + 1;
+            int last = child + Math.min(1 << shift, size - child);
+            for (int i = child + 1; i < last; i++) {
+                if (less(heap[offset + child], heap[offset + i])) {
+                    child = i;
+                }
+            }
+            if (!less(value, heap[offset + child])) {
+                break;
+            }
+            heap[offset + root] = heap[offset + child];
+            root = child;
+        }
+        heap[offset + root] = value;
+    }
+
+    private static void siftDownBottomUp(double[] heap, int offset, double value, int size, int shift) {
+        int hole = 0;
+        // the last node with a child, checked before shifting so the index can't overflow
+        int lastParent = (size - 2) >> shift;
+        while (hole <= lastParent) {
+            int child = (hole << shift) + 1;
+            int last = child + Math.min(1 << shift, size - child);
+            for (int i = child + 1; i < last; i++) {
+                if (less(heap[offset + child], heap[offset + i])) {
+                    child = i;
+                }
+            }
+            heap[offset + hole] = heap[offset + child];
+            hole = child;
+        }
+        while (hole > 0) {
+            int parent = (hole - 1) >>> shift;
+            if (!less(heap[offset + parent], value)) {
+                break;
+            }
+            heap[offset + hole] = heap[offset + parent];
+            hole = parent;
+        }
+        heap[offset + hole] = value;
     }
 
     /**
@@ -125,7 +434,14 @@ public class HeapSort implements SortAlgorithm {
     public static void main(String[] args) {
         Integer[] heap = {4, 23, 6, 78, 1, 54, 231, 9, 12};
         HeapSort heapSort = new HeapSort();
+
+        // Output => [1, 4, 6, 9, 12, 23, 54, 78, 231]
         print(heapSort.sort(heap));
+
+        long[] primitives = {4, 23, 6, 78, 1, 54, 231, 9, 12};
+
+        // Output => [1, 4, 6, 9, 12, 23, 54, 78, 231]
+        System.out.println(Arrays.toString(new HeapSort(4).sort(primitives)));
     }
 
 }
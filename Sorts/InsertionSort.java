@@ -1,7 +1,9 @@
 package Sorts;
 
-import static Sorts.SortUtils.less;
-import static Sorts.SortUtils.print;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static Sorts.SortUtils.*;
 
 /**
  *
@@ -10,34 +12,103 @@ import static Sorts.SortUtils.print;
  *
  */
 
-class InsertionSort implements SortAlgorithm {
+class InsertionSort implements SortAlgorithm, PrimitiveSortAlgorithm {
 
     /**
      * This method implements the Generic Insertion Sort
      * Sorts the array in increasing order
      *
      * @param array The array to be sorted
+     * @param comparator The order of the elements
      *
      **/
 
     @Override
-    public <T extends Comparable<T>> T[] sort(T[] array) {
-        for (int j = 1; j < array.length; j++) {
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator) {
+        insertionSort(array, 0, array.length, comparator);
+        return array;
+    }
+
+    /**
+     * Sorts {@code [from, to)} of the array,
+     * the recursive sorts use it for small parts
+     */
+    static <T> void insertionSort(T[] array, int from, int to, Comparator<? super T> comparator) {
+        for (int j = from + 1; j < to; j++) {
 
             // Picking up the key(Card)
             T key = array[j];
             int i = j - 1;
 
-            while (i >= 0 && less(key, array[i])) {
+            while (i >= from && less(comparator, key, array[i])) {
                 array[i + 1] = array[i];
                 i--;
             }
             // Placing the key (Card) at its correct position in the sorted subarray
             array[i + 1] = key;
         }
+    }
+
+    @Override
+    public int[] sort(int[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        insertionSort(array, from, to);
         return array;
     }
 
+    static void insertionSort(int[] array, int from, int to) {
+        for (int j = from + 1; j < to; j++) {
+            int key = array[j];
+            int i = j - 1;
+
+            while (i >= from && key < array[i]) {
+                array[i + 1] = array[i];
+                i--;
+            }
+            array[i + 1] = key;
+        }
+    }
+
+    @Override
+    public long[] sort(long[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        insertionSort(array, from, to);
+        return array;
+    }
+
+    static void insertionSort(long[] array, int from, int to) {
+        for (int j = from + 1; j < to; j++) {
+            long key = array[j];
+            int i = j - 1;
+
+            while (i >= from && key < array[i]) {
+                array[i + 1] = array[i];
+                i--;
+            }
+            array[i + 1] = key;
+        }
+    }
+
+    @Override
+    public double[] sort(double[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        insertionSort(array, from, to);
+        return array;
+    }
+
+    static void insertionSort(double[] array, int from, int to) {
+        for (int j = from + 1; j < to; j++) {
+            double key = array[j];
+            int i = j - 1;
+
+            while (i >= from && less(key, array[i])) {
+                array[i + 1] = array[i];
+                i--;
+            }
+            array[i + 1] = key;
+        }
+    }
+
     // Driver Program
     public static void main(String[] args) {
         // Integer Input
@@ -57,5 +128,11 @@ class InsertionSort implements SortAlgorithm {
 
         //Output => a	b	c	d	e
         print(strings);
+
+        // Primitive Input
+        int[] primitives = {4, 23, 6, 78, 1, 54, 231, 9, 12};
+
+        // Output => [1, 4, 6, 9, 12, 23, 54, 78, 231]
+        System.out.println(Arrays.toString(sort.sort(primitives)));
     }
 }
@@ -0,0 +1,124 @@
+package Sorts;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static Sorts.SortUtils.Counters;
+import static Sorts.SortUtils.INSTRUMENTED;
+
+/**
+ * A decorator of a {@link SortAlgorithm} which records what every call to the sort did
+ *
+ * The elapsed time is always measured. The comparisons and swaps made through {@link SortUtils}
+ * and the recursion depth are counted only when the JVM is started with {@code -DSorts.instrumented=true},
+ * otherwise they are zeros and the sorts run without any counting code.
+ * Only the work of the calling thread is counted, the tasks of {@link ParallelMergeSort} in a pool are not.
+ *
+ * The metrics of the last call of the current thread are in {@link #lastMetrics()},
+ * the totals of all calls are in {@link #snapshot()}.
+ *
+ * @see SortMetrics
+ * @see SortAlgorithm
+ *
+ */
+public class InstrumentedSort implements SortAlgorithm {
+
+    private final SortAlgorithm delegate;
+    private final ThreadLocal<SortMetrics> last = new ThreadLocal<>();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder elements = new LongAdder();
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAccumulator maxRecursionDepth = new LongAccumulator(Math::max, 0);
+    private final LongAdder elapsedNanos = new LongAdder();
+
+    public InstrumentedSort(SortAlgorithm delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public <T> T[] sort(T[] unsorted, Comparator<? super T> comparator) {
+        return measure(unsorted.length, () -> delegate.sort(unsorted, comparator));
+    }
+
+    /**
+     * The counters of the thread are read before and after the sort and not reset,
+     * so a sort which is itself measured by an outer {@link InstrumentedSort} still counts the inner one
+     */
+    private <R> R measure(int length, Supplier<R> sort) {
+        if (!INSTRUMENTED) {
+            long start = System.nanoTime();
+            R sorted = sort.get();
+            record(new SortMetrics(1, length, 0, 0, 0, System.nanoTime() - start));
+            return sorted;
+        }
+
+        Counters counters = Counters.current();
+        long comparisons = counters.comparisons;
+        long swaps = counters.swaps;
+        int depth = counters.depth;
+        int maxDepth = counters.maxDepth;
+        // the deepest recursion of this sort alone, counted from the depth it was called at
+        counters.maxDepth = depth;
+
+        R sorted;
+        long elapsed;
+        int sortDepth;
+        long start = System.nanoTime();
+        try {
+            sorted = sort.get();
+        } finally {
+            elapsed = System.nanoTime() - start;
+            sortDepth = counters.maxDepth - depth;
+            counters.maxDepth = Math.max(maxDepth, counters.maxDepth);
+        }
+
+        record(new SortMetrics(1, length, counters.comparisons - comparisons, counters.swaps - swaps, sortDepth, elapsed));
+        return sorted;
+    }
+
+    private void record(SortMetrics metrics) {
+        last.set(metrics);
+        calls.increment();
+        elements.add(metrics.getElements());
+        comparisons.add(metrics.getComparisons());
+        swaps.add(metrics.getSwaps());
+        maxRecursionDepth.accumulate(metrics.getMaxRecursionDepth());
+        elapsedNanos.add(metrics.getElapsedNanos());
+    }
+
+    /**
+     * @return the metrics of the last sort of the current thread or null if it didn't sort yet
+     */
+    public SortMetrics lastMetrics() {
+        return last.get();
+    }
+
+    /**
+     * @return the totals of all sorts, the recursion depth is the maximum of all sorts
+     */
+    public SortMetrics snapshot() {
+        return new SortMetrics(calls.sum(), elements.sum(), comparisons.sum(), swaps.sum(),
+                (int) maxRecursionDepth.get(), elapsedNanos.sum());
+    }
+
+    // Driver program, run with -DSorts.instrumented=true to see the counters
+    public static void main(String[] args) {
+        Integer[] integers = {4, 23, 6, 78, 1, 54, 231, 9, 12, 3, 44, 17, 8, 90, 2, 61, 33, 5, 27, 70};
+
+        InstrumentedSort quickSort = new InstrumentedSort(new QuickSort());
+        InstrumentedSort mergeSort = new InstrumentedSort(new MergeSort());
+        quickSort.sort(integers.clone());
+        mergeSort.sort(integers.clone());
+
+        System.out.println("QuickSort: " + quickSort.lastMetrics());
+        System.out.println("MergeSort: " + mergeSort.lastMetrics());
+        System.out.println(Arrays.toString(mergeSort.sort(integers)));
+        System.out.println("MergeSort total: " + mergeSort.snapshot());
+    }
+}
@@ -0,0 +1,589 @@
+package Sorts;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.BaseStream;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static Sorts.SortUtils.*;
+
+/**
+ * K-way merge of sorted runs with a loser tree (tournament tree)
+ *
+ * The tree has a leaf for every run, which holds the next element of the run,
+ * and every inner node holds the run which lost the match played there.
+ * The winner of the whole tournament is the smallest element. After it is taken,
+ * the next element of its run replays only the matches on the path to the root,
+ * so every element costs about log2 k comparisons, half of what a binary heap needs.
+ *
+ * The output is lazy: an element is read from a run only when the previous one of the run is taken,
+ * so besides the tree only one element of every run is held and the runs can be iterators over
+ * files or network shards. Equal elements come out in the order of the runs, so the merge is stable.
+ *
+ * Worst-case performance O(n log k), Worst-case space complexity O(k)
+ *
+ * @see MergeSort
+ * @see ExternalMergeSort
+ *
+ */
+public final class KWayMerge {
+
+    private KWayMerge() {
+    }
+
+    /**
+     * @param runs the sorted runs
+     * @return a lazy iterator over the merged runs
+     */
+    public static <T extends Comparable<? super T>> Iterator<T> merge(List<? extends Iterator<? extends T>> runs) {
+        return merge(runs, Comparator.naturalOrder());
+    }
+
+    /**
+     * @param runs the runs sorted by the comparator
+     * @param comparator the order of the elements
+     * @return a lazy iterator over the merged runs
+     */
+    public static <T> Iterator<T> merge(List<? extends Iterator<? extends T>> runs, Comparator<? super T> comparator) {
+        return new LoserTree<>(runs, comparator);
+    }
+
+    /**
+     * Merges the sorted arrays into the output
+     *
+     * @param runs the runs sorted by the comparator
+     * @param output the array for the result, at least as long as all runs together
+     * @param comparator the order of the elements
+     * @return the output
+     */
+    public static <T> T[] merge(T[][] runs, T[] output, Comparator<? super T> comparator) {
+        Iterator<T>[] iterators = iterators(runs.length);
+        int length = 0;
+        for (int i = 0; i < runs.length; i++) {
+            iterators[i] = Arrays.asList(runs[i]).iterator();
+            length += runs[i].length;
+        }
+        checkRange(output.length, 0, length);
+        Iterator<T> merged = merge(Arrays.asList(iterators), comparator);
+        for (int i = 0; merged.hasNext(); i++) {
+            output[i] = merged.next();
+        }
+        return output;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Iterator<T>[] iterators(int length) {
+        return (Iterator<T>[]) new Iterator<?>[length];
+    }
+
+    /**
+     * Closes all runs, even if some of them fail to close
+     */
+    private static void closeAll(BaseStream<?, ?>[] runs) {
+        RuntimeException failure = null;
+        for (BaseStream<?, ?> run : runs) {
+            try {
+                run.close();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static final class LoserTree<T> implements Iterator<T> {
+
+        private final Iterator<? extends T>[] runs;
+        private final Comparator<? super T> comparator;
+        private final Object[] heads;
+        private final boolean[] exhausted;
+
+        /**
+         * tree[0] is the winner, tree[1 .. k) are the losers of the inner nodes,
+         * the leaf of the run r is the node k + r
+         */
+        private final int[] tree;
+
+        LoserTree(List<? extends Iterator<? extends T>> runs, Comparator<? super T> comparator) {
+            int k = runs.size();
+            @SuppressWarnings("unchecked")
+            Iterator<? extends T>[] iterators = (Iterator<? extends T>[]) runs.toArray(new Iterator<?>[0]);
+            this.runs = iterators;
+            this.comparator = comparator;
+            this.heads = new Object[k];
+            this.exhausted = new boolean[k];
+            this.tree = new int[Math.max(k, 1)];
+            for (int run = 0; run < k; run++) {
+                advance(run);
+            }
+            if (k > 0) {
+                tree[0] = build(1);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return heads.length > 0 && !exhausted[tree[0]];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int winner = tree[0];
+            T value = (T) heads[winner];
+            advance(winner);
+            replay(winner);
+            return value;
+        }
+
+        private void advance(int run) {
+            if (runs[run].hasNext()) {
+                heads[run] = runs[run].next();
+            } else {
+                heads[run] = null;
+                exhausted[run] = true;
+            }
+        }
+
+        /**
+         * Plays the matches of the subtree
+         *
+         * @return the winner of the subtree
+         */
+        private int build(int node) {
+            int k = heads.length;
+            if (node >= k) {
+                return node - k;
+            }
+            int left = build(2 * node);
+            int right = build(2 * node + 1);
+            if (beats(left, right)) {
+                tree[node] = right;
+                return left;
+            }
+            tree[node] = left;
+            return right;
+        }
+
+        /**
+         * Replays the matches from the leaf of the run to the root
+         */
+        private void replay(int run) {
+            int winner = run;
+            for (int node = (heads.length + run) >>> 1; node > 0; node >>>= 1) {
+                if (beats(tree[node], winner)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        /**
+         * An exhausted run loses every match, equal elements are won by the earlier run
+         */
+        @SuppressWarnings("unchecked")
+        private boolean beats(int a, int b) {
+            if (exhausted[a] || exhausted[b]) {
+                return !exhausted[a];
+            }
+            int cmp = compare(comparator, (T) heads[a], (T) heads[b]);
+            return cmp < 0 || (cmp == 0 && a < b);
+        }
+    }
+
+    /**
+     * Merges the sorted arrays into a new array
+     *
+     * @param runs the sorted runs
+     * @return the merged runs
+     */
+    public static int[] merge(int[]... runs) {
+        int length = 0;
+        PrimitiveIterator.OfInt[] iterators = new PrimitiveIterator.OfInt[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            iterators[i] = Arrays.stream(runs[i]).iterator();
+            length += runs[i].length;
+        }
+        int[] output = new int[length];
+        IntLoserTree merged = new IntLoserTree(iterators);
+        for (int i = 0; i < length; i++) {
+            output[i] = merged.nextInt();
+        }
+        return output;
+    }
+
+    /**
+     * Merges the sorted streams lazily, closing the result closes all runs
+     *
+     * @param runs the sorted runs
+     * @return the merged runs
+     */
+    public static IntStream merge(IntStream... runs) {
+        PrimitiveIterator.OfInt[] iterators = new PrimitiveIterator.OfInt[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            iterators[i] = runs[i].iterator();
+        }
+        Spliterator.OfInt spliterator = Spliterators.spliteratorUnknownSize(new IntLoserTree(iterators),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL);
+        return StreamSupport.intStream(spliterator, false).onClose(() -> closeAll(runs));
+    }
+
+    private static final class IntLoserTree implements PrimitiveIterator.OfInt {
+
+        private final PrimitiveIterator.OfInt[] runs;
+        private final int[] heads;
+        private final boolean[] exhausted;
+        private final int[] tree;
+
+        IntLoserTree(PrimitiveIterator.OfInt[] runs) {
+            int k = runs.length;
+            this.runs = runs;
+            this.heads = new int[k];
+            this.exhausted = new boolean[k];
+            this.tree = new int[Math.max(k, 1)];
+            for (int run = 0; run < k; run++) {
+                advance(run);
+            }
+            if (k > 0) {
+                tree[0] = build(1);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return heads.length > 0 && !exhausted[tree[0]];
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int winner = tree[0];
+            int value = heads[winner];
+            advance(winner);
+            replay(winner);
+            return value;
+        }
+
+        private void advance(int run) {
+            if (runs[run].hasNext()) {
+                heads[run] = runs[run].nextInt();
+            } else {
+                exhausted[run] = true;
+            }
+        }
+
+        private int build(int node) {
+            int k = heads.length;
+            if (node >= k) {
+                return node - k;
+            }
+            int left = build(2 * node);
+            int right = build(2 * node + 1);
+            if (beats(left, right)) {
+                tree[node] = right;
+                return left;
+            }
+            tree[node] = left;
+            return right;
+        }
+
+        private void replay(int run) {
+            int winner = run;
+            for (int node = (heads.length + run) >>> 1; node > 0; node >>>= 1) {
+                if (beats(tree[node], winner)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        private boolean beats(int a, int b) {
+            if (exhausted[a] || exhausted[b]) {
+                return !exhausted[a];
+            }
+            return heads[a] < heads[b] || (!(heads[b] < heads[a]) && a < b);
+        }
+    }
+
+    /**
+     * Merges the sorted arrays into a new array
+     *
+     * @param runs the sorted runs
+     * @return the merged runs
+     */
+    public static long[] merge(long[]... runs) {
+        int length = 0;
+        PrimitiveIterator.OfLong[] iterators = new PrimitiveIterator.OfLong[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            iterators[i] = Arrays.stream(runs[i]).iterator();
+            length += runs[i].length;
+        }
+        long[] output = new long[length];
+        LongLoserTree merged = new LongLoserTree(iterators);
+        for (int i = 0; i < length; i++) {
+            output[i] = merged.nextLong();
+        }
+        return output;
+    }
+
+    /**
+     * Merges the sorted streams lazily, closing the result closes all runs
+     *
+     * @param runs the sorted runs
+     * @return the merged runs
+     */
+    public static LongStream merge(LongStream... runs) {
+        PrimitiveIterator.OfLong[] iterators = new PrimitiveIterator.OfLong[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            iterators[i] = runs[i].iterator();
+        }
+        Spliterator.OfLong spliterator = Spliterators.spliteratorUnknownSize(new LongLoserTree(iterators),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL);
+        return StreamSupport.longStream(spliterator, false).onClose(() -> closeAll(runs));
+    }
+
+    private static final class LongLoserTree implements PrimitiveIterator.OfLong {
+
+        private final PrimitiveIterator.OfLong[] runs;
+        private final long[] heads;
+        private final boolean[] exhausted;
+        private final int[] tree;
+
+        LongLoserTree(PrimitiveIterator.OfLong[] runs) {
+            int k = runs.length;
+            this.runs = runs;
+            this.heads = new long[k];
+            this.exhausted = new boolean[k];
+            this.tree = new int[Math.max(k, 1)];
+            for (int run = 0; run < k; run++) {
+                advance(run);
+            }
+            if (k > 0) {
+                tree[0] = build(1);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return heads.length > 0 && !exhausted[tree[0]];
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int winner = tree[0];
+            long value = heads[winner];
+            advance(winner);
+            replay(winner);
+            return value;
+        }
+
+        private void advance(int run) {
+            if (runs[run].hasNext()) {
+                heads[run] = runs[run].nextLong();
+            } else {
+                exhausted[run] = true;
+            }
+        }
+
+        private int build(int node) {
+            int k = heads.length;
+            if (node >= k) {
+                return node - k;
+            }
+            int left = build(2 * node);
+            int right = build(2 * node + 1);
+            if (beats(left, right)) {
+                tree[node] = right;
+                return left;
+            }
+            tree[node] = left;
+            return right;
+        }
+
+        private void replay(int run) {
+            int winner = run;
+            for (int node = (heads.length + run) >>> 1; node > 0; node >>>= 1) {
+                if (beats(tree[node], winner)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        private boolean beats(int a, int b) {
+            if (exhausted[a] || exhausted[b]) {
+                return !exhausted[a];
+            }
+            return heads[a] < heads[b] || (!(heads[b] < heads[a]) && a < b);
+        }
+    }
+
+    /**
+     * Merges the sorted arrays into a new array
+     *
+     * @param runs the sorted runs
+     * @return the merged runs
+     */
+    public static double[] merge(double[]... runs) {
+        int length = 0;
+        PrimitiveIterator.OfDouble[] iterators = new PrimitiveIterator.OfDouble[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            iterators[i] = Arrays.stream(runs[i]).iterator();
+            length += runs[i].length;
+        }
+        double[] output = new double[length];
+        DoubleLoserTree merged = new DoubleLoserTree(iterators);
+        for (int i = 0; i < length; i++) {
+            output[i] = merged.nextDouble();
+        }
+        return output;
+    }
+
+    /**
+     * Merges the sorted streams lazily, closing the result closes all runs
+     *
+     * @param runs the sorted runs
+     * @return the merged runs
+     */
+    public static DoubleStream merge(DoubleStream... runs) {
+        PrimitiveIterator.OfDouble[] iterators = new PrimitiveIterator.OfDouble[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            iterators[i] = runs[i].iterator();
+        }
+        Spliterator.OfDouble spliterator = Spliterators.spliteratorUnknownSize(new DoubleLoserTree(iterators),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL);
+        return StreamSupport.doubleStream(spliterator, false).onClose(() -> closeAll(runs));
+    }
+
+    private static final class DoubleLoserTree implements PrimitiveIterator.OfDouble {
+
+        private final PrimitiveIterator.OfDouble[] runs;
+        private final double[] heads;
+        private final boolean[] exhausted;
+        private final int[] tree;
+
+        DoubleLoserTree(PrimitiveIterator.OfDouble[] runs) {
+            int k = runs.length;
+            this.runs = runs;
+            this.heads = new double[k];
+            this.exhausted = new boolean[k];
+            this.tree = new int[Math.max(k, 1)];
+            for (int run = 0; run < k; run++) {
+                advance(run);
+            }
+            if (k > 0) {
+                tree[0] = build(1);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return heads.length > 0 && !exhausted[tree[0]];
+        }
+
+        @Override
+        public double nextDouble() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int winner = tree[0];
+            double value = heads[winner];
+            advance(winner);
+            replay(winner);
+            return value;
+        }
+
+        private void advance(int run) {
+            if (runs[run].hasNext()) {
+                heads[run] = runs[run].nextDouble();
+            } else {
+                exhausted[run] = true;
+            }
+        }
+
+        private int build(int node) {
+            int k = heads.length;
+            if (node >= k) {
+                return node - k;
+            }
+            int left = build(2 * node);
+            int right = build(2 * node + 1);
+            if (beats(left, right)) {
+                tree[node] = right;
+                return left;
+            }
+            tree[node] = left;
+            return right;
+        }
+
+        private void replay(int run) {
+            int winner = run;
+            for (int node = (heads.length + run) >>> 1; node > 0; node >>>= 1) {
+                if (beats(tree[node], winner)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        private boolean beats(int a, int b) {
+            if (exhausted[a] || exhausted[b]) {
+                return !exhausted[a];
+            }
+            return less(heads[a], heads[b]) || (!(less(heads[b], heads[a])) && a < b);
+        }
+    }
+
+    public static void main(String[] args) {
+        List<Iterator<String>> shards = Arrays.asList(
+                Arrays.asList("apple", "kiwi", "plum").iterator(),
+                Arrays.asList("banana", "cherry").iterator(),
+                Arrays.asList("fig", "grape", "lemon", "mango").iterator());
+        Iterator<String> merged = merge(shards);
+
+        // Output => apple banana cherry fig grape kiwi lemon mango plum
+        while (merged.hasNext()) {
+            System.out.print(merged.next() + " ");
+        }
+        System.out.println();
+
+        // Output => [1, 2, 3, 4, 5, 6, 7, 8, 9]
+        System.out.println(Arrays.toString(merge(new int[]{1, 4, 7}, new int[]{2, 5, 8}, new int[]{3, 6, 9})));
+
+        // Output => [1, 2, 3, 10, 20, 30]
+        try (LongStream stream = merge(LongStream.of(1, 10), LongStream.of(2, 20), LongStream.of(3, 30))) {
+            System.out.println(Arrays.toString(stream.toArray()));
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package Sorts;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static Sorts.SortUtils.*;
+
+/**
+ * MSD (most significant digit first) radix sort for strings
+ *
+ * The strings are distributed into buckets by their character at depth d,
+ * then every bucket is sorted by the characters from depth d + 1.
+ * Unlike the comparison sorts it never compares the common prefix of two strings again,
+ * which matters for keys sharing long prefixes (URLs, paths).
+ * - A part where all strings have the same character at depth d is not distributed,
+ *   the depth is just increased, so a long common prefix costs one scan per character
+ * - A part with only 8-bit characters at depth d is distributed into 256 buckets,
+ *   otherwise by the high byte first and then by the low byte of the character
+ * - Small parts are finished by an insertion sort comparing from depth d
+ *
+ * The sort is stable. Strings (and other {@link CharSequence}s) are compared by their UTF-16 chars,
+ * which is the natural order of {@link String}, byte arrays are compared as unsigned bytes.
+ *
+ * Worst-case performance O(N + total length of the distinguishing prefixes) character reads
+ * Worst-case space complexity O(n)
+ *
+ * @see ThreeWayStringQuickSort
+ * @see RadixSort
+ * @see SortAlgorithm
+ *
+ */
+public class MSDRadixSort implements SortAlgorithm {
+
+    /**
+     * Parts shorter than this are sorted by the insertion sort
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Buckets of one byte, bucket 0 holds the strings ending before the depth
+     */
+    private static final int RADIX = 256;
+
+    /**
+     * Strings and other comparable char sequences in their natural order are sorted by the MSD radix sort,
+     * any other array or order is sorted by the {@link MergeSort}, which is stable as well
+     */
+    @Override
+    public <T> T[] sort(T[] unsorted, Comparator<? super T> comparator) {
+        if (comparator == Comparator.naturalOrder() && unsorted instanceof CharSequence[]) {
+            sortChars((CharSequence[]) unsorted);
+            return unsorted;
+        }
+        return new MergeSort().sort(unsorted, comparator);
+    }
+
+    /**
+     * Sorts the char sequences lexicographically by their chars
+     *
+     * @param unsorted the array to be sorted
+     * @return the sorted array
+     */
+    public <T extends CharSequence> T[] sortChars(T[] unsorted) {
+        int n = unsorted.length;
+        sort(unsorted, 0, n - 1, 0, new Object[n], new int[n]);
+        return unsorted;
+    }
+
+    /**
+     * Sorts the byte arrays lexicographically by their unsigned bytes
+     *
+     * @param unsorted the array to be sorted
+     * @return the sorted array
+     */
+    public byte[][] sort(byte[][] unsorted) {
+        int n = unsorted.length;
+        sort(unsorted, 0, n - 1, 0, new byte[n][], new int[n]);
+        return unsorted;
+    }
+
+    /**
+     * Sorts {@code [lo, hi]}, all strings there are equal before depth d
+     *
+     * @param aux the buffer for the distribution
+     * @param chars the chars at depth d, -1 for the strings shorter than d + 1
+     */
+    private static <T extends CharSequence> void sort(T[] array, int lo, int hi, int d, Object[] aux, int[] chars) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            int min = Character.MAX_VALUE;
+            int max = -1;
+            for (int i = lo; i <= hi; i++) {
+                int c = charAt(array[i], d);
+                chars[i] = c;
+                min = Math.min(min, c);
+                max = Math.max(max, c);
+            }
+            if (max < 0) {
+                // all strings end here, they are equal
+                return;
+            }
+            if (min == max) {
+                // common prefix, nothing to distribute
+                d++;
+                continue;
+            }
+
+            enter();
+            if (max < RADIX) {
+                int[] count = distribute(array, lo, hi, aux, chars, 0);
+                for (int r = 1; r <= RADIX; r++) {
+                    sort(array, lo + count[r], lo + count[r + 1] - 1, d + 1, aux, chars);
+                }
+            } else {
+                int[] count = distribute(array, lo, hi, aux, chars, 8);
+                for (int r = 1; r <= RADIX; r++) {
+                    sortByLowByte(array, lo + count[r], lo + count[r + 1] - 1, d, aux, chars);
+                }
+            }
+            exit();
+            return;
+        }
+        insertionSort(array, lo, hi, d);
+    }
+
+    /**
+     * Sorts {@code [lo, hi]}, all strings there are equal before depth d
+     * and have the same high byte of the char at depth d
+     */
+    private static <T extends CharSequence> void sortByLowByte(T[] array, int lo, int hi, int d, Object[] aux, int[] chars) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertionSort(array, lo, hi, d);
+            return;
+        }
+        for (int i = lo; i <= hi; i++) {
+            chars[i] = charAt(array[i], d) & 0xFF;
+        }
+        enter();
+        int[] count = distribute(array, lo, hi, aux, chars, 0);
+        for (int r = 1; r <= RADIX; r++) {
+            sort(array, lo + count[r], lo + count[r + 1] - 1, d + 1, aux, chars);
+        }
+        exit();
+    }
+
+    /**
+     * Stable distribution of {@code [lo, hi]} into the buckets of the selected byte of the chars
+     *
+     * @param shift the position of the byte in the chars
+     * @return the bucket r is {@code [lo + count[r], lo + count[r + 1])}
+     */
+    private static <T> int[] distribute(T[] array, int lo, int hi, Object[] aux, int[] chars, int shift) {
+        int[] count = new int[RADIX + 2];
+        for (int i = lo; i <= hi; i++) {
+            count[bucket(chars[i], shift) + 1]++;
+        }
+        for (int r = 0; r <= RADIX; r++) {
+            count[r + 1] += count[r];
+        }
+        int[] next = count.clone();
+        for (int i = lo; i <= hi; i++) {
+            aux[next[bucket(chars[i], shift)]++] = array[i];
+        }
+        System.arraycopy(aux, 0, array, lo, hi - lo + 1);
+        return count;
+    }
+
+    private static int bucket(int c, int shift) {
+        return c < 0 ? 0 : ((c >>> shift) & 0xFF) + 1;
+    }
+
+    private static int charAt(CharSequence s, int d) {
+        return d < s.length() ? s.charAt(d) : -1;
+    }
+
+    private static <T extends CharSequence> void insertionSort(T[] array, int lo, int hi, int d) {
+        for (int j = lo + 1; j <= hi; j++) {
+            T key = array[j];
+            int i = j - 1;
+            while (i >= lo && less(key, array[i], d)) {
+                array[i + 1] = array[i];
+                i--;
+            }
+            array[i + 1] = key;
+        }
+    }
+
+    /**
+     * Compares two strings from depth d, the chars before d are known to be equal
+     */
+    private static boolean less(CharSequence v, CharSequence w, int d) {
+        int length = Math.min(v.length(), w.length());
+        for (int i = d; i < length; i++) {
+            char a = v.charAt(i);
+            char b = w.charAt(i);
+            if (a != b) {
+                return a < b;
+            }
+        }
+        return v.length() < w.length();
+    }
+
+    private static void sort(byte[][] array, int lo, int hi, int d, byte[][] aux, int[] bytes) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            int min = RADIX;
+            int max = -1;
+            for (int i = lo; i <= hi; i++) {
+                int b = byteAt(array[i], d);
+                bytes[i] = b;
+                min = Math.min(min, b);
+                max = Math.max(max, b);
+            }
+            if (max < 0) {
+                return;
+            }
+            if (min == max) {
+                d++;
+                continue;
+            }
+
+            enter();
+            int[] count = distribute(array, lo, hi, aux, bytes, 0);
+            for (int r = 1; r <= RADIX; r++) {
+                sort(array, lo + count[r], lo + count[r + 1] - 1, d + 1, aux, bytes);
+            }
+            exit();
+            return;
+        }
+        insertionSort(array, lo, hi, d);
+    }
+
+    private static int byteAt(byte[] s, int d) {
+        return d < s.length ? s[d] & 0xFF : -1;
+    }
+
+    private static void insertionSort(byte[][] array, int lo, int hi, int d) {
+        for (int j = lo + 1; j <= hi; j++) {
+            byte[] key = array[j];
+            int i = j - 1;
+            while (i >= lo && less(key, array[i], d)) {
+                array[i + 1] = array[i];
+                i--;
+            }
+            array[i + 1] = key;
+        }
+    }
+
+    private static boolean less(byte[] v, byte[] w, int d) {
+        return Arrays.compareUnsigned(v, Math.min(d, v.length), v.length, w, Math.min(d, w.length), w.length) < 0;
+    }
+
+    public static void main(String[] args) {
+        MSDRadixSort msdRadixSort = new MSDRadixSort();
+
+        String[] urls = {
+                "http://example.com/b", "http://example.com/a/2", "http://example.com/",
+                "http://example.com/a/1", "http://example.com/a", "http://example.org/"
+        };
+        msdRadixSort.sort(urls);
+
+        // Output => [http://example.com/, http://example.com/a, http://example.com/a/1,
+        //            http://example.com/a/2, http://example.com/b, http://example.org/]
+        System.out.println(Arrays.toString(urls));
+
+        StringBuilder[] builders = {new StringBuilder("she"), new StringBuilder("sells"), new StringBuilder("sea")};
+        msdRadixSort.sortChars(builders);
+
+        // Output => [sea, sells, she]
+        System.out.println(Arrays.toString(builders));
+
+        byte[][] keys = {{1, 2}, {(byte) 0xFF}, {1}, {}};
+        msdRadixSort.sort(keys);
+
+        // Output => [[], [1], [1, 2], [-1]]
+        System.out.println(Arrays.deepToString(keys));
+    }
+}
@@ -1,6 +1,9 @@
 package Sorts;
 
-import static Sorts.SortUtils.print;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static Sorts.SortUtils.*;
 
 /**
  * This method implements the Generic Merge Sort
@@ -11,23 +14,56 @@ import static Sorts.SortUtils.print;
  *
  *
  * @see SortAlgorithm
+ * @see ParallelMergeSort
+ * @see AdaptiveMergeSort
+ * @see SortingNetworks
+ * @see KWayMerge
  *
  */
 
-class MergeSort implements SortAlgorithm {
+class MergeSort implements SortAlgorithm, PrimitiveSortAlgorithm {
 
 
     /**
      * This method implements the Generic Merge Sort
      * @param unsorted the array which should be sorted
-     * @param <T> Comparable class
+     * @param comparator the order of the elements
+     * @param <T> the class of the elements
      * @return sorted array
      */
     @Override
     @SuppressWarnings("unchecked")
-    public <T extends Comparable<T>> T[] sort(T[] unsorted) {
-        T[] tmp = (T[]) new Comparable[unsorted.length];
-        doSort(unsorted, tmp, 0, unsorted.length - 1);
+    public <T> T[] sort(T[] unsorted, Comparator<? super T> comparator) {
+        T[] tmp = (T[]) new Object[unsorted.length];
+        doSort(unsorted, tmp, 0, unsorted.length - 1, comparator);
+        return unsorted;
+    }
+
+    /**
+     * The same as {@link MergeSort#sort(Comparable[])} but uses the buffer given by the caller,
+     * so repeated sorts with a pooled buffer don't allocate
+     * @param unsorted the array which should be sorted
+     * @param buffer the scratch array, it should be at least as long as the unsorted array
+     * @param <T> Comparable class
+     * @return sorted array
+     */
+    public <T extends Comparable<T>> T[] sort(T[] unsorted, T[] buffer) {
+        return sort(unsorted, buffer, Comparator.naturalOrder());
+    }
+
+    /**
+     * The same as {@link MergeSort#sort(Object[], Comparator)} but uses the buffer given by the caller
+     * @param unsorted the array which should be sorted
+     * @param buffer the scratch array, it should be at least as long as the unsorted array
+     * @param comparator the order of the elements
+     * @param <T> the class of the elements
+     * @return sorted array
+     */
+    public <T> T[] sort(T[] unsorted, T[] buffer, Comparator<? super T> comparator) {
+        if (buffer.length < unsorted.length) {
+            throw new IllegalArgumentException("The buffer is shorter than the array: " + buffer.length + " < " + unsorted.length);
+        }
+        doSort(unsorted, buffer, 0, unsorted.length - 1, comparator);
         return unsorted;
     }
 
@@ -37,14 +73,17 @@ class MergeSort implements SortAlgorithm {
      * @param temp The copy of the actual array
      * @param left The first index of the array
      * @param right The last index of the array
+     * @param comparator The order of the elements
      * Recursively sorts the array in increasing order
      **/
-    private  static <T extends Comparable<T>> void doSort(T[] arr, T[] temp, int left, int right) {
+    static <T> void doSort(T[] arr, T[] temp, int left, int right, Comparator<? super T> comparator) {
         if (left < right) {
+            enter();
             int mid = left + (right - left) / 2;
-            doSort(arr, temp, left, mid);
-            doSort(arr,  temp,mid + 1, right);
-            merge(arr, temp, left, mid, right);
+            doSort(arr, temp, left, mid, comparator);
+            doSort(arr,  temp,mid + 1, right, comparator);
+            merge(arr, temp, left, mid, right, comparator);
+            exit();
         }
 
     }
@@ -57,10 +96,11 @@ class MergeSort implements SortAlgorithm {
      * @param left The first index of the array
      * @param mid The middle index of the array
      * @param right The last index of the array
+     * @param comparator The order of the elements
      * merges two parts of an array in increasing order
      **/
 
-    private static <T extends Comparable<T>> void merge(T[] arr, T[] temp, int left, int mid, int right) {
+    private static <T> void merge(T[] arr, T[] temp, int left, int mid, int right, Comparator<? super T> comparator) {
         System.arraycopy(arr, left, temp, left, right - left + 1);
 
 
@@ -69,7 +109,7 @@ class MergeSort implements SortAlgorithm {
         int k = left;
 
         while (i <= mid && j <= right) {
-            if (temp[i].compareTo(temp[j]) <= 0) {
+            if (!less(comparator, temp[j], temp[i])) {
                 arr[k] = temp[i];
                 i++;
             }
@@ -93,6 +133,138 @@ class MergeSort implements SortAlgorithm {
 	}
     }
 
+    @Override
+    public int[] sort(int[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        int[] tmp = new int[(to - from + 1) / 2];
+        doSort(unsorted, tmp, from, to - 1);
+        return unsorted;
+    }
+
+    private static void doSort(int[] arr, int[] temp, int left, int right) {
+        if (right - left < SortingNetworks.MAX_SIZE) {
+            SortingNetworks.sort(arr, left, right + 1);
+        } else {
+            int mid = left + (right - left) / 2;
+            doSort(arr, temp, left, mid);
+            doSort(arr, temp, mid + 1, right);
+            merge(arr, temp, left, mid, right);
+        }
+    }
+
+    /**
+     * Only the left half is copied to the buffer,
+     * so the buffer has to hold half of the range
+     **/
+    private static void merge(int[] arr, int[] temp, int left, int mid, int right) {
+        int leftLength = mid - left + 1;
+        System.arraycopy(arr, left, temp, 0, leftLength);
+
+        int i = 0;
+        int j = mid + 1;
+        int k = left;
+
+        while (i < leftLength && j <= right) {
+            if (arr[j] < temp[i]) {
+                arr[k++] = arr[j++];
+            } else {
+                arr[k++] = temp[i++];
+            }
+        }
+
+        while (i < leftLength) {
+            arr[k++] = temp[i++];
+        }
+    }
+
+    @Override
+    public long[] sort(long[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        long[] tmp = new long[(to - from + 1) / 2];
+        doSort(unsorted, tmp, from, to - 1);
+        return unsorted;
+    }
+
+    private static void doSort(long[] arr, long[] temp, int left, int right) {
+        if (right - left < SortingNetworks.MAX_SIZE) {
+            SortingNetworks.sort(arr, left, right + 1);
+        } else {
+            int mid = left + (right - left) / 2;
+            doSort(arr, temp, left, mid);
+            doSort(arr, temp, mid + 1, right);
+            merge(arr, temp, left, mid, right);
+        }
+    }
+
+    /**
+     * Only the left half is copied to the buffer,
+     * so the buffer has to hold half of the range
+     **/
+    private static void merge(long[] arr, long[] temp, int left, int mid, int right) {
+        int leftLength = mid - left + 1;
+        System.arraycopy(arr, left, temp, 0, leftLength);
+
+        int i = 0;
+        int j = mid + 1;
+        int k = left;
+
+        while (i < leftLength && j <= right) {
+            if (arr[j] < temp[i]) {
+                arr[k++] = arr[j++];
+            } else {
+                arr[k++] = temp[i++];
+            }
+        }
+
+        while (i < leftLength) {
+            arr[k++] = temp[i++];
+        }
+    }
+
+    @Override
+    public double[] sort(double[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        double[] tmp = new double[(to - from + 1) / 2];
+        doSort(unsorted, tmp, from, to - 1);
+        return unsorted;
+    }
+
+    private static void doSort(double[] arr, double[] temp, int left, int right) {
+        if (right - left < SortingNetworks.MAX_SIZE) {
+            SortingNetworks.sort(arr, left, right + 1);
+        } else {
+            int mid = left + (right - left) / 2;
+            doSort(arr, temp, left, mid);
+            doSort(arr, temp, mid + 1, right);
+            merge(arr, temp, left, mid, right);
+        }
+    }
+
+    /**
+     * Only the left half is copied to the buffer,
+     * so the buffer has to hold half of the range
+     **/
+    private static void merge(double[] arr, double[] temp, int left, int mid, int right) {
+        int leftLength = mid - left + 1;
+        System.arraycopy(arr, left, temp, 0, leftLength);
+
+        int i = 0;
+        int j = mid + 1;
+        int k = left;
+
+        while (i < leftLength && j <= right) {
+            if (less(arr[j], temp[i])) {
+                arr[k++] = arr[j++];
+            } else {
+                arr[k++] = temp[i++];
+            }
+        }
+
+        while (i < leftLength) {
+            arr[k++] = temp[i++];
+        }
+    }
+
     // Driver program
     public static void main(String[] args) {
 
@@ -109,5 +281,11 @@ class MergeSort implements SortAlgorithm {
         mergeSort.sort(stringArray);
         //Output => a	b	c	d	e
         print(stringArray);
+
+        // Primitive Input
+        double[] doubles = {4.5, -23.0, 6.25, 78.0, 1.0, -0.0, 0.0};
+        mergeSort.sort(doubles);
+        //Output => [-23.0, -0.0, 0.0, 1.0, 4.5, 6.25, 78.0]
+        System.out.println(Arrays.toString(doubles));
     }
 }
@@ -1,5 +1,7 @@
 package Sorts;
 
+import java.util.Comparator;
+
 import static Sorts.SortUtils.*;
 
 /**
@@ -9,18 +11,18 @@ import static Sorts.SortUtils.*;
  * @since 2018-04-10
  *
  **/
-public class PancakeSort implements SortAlgorithm {
+public class PancakeSort implements SortAlgorithm, PrimitiveSortAlgorithm {
 
 
     @Override
-    public <T extends Comparable<T>> T[] sort(T[] array){
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator){
         int size = array.length;
 
         for (int i = 0; i < size; i++) {
             T max = array[0];
             int index = 0;
             for (int j = 0; j < size - i; j++) {
-                if ( less(max, array[j]) ) {
+                if ( less(comparator, max, array[j]) ) {
                     max = array[j];
                     index = j;
                 }
@@ -30,6 +32,63 @@ public class PancakeSort implements SortAlgorithm {
         return array;
     }
 
+    @Override
+    public int[] sort(int[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        int size = to - from;
+
+        for (int i = 0; i < size; i++) {
+            int max = array[from];
+            int index = from;
+            for (int j = from; j < to - i; j++) {
+                if ( max < array[j] ) {
+                    max = array[j];
+                    index = j;
+                }
+            }
+            flip(array, index, to - 1 - i);
+        }
+        return array;
+    }
+
+    @Override
+    public long[] sort(long[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        int size = to - from;
+
+        for (int i = 0; i < size; i++) {
+            long max = array[from];
+            int index = from;
+            for (int j = from; j < to - i; j++) {
+                if ( max < array[j] ) {
+                    max = array[j];
+                    index = j;
+                }
+            }
+            flip(array, index, to - 1 - i);
+        }
+        return array;
+    }
+
+    @Override
+    public double[] sort(double[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        int size = to - from;
+
+        for (int i = 0; i < size; i++) {
+            double max = array[from];
+            int index = from;
+            for (int j = from; j < to - i; j++) {
+                if ( less(max, array[j]) ) {
+                    max = array[j];
+                    index = j;
+                }
+            }
+            flip(array, index, to - 1 - i);
+        }
+        return array;
+    }
+
 
     public static void main(String[] args) {
 
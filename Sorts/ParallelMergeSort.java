@@ -0,0 +1,260 @@
+package Sorts;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+import static Sorts.SortUtils.less;
+
+/**
+ * Parallel version of the {@link MergeSort}
+ *
+ * The array is split into halves until a part is not longer than the granularity,
+ * the parts are sorted by the sequential merge sort in a {@link ForkJoinPool}.
+ * The merge is parallel too: the longer run is split at its middle element,
+ * the shorter run is split at the same key by a binary search,
+ * and the two pairs of halves are merged independently.
+ * The runs are merged back and forth between the array and the buffer, so there is no copying step.
+ *
+ * Worst-case performance O(n log n)
+ * Span O(log^3 n)
+ * Worst-case space complexity O(n)
+ *
+ * The sort is stable
+ *
+ * @see MergeSort
+ * @see SortAlgorithm
+ *
+ */
+public class ParallelMergeSort implements SortAlgorithm {
+
+    /**
+     * Parts not longer than this are sorted and merged sequentially
+     */
+    static final int DEFAULT_GRANULARITY = 1 << 13;
+
+    private final ForkJoinPool pool;
+    private final int granularity;
+
+    public ParallelMergeSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_GRANULARITY);
+    }
+
+    /**
+     * @param pool the pool which runs the tasks
+     * @param granularity the length of a part which is sorted and merged sequentially, at least 2
+     */
+    public ParallelMergeSort(ForkJoinPool pool, int granularity) {
+        if (granularity < 2) {
+            throw new IllegalArgumentException("The granularity should be at least 2: " + granularity);
+        }
+        this.pool = Objects.requireNonNull(pool);
+        this.granularity = granularity;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] sort(T[] unsorted, Comparator<? super T> comparator) {
+        return sort(unsorted, (T[]) new Object[unsorted.length], comparator);
+    }
+
+    /**
+     * Sorts the array using the buffer given by the caller,
+     * so repeated sorts with a pooled buffer don't allocate
+     *
+     * @param unsorted the array which should be sorted
+     * @param buffer the scratch array, it should be at least as long as the unsorted array
+     * @return sorted array
+     */
+    public <T extends Comparable<T>> T[] sort(T[] unsorted, T[] buffer) {
+        return sort(unsorted, buffer, Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorts the array in the order of the comparator using the buffer given by the caller
+     *
+     * @param unsorted the array which should be sorted
+     * @param buffer the scratch array, it should be at least as long as the unsorted array
+     * @param comparator the order of the elements
+     * @return sorted array
+     */
+    public <T> T[] sort(T[] unsorted, T[] buffer, Comparator<? super T> comparator) {
+        if (buffer.length < unsorted.length) {
+            throw new IllegalArgumentException("The buffer is shorter than the array: " + buffer.length + " < " + unsorted.length);
+        }
+        if (unsorted.length <= granularity) {
+            MergeSort.doSort(unsorted, buffer, 0, unsorted.length - 1, comparator);
+        } else {
+            pool.invoke(new SortTask<>(unsorted, buffer, 0, unsorted.length, false, comparator));
+        }
+        return unsorted;
+    }
+
+    /**
+     * Sorts {@code [from, to)} of the array and puts the result
+     * either to the array or to the same range of the buffer
+     */
+    private class SortTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] array;
+        private final T[] buffer;
+        private final int from;
+        private final int to;
+        private final boolean toBuffer;
+        private final Comparator<? super T> comparator;
+
+        SortTask(T[] array, T[] buffer, int from, int to, boolean toBuffer, Comparator<? super T> comparator) {
+            this.array = array;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.toBuffer = toBuffer;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= granularity) {
+                MergeSort.doSort(array, buffer, from, to - 1, comparator);
+                if (toBuffer) {
+                    System.arraycopy(array, from, buffer, from, to - from);
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            // the halves are sorted into the other array and merged back
+            invokeAll(
+                    new SortTask<>(array, buffer, from, mid, !toBuffer, comparator),
+                    new SortTask<>(array, buffer, mid, to, !toBuffer, comparator)
+            );
+
+            T[] src = toBuffer ? array : buffer;
+            T[] dst = toBuffer ? buffer : array;
+            new MergeTask<>(src, from, mid, mid, to, dst, from, comparator).compute();
+        }
+    }
+
+    /**
+     * Merges the sorted runs {@code src[leftFrom, leftTo)} and {@code src[rightFrom, rightTo)}
+     * into {@code dst} starting at {@code out}
+     */
+    private class MergeTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] src;
+        private final int leftFrom;
+        private final int leftTo;
+        private final int rightFrom;
+        private final int rightTo;
+        private final T[] dst;
+        private final int out;
+        private final Comparator<? super T> comparator;
+
+        MergeTask(T[] src, int leftFrom, int leftTo, int rightFrom, int rightTo, T[] dst, int out, Comparator<? super T> comparator) {
+            this.src = src;
+            this.leftFrom = leftFrom;
+            this.leftTo = leftTo;
+            this.rightFrom = rightFrom;
+            this.rightTo = rightTo;
+            this.dst = dst;
+            this.out = out;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = leftTo - leftFrom;
+            int rightLength = rightTo - rightFrom;
+            if (leftLength + rightLength <= granularity) {
+                merge(src, leftFrom, leftTo, rightFrom, rightTo, dst, out, comparator);
+                return;
+            }
+
+            int leftMid;
+            int rightMid;
+            if (leftLength >= rightLength) {
+                leftMid = (leftFrom + leftTo) >>> 1;
+                // equal keys of the right run go after the left ones
+                rightMid = lowerBound(src, rightFrom, rightTo, src[leftMid], comparator);
+            } else {
+                rightMid = (rightFrom + rightTo) >>> 1;
+                leftMid = upperBound(src, leftFrom, leftTo, src[rightMid], comparator);
+            }
+
+            int secondOut = out + (leftMid - leftFrom) + (rightMid - rightFrom);
+            invokeAll(
+                    new MergeTask<>(src, leftFrom, leftMid, rightFrom, rightMid, dst, out, comparator),
+                    new MergeTask<>(src, leftMid, leftTo, rightMid, rightTo, dst, secondOut, comparator)
+            );
+        }
+    }
+
+    /**
+     * Sequential stable merge of two sorted runs of src into dst
+     */
+    private static <T> void merge(T[] src, int leftFrom, int leftTo, int rightFrom, int rightTo, T[] dst, int out,
+                                  Comparator<? super T> comparator) {
+        while (leftFrom < leftTo && rightFrom < rightTo) {
+            if (less(comparator, src[rightFrom], src[leftFrom])) {
+                dst[out++] = src[rightFrom++];
+            } else {
+                dst[out++] = src[leftFrom++];
+            }
+        }
+        System.arraycopy(src, leftFrom, dst, out, leftTo - leftFrom);
+        System.arraycopy(src, rightFrom, dst, out + leftTo - leftFrom, rightTo - rightFrom);
+    }
+
+    /**
+     * @return the first index in {@code [from, to)} whose element is not less than the key
+     */
+    private static <T> int lowerBound(T[] array, int from, int to, T key, Comparator<? super T> comparator) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (less(comparator, array[mid], key)) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * @return the first index in {@code [from, to)} whose element is greater than the key
+     */
+    private static <T> int upperBound(T[] array, int from, int to, T key, Comparator<? super T> comparator) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (less(comparator, key, array[mid])) {
+                to = mid;
+            } else {
+                from = mid + 1;
+            }
+        }
+        return from;
+    }
+
+    // Driver program
+    public static void main(String[] args) {
+        Random random = new Random();
+        int size = 1_000_000;
+        Integer[] integers = Stream.generate(() -> random.nextInt(size)).limit(size).toArray(Integer[]::new);
+        Integer[] buffer = new Integer[size];
+
+        ParallelMergeSort sort = new ParallelMergeSort();
+        sort.sort(integers, buffer);
+
+        boolean sorted = true;
+        for (int i = 1; i < size; i++) {
+            sorted &= !less(integers[i], integers[i - 1]);
+        }
+        // Output => Sorted 1000000 elements: true
+        System.out.println("Sorted " + size + " elements: " + sorted);
+    }
+}
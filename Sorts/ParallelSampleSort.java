@@ -0,0 +1,193 @@
+package Sorts;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+import static Sorts.SortUtils.*;
+
+/**
+ * Parallel Sample Sort
+ *
+ * A random sample of the array is sorted and every k-th element of it becomes a splitter,
+ * the splitters divide the keys into buckets of about the same size.
+ * The array is split into blocks, every block is classified in parallel:
+ * the bucket of every element is found by a binary search over the splitters and the buckets are counted.
+ * The prefix sums of the counts give every block its own place in every bucket,
+ * so the blocks move their elements to the buffer in parallel without any locking.
+ * Finally every bucket is sorted by the {@link QuickSort} and copied back in parallel.
+ * There is no sequential merge at the end, the buckets are already in order.
+ *
+ * Average performance O(n log n) work, O(n / p + log n) span on p threads
+ * Worst-case space complexity O(n)
+ *
+ * @see QuickSort
+ * @see ParallelMergeSort
+ * @see SortAlgorithm
+ *
+ */
+public class ParallelSampleSort implements SortAlgorithm {
+
+    /**
+     * Arrays shorter than this are sorted by the sequential QuickSort
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    /**
+     * How many sample elements are taken for every bucket
+     */
+    private static final int OVERSAMPLING = 32;
+
+    private final ForkJoinPool pool;
+    private final int buckets;
+
+    public ParallelSampleSort() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool which classifies the elements and sorts the buckets
+     */
+    public ParallelSampleSort(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+        // more buckets than threads, so a thread which finished early takes another bucket
+        this.buckets = Math.max(2, pool.getParallelism() * 4);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] sort(T[] unsorted, Comparator<? super T> comparator) {
+        int length = unsorted.length;
+        if (length < SEQUENTIAL_THRESHOLD) {
+            QuickSort.quickSort(unsorted, 0, length, comparator);
+            return unsorted;
+        }
+
+        T[] splitters = chooseSplitters(unsorted, comparator);
+        int blocks = Math.min(buckets, length / (SEQUENTIAL_THRESHOLD / 4));
+        int[] bucketOf = new int[length];
+        int[][] counts = new int[blocks][buckets];
+
+        // classification: the bucket of every element and the counts of every block
+        parallelFor(blocks, block -> {
+            int[] count = counts[block];
+            for (int i = blockStart(block, blocks, length), end = blockStart(block + 1, blocks, length); i < end; i++) {
+                int bucket = bucketOf(unsorted[i], splitters, comparator);
+                bucketOf[i] = bucket;
+                count[bucket]++;
+            }
+        });
+
+        // counts[block][bucket] becomes the place of the block in the bucket
+        int[] bucketStart = new int[buckets + 1];
+        int position = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            bucketStart[bucket] = position;
+            for (int block = 0; block < blocks; block++) {
+                int count = counts[block][bucket];
+                counts[block][bucket] = position;
+                position += count;
+            }
+        }
+        bucketStart[buckets] = length;
+
+        T[] buffer = (T[]) new Object[length];
+        parallelFor(blocks, block -> {
+            int[] next = counts[block];
+            for (int i = blockStart(block, blocks, length), end = blockStart(block + 1, blocks, length); i < end; i++) {
+                buffer[next[bucketOf[i]]++] = unsorted[i];
+            }
+        });
+
+        parallelFor(buckets, bucket -> {
+            int from = bucketStart[bucket];
+            int to = bucketStart[bucket + 1];
+            QuickSort.quickSort(buffer, from, to, comparator);
+            System.arraycopy(buffer, from, unsorted, from, to - from);
+        });
+        return unsorted;
+    }
+
+    /**
+     * Sorts a random sample and takes every OVERSAMPLING-th element of it
+     *
+     * @return buckets - 1 sorted splitters
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T[] chooseSplitters(T[] array, Comparator<? super T> comparator) {
+        Random random = ThreadLocalRandom.current();
+        T[] sample = (T[]) new Object[buckets * OVERSAMPLING];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = array[random.nextInt(array.length)];
+        }
+        QuickSort.quickSort(sample, 0, sample.length, comparator);
+
+        T[] splitters = (T[]) new Object[buckets - 1];
+        for (int i = 0; i < splitters.length; i++) {
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+        }
+        return splitters;
+    }
+
+    /**
+     * @return the number of splitters which are less than the element
+     */
+    private static <T> int bucketOf(T element, T[] splitters, Comparator<? super T> comparator) {
+        int low = 0;
+        int high = splitters.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (less(comparator, splitters[mid], element)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int blockStart(int block, int blocks, int length) {
+        return (int) ((long) length * block / blocks);
+    }
+
+    /**
+     * Runs the body for every index from 0 to count in the pool and waits for all of them
+     */
+    private void parallelFor(int count, IntConsumer body) {
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    int index = i;
+                    tasks.add(ForkJoinTask.adapt(() -> body.accept(index)));
+                }
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    // Driver program
+    public static void main(String[] args) {
+        Random random = new Random();
+        int size = 1_000_000;
+        Integer[] integers = Stream.generate(() -> random.nextInt(size)).limit(size).toArray(Integer[]::new);
+
+        new ParallelSampleSort().sort(integers);
+
+        boolean sorted = true;
+        for (int i = 1; i < size; i++) {
+            sorted &= !less(integers[i], integers[i - 1]);
+        }
+        // Output => Sorted 1000000 elements: true
+        System.out.println("Sorted " + size + " elements: " + sorted);
+    }
+}
@@ -0,0 +1,41 @@
+package Sorts;
+
+/**
+ * The kernels of the primitive {@link QuickSort}, which can be replaced by a faster implementation
+ *
+ * The QuickSort loads the vectorized kernels of {@code Sorts.vector.VectorKernels} when they are on the class path
+ * and the JVM is started with {@code --add-modules jdk.incubator.vector},
+ * otherwise it uses its own scalar code.
+ *
+ * @see QuickSort
+ *
+ */
+public interface PartitionKernel {
+
+    /**
+     * Three-way partition of {@code [left, right]} around the pivot:
+     * {@code [left, lt) < pivot, [lt, gt] == pivot, (gt, right] > pivot}
+     *
+     * @param array The array to be partitioned
+     * @param left The first index of the part
+     * @param right The last index of the part
+     * @param pivotIndex The index of the pivot
+     * @return {@code {lt, gt}}
+     */
+    int[] partition(int[] array, int left, int right, int pivotIndex);
+
+    /**
+     * Same as {@link #partition(int[], int, int, int)} for longs
+     */
+    int[] partition(long[] array, int left, int right, int pivotIndex);
+
+    /**
+     * Sorts {@code [from, to)} of at most {@link SortingNetworks#MAX_SIZE} elements
+     */
+    void sortSmall(int[] array, int from, int to);
+
+    /**
+     * Sorts {@code [from, to)} of at most {@link SortingNetworks#MAX_SIZE} elements
+     */
+    void sortSmall(long[] array, int from, int to);
+}
@@ -0,0 +1,68 @@
+package Sorts;
+
+/**
+ *  The common interface of sorting algorithms which work with arrays of primitives.
+ *  Unlike {@link SortAlgorithm} it doesn't need to box the elements,
+ *  so large int/long/double arrays can be sorted without allocating a wrapper array
+ *
+ * @see SortAlgorithm
+ *
+ **/
+public interface PrimitiveSortAlgorithm {
+
+    /**
+     * Sorts the range {@code [from, to)} of an int array in increasing order
+     * @param unsorted - an array should be sorted
+     * @param from - the first index of the range, inclusive
+     * @param to - the last index of the range, exclusive
+     * @return the same array
+     */
+    int[] sort(int[] unsorted, int from, int to);
+
+    /**
+     * Sorts the range {@code [from, to)} of a long array in increasing order
+     * @param unsorted - an array should be sorted
+     * @param from - the first index of the range, inclusive
+     * @param to - the last index of the range, exclusive
+     * @return the same array
+     */
+    long[] sort(long[] unsorted, int from, int to);
+
+    /**
+     * Sorts the range {@code [from, to)} of a double array in increasing order.
+     * The order is the same as {@link Double#compare(double, double)}
+     * @param unsorted - an array should be sorted
+     * @param from - the first index of the range, inclusive
+     * @param to - the last index of the range, exclusive
+     * @return the same array
+     */
+    double[] sort(double[] unsorted, int from, int to);
+
+    /**
+     * Sorts an int array in increasing order
+     * @param unsorted - an array should be sorted
+     * @return the same array
+     */
+    default int[] sort(int[] unsorted) {
+        return sort(unsorted, 0, unsorted.length);
+    }
+
+    /**
+     * Sorts a long array in increasing order
+     * @param unsorted - an array should be sorted
+     * @return the same array
+     */
+    default long[] sort(long[] unsorted) {
+        return sort(unsorted, 0, unsorted.length);
+    }
+
+    /**
+     * Sorts a double array in increasing order
+     * @param unsorted - an array should be sorted
+     * @return the same array
+     */
+    default double[] sort(double[] unsorted) {
+        return sort(unsorted, 0, unsorted.length);
+    }
+
+}
@@ -1,78 +1,410 @@
 package Sorts;
 
+import java.util.Arrays;
+import java.util.Comparator;
+
 import static Sorts.SortUtils.*;
 
 /**
+ * Introspective Quick Sort
+ *
+ * The pivot is the median of three elements, or the ninther (median of three medians) for large parts.
+ * The partitioning is three-way, so the keys equal to the pivot are not touched again
+ * and arrays with many duplicates are sorted in linear time.
+ * The smaller part is sorted recursively and the larger one in a loop, so the stack depth is O(log n).
+ * Parts shorter than {@value #INSERTION_SORT_THRESHOLD} are finished by the insertion sort,
+ * and when the recursion is deeper than 2 * log n the part is sorted by the heap sort.
+ *
+ * Worst-case performance O(n log n)
+ * Best-case performance O(n)
+ * Average performance O(n log n)
+ * Worst-case space complexity O(log n)
  *
  * @author Varun Upadhyay (https://github.com/varunu28)
  * @author Podshivalov Nikita (https://github.com/nikitap492)
  *
  *
  * @see SortAlgorithm
+ * @see HeapSort
+ * @see InsertionSort
+ * @see SortingNetworks
  *
  */
-class QuickSort implements SortAlgorithm {
+class QuickSort implements SortAlgorithm, PrimitiveSortAlgorithm {
 
+    /**
+     * Parts shorter than this are sorted by the insertion sort,
+     * the primitive ones by the branchless {@link SortingNetworks#insertionSort(int[], int, int)}
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Parts longer than this use the ninther as the pivot
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * The vectorized kernels of the primitive sorts or null if they are not available
+     */
+    private static final PartitionKernel KERNEL = loadKernel();
 
 
     /**
      * This method implements the Generic Quick Sort
      *
      * @param array The array to be sorted
+     * @param comparator The order of the elements
      * Sorts the array in increasing order
      **/
 
     @Override
-    public <T extends Comparable<T>> T[] sort(T[] array) {
-        doSort(array, 0, array.length - 1);
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator) {
+        doSort(array, 0, array.length - 1, depthLimit(array.length), comparator);
         return array;
     }
 
+    /**
+     * Sorts {@code [from, to)} of the array, the other sorts use it for parts of an array
+     *
+     * @param array The array to be sorted
+     * @param from The first index of the part, inclusive
+     * @param to The last index of the part, exclusive
+     * @param comparator The order of the elements
+     */
+    static <T> void quickSort(T[] array, int from, int to, Comparator<? super T> comparator) {
+        doSort(array, from, to - 1, depthLimit(to - from), comparator);
+    }
+
+    /**
+     * Loads the vectorized kernels if the optional Sorts.vector module is on the class path
+     * and the jdk.incubator.vector module is added to the JVM
+     */
+    private static PartitionKernel loadKernel() {
+        try {
+            return (PartitionKernel) Class.forName("Sorts.vector.VectorKernels").getMethod("create").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param length the length of an array
+     * @return 2 * log2(length), the recursion depth after which the heap sort is used
+     */
+    static int depthLimit(int length) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(length, 1)));
+    }
 
     /**
      * The sorting process
      *
+     * @param array The array to be sorted
      * @param left The first index of an array
      * @param right The last index of an array
-     * @param array The array to be sorted
+     * @param depthLimit How many partitions can be done before falling back to the heap sort
+     * @param comparator The order of the elements
      *
      **/
 
-    private static <T extends Comparable<T>> void doSort(T[] array, int left, int right) {
-        if (left < right) {
-            int pivot = partition(array, left, right);
-            doSort(array, left, pivot - 1);
-            doSort(array, pivot , right);
+    private static <T> void doSort(T[] array, int left, int right, int depthLimit, Comparator<? super T> comparator) {
+        enter();
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                HeapSort.heapSort(array, left, right + 1, comparator);
+                exit();
+                return;
+            }
+
+            int[] bounds = partition(array, left, right, choosePivot(array, left, right, comparator), comparator);
+            int lt = bounds[0];
+            int gt = bounds[1];
+
+            if (lt - left < right - gt) {
+                doSort(array, left, lt - 1, depthLimit, comparator);
+                left = gt + 1;
+            } else {
+                doSort(array, gt + 1, right, depthLimit, comparator);
+                right = lt - 1;
+            }
         }
+        InsertionSort.insertionSort(array, left, right + 1, comparator);
+        exit();
     }
 
     /**
-     * This method finds the partition index for an array
+     * Three-way partition of a part of an array around the pivot:
+     * {@code [left, lt) < pivot, [lt, gt] == pivot, (gt, right] > pivot}
+     *
+     * @param array The array to be partitioned
+     * @param left The first index of the part
+     * @param right The last index of the part
+     * @param pivotIndex The index of the pivot
+     * @param comparator The order of the elements
+     * @return {@code {lt, gt}}, the first and the last index of the elements equal to the pivot
+     **/
+
+    static <T> int[] partition(T[] array, int left, int right, int pivotIndex, Comparator<? super T> comparator) {
+        swap(array, left, pivotIndex);
+        T pivot = array[left];
+
+        int lt = left;
+        int gt = right;
+        int i = left + 1;
+        while (i <= gt) {
+            int cmp = compare(comparator, array[i], pivot);
+            if (cmp < 0) {
+                swap(array, lt++, i++);
+            } else if (cmp > 0) {
+                swap(array, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        return new int[]{lt, gt};
+    }
+
+    /**
+     * This method finds the pivot for a part of an array
      *
      * @param array The array to be sorted
-     * @param left The first index of an array
-     * @param right The last index of an array
-     * Finds the partition index of an array
+     * @param left The first index of the part
+     * @param right The last index of the part
+     * @param comparator The order of the elements
+     * @return the index of the median of three, or of the ninther for large parts
      **/
 
-    private static <T extends Comparable<T>> int partition(T[] array, int left, int right) {
-        int mid = (left + right) / 2;
-        T pivot = array[mid];
+    static <T> int choosePivot(T[] array, int left, int right, Comparator<? super T> comparator) {
+        int mid = (left + right) >>> 1;
+        if (right - left < NINTHER_THRESHOLD) {
+            return median(array, left, mid, right, comparator);
+        }
+        int step = (right - left) / 8;
+        return median(array,
+                median(array, left, left + step, left + 2 * step, comparator),
+                median(array, mid - step, mid, mid + step, comparator),
+                median(array, right - 2 * step, right - step, right, comparator),
+                comparator);
+    }
+
+    /**
+     * @return the index of the median of three elements
+     */
+    private static <T> int median(T[] array, int a, int b, int c, Comparator<? super T> comparator) {
+        return less(comparator, array[a], array[b])
+                ? (less(comparator, array[b], array[c]) ? b : less(comparator, array[a], array[c]) ? c : a)
+                : (less(comparator, array[c], array[b]) ? b : less(comparator, array[c], array[a]) ? c : a);
+    }
+
+    @Override
+    public int[] sort(int[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        doSort(array, from, to - 1, depthLimit(to - from));
+        return array;
+    }
+
+    private static void doSort(int[] array, int left, int right, int depthLimit) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                HeapSort.heapSort(array, left, right + 1);
+                return;
+            }
+
+            int pivot = choosePivot(array, left, right);
+            int[] bounds = KERNEL != null
+                    ? KERNEL.partition(array, left, right, pivot)
+                    : partition(array, left, right, pivot);
+            int lt = bounds[0];
+            int gt = bounds[1];
+
+            if (lt - left < right - gt) {
+                doSort(array, left, lt - 1, depthLimit);
+                left = gt + 1;
+            } else {
+                doSort(array, gt + 1, right, depthLimit);
+                right = lt - 1;
+            }
+        }
+        if (KERNEL != null) {
+            KERNEL.sortSmall(array, left, right + 1);
+        } else {
+            SortingNetworks.insertionSort(array, left, right + 1);
+        }
+    }
+
+    static int[] partition(int[] array, int left, int right, int pivotIndex) {
+        swap(array, left, pivotIndex);
+        int pivot = array[left];
+
+        int lt = left;
+        int gt = right;
+        int i = left + 1;
+        while (i <= gt) {
+            if (array[i] < pivot) {
+                swap(array, lt++, i++);
+            } else if (pivot < array[i]) {
+                swap(array, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        return new int[]{lt, gt};
+    }
+
+    static int choosePivot(int[] array, int left, int right) {
+        int mid = (left + right) >>> 1;
+        if (right - left < NINTHER_THRESHOLD) {
+            return median(array, left, mid, right);
+        }
+        int step = (right - left) / 8;
+        return median(array,
+                median(array, left, left + step, left + 2 * step),
+                median(array, mid - step, mid, mid + step),
+                median(array, right - 2 * step, right - step, right));
+    }
+
+    private static int median(int[] array, int a, int b, int c) {
+        return array[a] < array[b]
+                ? (array[b] < array[c] ? b : array[a] < array[c] ? c : a)
+                : (array[c] < array[b] ? b : array[c] < array[a] ? c : a);
+    }
+
+    @Override
+    public long[] sort(long[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        doSort(array, from, to - 1, depthLimit(to - from));
+        return array;
+    }
 
-        while(left <= right) {
-            while(less(array[left], pivot)){
-                ++left;
+    private static void doSort(long[] array, int left, int right, int depthLimit) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                HeapSort.heapSort(array, left, right + 1);
+                return;
             }
-            while(less(pivot, array[right])) {
-                --right;
+
+            int pivot = choosePivot(array, left, right);
+            int[] bounds = KERNEL != null
+                    ? KERNEL.partition(array, left, right, pivot)
+                    : partition(array, left, right, pivot);
+            int lt = bounds[0];
+            int gt = bounds[1];
+
+            if (lt - left < right - gt) {
+                doSort(array, left, lt - 1, depthLimit);
+                left = gt + 1;
+            } else {
+                doSort(array, gt + 1, right, depthLimit);
+                right = lt - 1;
             }
-            if(left <= right) {
-                swap(array, left, right);
-                ++left;
-                --right;
+        }
+        if (KERNEL != null) {
+            KERNEL.sortSmall(array, left, right + 1);
+        } else {
+            SortingNetworks.insertionSort(array, left, right + 1);
+        }
+    }
+
+    static int[] partition(long[] array, int left, int right, int pivotIndex) {
+        swap(array, left, pivotIndex);
+        long pivot = array[left];
+
+        int lt = left;
+        int gt = right;
+        int i = left + 1;
+        while (i <= gt) {
+            if (array[i] < pivot) {
+                swap(array, lt++, i++);
+            } else if (pivot < array[i]) {
+                swap(array, i, gt--);
+            } else {
+                i++;
             }
         }
-        return left;
+        return new int[]{lt, gt};
+    }
+
+    static int choosePivot(long[] array, int left, int right) {
+        int mid = (left + right) >>> 1;
+        if (right - left < NINTHER_THRESHOLD) {
+            return median(array, left, mid, right);
+        }
+        int step = (right - left) / 8;
+        return median(array,
+                median(array, left, left + step, left + 2 * step),
+                median(array, mid - step, mid, mid + step),
+                median(array, right - 2 * step, right - step, right));
+    }
+
+    private static int median(long[] array, int a, int b, int c) {
+        return array[a] < array[b]
+                ? (array[b] < array[c] ? b : array[a] < array[c] ? c : a)
+                : (array[c] < array[b] ? b : array[c] < array[a] ? c : a);
+    }
+
+    @Override
+    public double[] sort(double[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        doSort(array, from, to - 1, depthLimit(to - from));
+        return array;
+    }
+
+    private static void doSort(double[] array, int left, int right, int depthLimit) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                HeapSort.heapSort(array, left, right + 1);
+                return;
+            }
+
+            int[] bounds = partition(array, left, right, choosePivot(array, left, right));
+            int lt = bounds[0];
+            int gt = bounds[1];
+
+            if (lt - left < right - gt) {
+                doSort(array, left, lt - 1, depthLimit);
+                left = gt + 1;
+            } else {
+                doSort(array, gt + 1, right, depthLimit);
+                right = lt - 1;
+            }
+        }
+        SortingNetworks.insertionSort(array, left, right + 1);
+    }
+
+    static int[] partition(double[] array, int left, int right, int pivotIndex) {
+        swap(array, left, pivotIndex);
+        double pivot = array[left];
+
+        int lt = left;
+        int gt = right;
+        int i = left + 1;
+        while (i <= gt) {
+            if (less(array[i], pivot)) {
+                swap(array, lt++, i++);
+            } else if (less(pivot, array[i])) {
+                swap(array, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        return new int[]{lt, gt};
+    }
+
+    static int choosePivot(double[] array, int left, int right) {
+        int mid = (left + right) >>> 1;
+        if (right - left < NINTHER_THRESHOLD) {
+            return median(array, left, mid, right);
+        }
+        int step = (right - left) / 8;
+        return median(array,
+                median(array, left, left + step, left + 2 * step),
+                median(array, mid - step, mid, mid + step),
+                median(array, right - 2 * step, right - step, right));
+    }
+
+    private static int median(double[] array, int a, int b, int c) {
+        return less(array[a], array[b])
+                ? (less(array[b], array[c]) ? b : less(array[a], array[c]) ? c : a)
+                : (less(array[c], array[b]) ? b : less(array[c], array[a]) ? c : a);
     }
 
     // Driver Program
@@ -82,7 +414,7 @@ class QuickSort implements SortAlgorithm {
         Integer[] array =  {3, 4, 1, 32, 0, 1, 5, 12 ,2, 5 ,7 ,8 ,9, 2, 44, 111, 5};
 
         QuickSort quickSort = new QuickSort();
-       // quickSort.sort(array);
+        quickSort.sort(array);
 
         //Output => 0 1 1 2 2 3 4 5 5 5 7 8 9 12 32 44 111
         print(array);
@@ -92,6 +424,13 @@ class QuickSort implements SortAlgorithm {
 
         //Output => a	b	c	d	e
         print(stringArray);
+
+        // For primitive input
+        int[] primitives = {3, 4, 1, 32, 0, 1, 5, 12, 2, 5, 7, 8, 9, 2, 44, 111, 5};
+        quickSort.sort(primitives);
+
+        //Output => [0, 1, 1, 2, 2, 3, 4, 5, 5, 5, 7, 8, 9, 12, 32, 44, 111]
+        System.out.println(Arrays.toString(primitives));
     }
 }
 
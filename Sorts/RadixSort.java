@@ -1,65 +1,351 @@
 package Sorts;
 
 import java.util.Arrays;
- 
-class RadixSort {
- 
-    
-    private static int getMax(int arr[], int n) {
-        int mx = arr[0];
-        for (int i = 1; i < n; i++)
-            if (arr[i] > mx)
-                mx = arr[i];
-        return mx;
-    }
-
-    private static void countSort(int arr[], int n, int exp)
-    {
-        int output[] = new int[n];
-        int i;
-        int count[] = new int[10];
-        Arrays.fill(count,0);
- 
-        for (i = 0; i < n; i++)
-            count[ (arr[i]/exp)%10 ]++;
- 
-        for (i = 1; i < 10; i++)
-            count[i] += count[i - 1];
- 
-        for (i = n - 1; i >= 0; i--)
-        {
-            output[count[ (arr[i]/exp)%10 ] - 1] = arr[i];
-            count[ (arr[i]/exp)%10 ]--;
-        }
- 
-        for (i = 0; i < n; i++)
-            arr[i] = output[i];
-    }
- 
-    private static void radixsort(int arr[], int n) {
-
-        int m = getMax(arr, n);
- 
-
-        for (int exp = 1; m/exp > 0; exp *= 10)
-            countSort(arr, n, exp);
-    }
- 
-
-    static void print(int arr[], int n)
-    {
-        for (int i=0; i<n; i++)
-            System.out.print(arr[i]+" ");
-    }
- 
-
-
-    public static void main (String[] args)
-    {
-        int arr[] = {170, 45, 75, 90, 802, 24, 2, 66};
-        int n = arr.length;
-        radixsort(arr, n);
-        print(arr, n);
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+import static Sorts.SortUtils.checkRange;
+
+/**
+ * LSD Radix Sort
+ *
+ * The keys are sorted byte by byte, from the least significant byte to the most significant one,
+ * every pass is a stable counting sort by one byte.
+ * The sign bit is flipped, so negative numbers go before positive ones.
+ * Floating point numbers are sorted by their bits: all bits of negative numbers are flipped too,
+ * which gives the same order as {@link Double#compare(double, double)}.
+ *
+ * The histograms of all bytes are computed in one read of the array,
+ * for large arrays the array is split into chunks which are counted in parallel.
+ * A pass is skipped when all keys have the same byte in it.
+ *
+ * Worst-case performance O(w * n), where w is the number of bytes of a key
+ * Worst-case space complexity O(n)
+ *
+ * The sort is stable
+ *
+ * @see CountingSort
+ * @see PrimitiveSortAlgorithm
+ *
+ */
+class RadixSort implements PrimitiveSortAlgorithm {
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int MASK = RADIX - 1;
+
+    /**
+     * Arrays longer than this are counted in parallel chunks of this size
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    @Override
+    public int[] sort(int[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        radixSort(unsorted, null, from, to);
+        return unsorted;
+    }
+
+    @Override
+    public long[] sort(long[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        radixSort(unsorted, null, from, to);
+        return unsorted;
+    }
+
+    @Override
+    public double[] sort(double[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        long[] keys = new long[to - from];
+        for (int i = from; i < to; i++) {
+            long bits = Double.doubleToLongBits(unsorted[i]);
+            // flip all bits of negative numbers, so the order of signed longs is right
+            keys[i - from] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        }
+        radixSort(keys, null, 0, keys.length);
+        for (int i = from; i < to; i++) {
+            long key = keys[i - from];
+            unsorted[i] = Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+        }
+        return unsorted;
+    }
+
+    /**
+     * Sorts the range {@code [from, to)} of a float array in increasing order.
+     * The order is the same as {@link Float#compare(float, float)}
+     * @param unsorted - an array should be sorted
+     * @param from - the first index of the range, inclusive
+     * @param to - the last index of the range, exclusive
+     * @return the same array
+     */
+    public float[] sort(float[] unsorted, int from, int to) {
+        checkRange(unsorted.length, from, to);
+        int[] keys = new int[to - from];
+        for (int i = from; i < to; i++) {
+            int bits = Float.floatToIntBits(unsorted[i]);
+            keys[i - from] = bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+        }
+        radixSort(keys, null, 0, keys.length);
+        for (int i = from; i < to; i++) {
+            int key = keys[i - from];
+            unsorted[i] = Float.intBitsToFloat(key ^ ((key >> 31) & Integer.MAX_VALUE));
+        }
+        return unsorted;
+    }
+
+    /**
+     * Sorts a float array in increasing order
+     * @param unsorted - an array should be sorted
+     * @return the same array
+     */
+    public float[] sort(float[] unsorted) {
+        return sort(unsorted, 0, unsorted.length);
+    }
+
+    /**
+     * Sorts objects by an int key.
+     * The keys are extracted once, then the keys and the objects are moved together,
+     * so the sort compares ints instead of calling the accessor. The sort is stable
+     *
+     * @param unsorted - an array should be sorted
+     * @param key - extracts the key of an object
+     * @return the same array
+     */
+    public static <T> T[] sortByInt(T[] unsorted, ToIntFunction<? super T> key) {
+        int[] keys = new int[unsorted.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.applyAsInt(unsorted[i]);
+        }
+        radixSort(keys, unsorted, 0, keys.length);
+        return unsorted;
+    }
+
+    /**
+     * Sorts objects by a long key.
+     * The keys are extracted once, then the keys and the objects are moved together,
+     * so the sort compares longs instead of calling the accessor. The sort is stable
+     *
+     * @param unsorted - an array should be sorted
+     * @param key - extracts the key of an object
+     * @return the same array
+     */
+    public static <T> T[] sortByLong(T[] unsorted, ToLongFunction<? super T> key) {
+        long[] keys = new long[unsorted.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.applyAsLong(unsorted[i]);
+        }
+        radixSort(keys, unsorted, 0, keys.length);
+        return unsorted;
+    }
+
+    /**
+     * Sorts {@code keys[from, to)} and, if values are not null, moves {@code values[from, to)} with them
+     */
+    static void radixSort(int[] keys, Object[] values, int from, int to) {
+        int n = to - from;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = histograms(keys, from, to);
+
+        int[] src = keys;
+        int[] dst = new int[n];
+        Object[] srcValues = values;
+        Object[] dstValues = values == null ? null : new Object[n];
+        int srcFrom = from;
+        int dstFrom = 0;
+
+        for (int pass = 0; pass < Integer.BYTES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int[] count = counts[pass];
+            if (count[digit(src[srcFrom], shift)] == n) {
+                continue; // all keys have the same byte
+            }
+
+            // the counts become the positions of the buckets
+            int position = dstFrom;
+            for (int d = 0; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = position;
+                position += c;
+            }
+
+            for (int i = srcFrom; i < srcFrom + n; i++) {
+                int index = count[digit(src[i], shift)]++;
+                dst[index] = src[i];
+                if (dstValues != null) {
+                    dstValues[index] = srcValues[i];
+                }
+            }
+
+            int[] keysSwap = src;
+            src = dst;
+            dst = keysSwap;
+            Object[] valuesSwap = srcValues;
+            srcValues = dstValues;
+            dstValues = valuesSwap;
+            int fromSwap = srcFrom;
+            srcFrom = dstFrom;
+            dstFrom = fromSwap;
+        }
+
+        if (src != keys) {
+            System.arraycopy(src, srcFrom, keys, from, n);
+            if (values != null) {
+                System.arraycopy(srcValues, srcFrom, values, from, n);
+            }
+        }
+    }
+
+    /**
+     * Sorts {@code keys[from, to)} and, if values are not null, moves {@code values[from, to)} with them
+     */
+    static void radixSort(long[] keys, Object[] values, int from, int to) {
+        int n = to - from;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = histograms(keys, from, to);
+
+        long[] src = keys;
+        long[] dst = new long[n];
+        Object[] srcValues = values;
+        Object[] dstValues = values == null ? null : new Object[n];
+        int srcFrom = from;
+        int dstFrom = 0;
+
+        for (int pass = 0; pass < Long.BYTES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int[] count = counts[pass];
+            if (count[digit(src[srcFrom], shift)] == n) {
+                continue; // all keys have the same byte
+            }
+
+            int position = dstFrom;
+            for (int d = 0; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = position;
+                position += c;
+            }
+
+            for (int i = srcFrom; i < srcFrom + n; i++) {
+                int index = count[digit(src[i], shift)]++;
+                dst[index] = src[i];
+                if (dstValues != null) {
+                    dstValues[index] = srcValues[i];
+                }
+            }
+
+            long[] keysSwap = src;
+            src = dst;
+            dst = keysSwap;
+            Object[] valuesSwap = srcValues;
+            srcValues = dstValues;
+            dstValues = valuesSwap;
+            int fromSwap = srcFrom;
+            srcFrom = dstFrom;
+            dstFrom = fromSwap;
+        }
+
+        if (src != keys) {
+            System.arraycopy(src, srcFrom, keys, from, n);
+            if (values != null) {
+                System.arraycopy(srcValues, srcFrom, values, from, n);
+            }
+        }
+    }
+
+    /**
+     * @return the byte of the key at the shift, with the sign bit flipped
+     */
+    private static int digit(int key, int shift) {
+        return ((key ^ Integer.MIN_VALUE) >>> shift) & MASK;
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) ((key ^ Long.MIN_VALUE) >>> shift) & MASK;
+    }
+
+    /**
+     * Counts every byte of the keys, {@code counts[pass][digit]}
+     */
+    private static int[][] histograms(int[] keys, int from, int to) {
+        if (to - from <= PARALLEL_THRESHOLD) {
+            return count(keys, from, to);
+        }
+        int chunks = (to - from + PARALLEL_THRESHOLD - 1) / PARALLEL_THRESHOLD;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> count(keys,
+                        from + chunk * PARALLEL_THRESHOLD,
+                        Math.min(to, from + (chunk + 1) * PARALLEL_THRESHOLD)))
+                .reduce(RadixSort::add)
+                .get();
+    }
+
+    private static int[][] histograms(long[] keys, int from, int to) {
+        if (to - from <= PARALLEL_THRESHOLD) {
+            return count(keys, from, to);
+        }
+        int chunks = (to - from + PARALLEL_THRESHOLD - 1) / PARALLEL_THRESHOLD;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> count(keys,
+                        from + chunk * PARALLEL_THRESHOLD,
+                        Math.min(to, from + (chunk + 1) * PARALLEL_THRESHOLD)))
+                .reduce(RadixSort::add)
+                .get();
+    }
+
+    private static int[][] count(int[] keys, int from, int to) {
+        int[][] counts = new int[Integer.BYTES][RADIX];
+        for (int i = from; i < to; i++) {
+            int key = keys[i];
+            for (int pass = 0; pass < Integer.BYTES; pass++) {
+                counts[pass][digit(key, pass * RADIX_BITS)]++;
+            }
+        }
+        return counts;
+    }
+
+    private static int[][] count(long[] keys, int from, int to) {
+        int[][] counts = new int[Long.BYTES][RADIX];
+        for (int i = from; i < to; i++) {
+            long key = keys[i];
+            for (int pass = 0; pass < Long.BYTES; pass++) {
+                counts[pass][digit(key, pass * RADIX_BITS)]++;
+            }
+        }
+        return counts;
+    }
+
+    private static int[][] add(int[][] left, int[][] right) {
+        for (int pass = 0; pass < left.length; pass++) {
+            for (int d = 0; d < RADIX; d++) {
+                left[pass][d] += right[pass][d];
+            }
+        }
+        return left;
+    }
+
+    public static void main(String[] args) {
+        RadixSort radixSort = new RadixSort();
+
+        int[] integers = {170, 45, -75, 90, 802, -24, 2, 66};
+        radixSort.sort(integers);
+        // Output => [-75, -24, 2, 45, 66, 90, 170, 802]
+        System.out.println(Arrays.toString(integers));
+
+        double[] doubles = {1.5, -0.0, 0.0, -3.25, Double.NaN, Double.NEGATIVE_INFINITY, 2};
+        radixSort.sort(doubles);
+        // Output => [-Infinity, -3.25, -0.0, 0.0, 1.5, 2.0, NaN]
+        System.out.println(Arrays.toString(doubles));
+
+        String[] strings = {"ccc", "a", "eeeee", "bb", "dddd"};
+        RadixSort.sortByInt(strings, String::length);
+        // Output => [a, bb, ccc, dddd, eeeee]
+        System.out.println(Arrays.toString(strings));
     }
 }
 // Written by James Mc Dermott(theycallmemac)
@@ -0,0 +1,370 @@
+package Sorts;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static Sorts.SortUtils.*;
+
+/**
+ * Selection and partial sorting
+ *
+ * {@code select} finds the k-th smallest element without sorting the whole array.
+ * It is an introselect: the parts are split by the {@link QuickSort} partition,
+ * but only the part holding the k-th position is kept.
+ * When the partitions are too unbalanced it switches to the median of medians pivot,
+ * which keeps the worst case linear.
+ *
+ * {@code partialSort} moves the k smallest elements to the front in order.
+ * It keeps a max heap of the k smallest elements seen so far and sorts it at the end.
+ *
+ * select: Average performance O(n), Worst-case performance O(n)
+ * partialSort: Worst-case performance O(n log k), Worst-case space complexity O(1)
+ *
+ * @see QuickSort
+ * @see HeapSort
+ *
+ */
+public final class Selection {
+
+    /**
+     * Parts shorter than this are finished by the insertion sort
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private Selection() {
+    }
+
+    /**
+     * Rearranges the array so that the k-th smallest element is at index k,
+     * the elements before it are not greater and the elements after it are not smaller
+     *
+     * @param array The array to be rearranged
+     * @param k The index of the element in the sorted order
+     * @return The k-th smallest element
+     */
+    public static <T extends Comparable<T>> T select(T[] array, int k) {
+        return select(array, k, Comparator.naturalOrder());
+    }
+
+    /**
+     * Same as {@link #select(Comparable[], int)} in the order of the comparator
+     *
+     * @param array The array to be rearranged
+     * @param k The index of the element in the sorted order
+     * @param comparator The order of the elements
+     * @return The k-th smallest element
+     */
+    public static <T> T select(T[] array, int k, Comparator<? super T> comparator) {
+        checkIndex(array.length, k);
+        select(array, 0, array.length - 1, k, QuickSort.depthLimit(array.length), comparator);
+        return array[k];
+    }
+
+    /**
+     * Sorts the k smallest elements to {@code [0, k)}, the order of the rest is unspecified
+     *
+     * @param array The array to be partially sorted
+     * @param k The number of the elements to sort
+     * @return The array
+     */
+    public static <T extends Comparable<T>> T[] partialSort(T[] array, int k) {
+        return partialSort(array, k, Comparator.naturalOrder());
+    }
+
+    /**
+     * Same as {@link #partialSort(Comparable[], int)} in the order of the comparator
+     *
+     * @param array The array to be partially sorted
+     * @param k The number of the elements to sort
+     * @param comparator The order of the elements
+     * @return The array
+     */
+    public static <T> T[] partialSort(T[] array, int k, Comparator<? super T> comparator) {
+        checkRange(array.length, 0, k);
+        if (k == 0) {
+            return array;
+        }
+        for (int root = k / 2 - 1; root >= 0; root--) {
+            HeapSort.siftDown(array, 0, root, k, comparator);
+        }
+        for (int i = k; i < array.length; i++) {
+            if (less(comparator, array[i], array[0])) {
+                swap(array, 0, i);
+                HeapSort.siftDown(array, 0, 0, k, comparator);
+            }
+        }
+        HeapSort.heapSort(array, 0, k, comparator);
+        return array;
+    }
+
+    /**
+     * Introselect over {@code [left, right]}: after the depth limit is reached
+     * every pivot is the median of medians
+     */
+    private static <T> void select(T[] array, int left, int right, int k, int depthLimit, Comparator<? super T> comparator) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            int pivot = depthLimit-- > 0
+                    ? QuickSort.choosePivot(array, left, right, comparator)
+                    : medianOfMedians(array, left, right, comparator);
+            int[] bounds = QuickSort.partition(array, left, right, pivot, comparator);
+            if (k < bounds[0]) {
+                right = bounds[0] - 1;
+            } else if (k > bounds[1]) {
+                left = bounds[1] + 1;
+            } else {
+                return;
+            }
+        }
+        InsertionSort.insertionSort(array, left, right + 1, comparator);
+    }
+
+    /**
+     * Sorts every group of five elements, moves their medians to the front of the part
+     * and selects the median of them
+     *
+     * @return The index of the median of medians
+     */
+    private static <T> int medianOfMedians(T[] array, int left, int right, Comparator<? super T> comparator) {
+        int medians = left;
+        for (int i = left; i <= right; i += 5) {
+            int end = Math.min(i + 5, right + 1);
+            InsertionSort.insertionSort(array, i, end, comparator);
+            swap(array, medians++, i + (end - i - 1) / 2);
+        }
+        int mid = left + (medians - left - 1) / 2;
+        select(array, left, medians - 1, mid, 0, comparator);
+        return mid;
+    }
+
+    /**
+     * Rearranges the array so that the k-th smallest element is at index k
+     *
+     * @param array The array to be rearranged
+     * @param k The index of the element in the sorted order
+     * @return The k-th smallest element
+     */
+    public static int select(int[] array, int k) {
+        checkIndex(array.length, k);
+        select(array, 0, array.length - 1, k, QuickSort.depthLimit(array.length));
+        return array[k];
+    }
+
+    /**
+     * Sorts the k smallest elements to {@code [0, k)}, the order of the rest is unspecified
+     *
+     * @param array The array to be partially sorted
+     * @param k The number of the elements to sort
+     * @return The array
+     */
+    public static int[] partialSort(int[] array, int k) {
+        checkRange(array.length, 0, k);
+        if (k == 0) {
+            return array;
+        }
+        for (int root = k / 2 - 1; root >= 0; root--) {
+            HeapSort.siftDown(array, 0, root, k);
+        }
+        for (int i = k; i < array.length; i++) {
+            if (array[i] < array[0]) {
+                swap(array, 0, i);
+                HeapSort.siftDown(array, 0, 0, k);
+            }
+        }
+        HeapSort.heapSort(array, 0, k);
+        return array;
+    }
+
+    private static void select(int[] array, int left, int right, int k, int depthLimit) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            int pivot = depthLimit-- > 0
+                    ? QuickSort.choosePivot(array, left, right)
+                    : medianOfMedians(array, left, right);
+            int[] bounds = QuickSort.partition(array, left, right, pivot);
+            if (k < bounds[0]) {
+                right = bounds[0] - 1;
+            } else if (k > bounds[1]) {
+                left = bounds[1] + 1;
+            } else {
+                return;
+            }
+        }
+        InsertionSort.insertionSort(array, left, right + 1);
+    }
+
+    private static int medianOfMedians(int[] array, int left, int right) {
+        int medians = left;
+        for (int i = left; i <= right; i += 5) {
+            int end = Math.min(i + 5, right + 1);
+            InsertionSort.insertionSort(array, i, end);
+            swap(array, medians++, i + (end - i - 1) / 2);
+        }
+        int mid = left + (medians - left - 1) / 2;
+        select(array, left, medians - 1, mid, 0);
+        return mid;
+    }
+
+    /**
+     * Rearranges the array so that the k-th smallest element is at index k
+     *
+     * @param array The array to be rearranged
+     * @param k The index of the element in the sorted order
+     * @return The k-th smallest element
+     */
+    public static long select(long[] array, int k) {
+        checkIndex(array.length, k);
+        select(array, 0, array.length - 1, k, QuickSort.depthLimit(array.length));
+        return array[k];
+    }
+
+    /**
+     * Sorts the k smallest elements to {@code [0, k)}, the order of the rest is unspecified
+     *
+     * @param array The array to be partially sorted
+     * @param k The number of the elements to sort
+     * @return The array
+     */
+    public static long[] partialSort(long[] array, int k) {
+        checkRange(array.length, 0, k);
+        if (k == 0) {
+            return array;
+        }
+        for (int root = k / 2 - 1; root >= 0; root--) {
+            HeapSort.siftDown(array, 0, root, k);
+        }
+        for (int i = k; i < array.length; i++) {
+            if (array[i] < array[0]) {
+                swap(array, 0, i);
+                HeapSort.siftDown(array, 0, 0, k);
+            }
+        }
+        HeapSort.heapSort(array, 0, k);
+        return array;
+    }
+
+    private static void select(long[] array, int left, int right, int k, int depthLimit) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            int pivot = depthLimit-- > 0
+                    ? QuickSort.choosePivot(array, left, right)
+                    : medianOfMedians(array, left, right);
+            int[] bounds = QuickSort.partition(array, left, right, pivot);
+            if (k < bounds[0]) {
+                right = bounds[0] - 1;
+            } else if (k > bounds[1]) {
+                left = bounds[1] + 1;
+            } else {
+                return;
+            }
+        }
+        InsertionSort.insertionSort(array, left, right + 1);
+    }
+
+    private static int medianOfMedians(long[] array, int left, int right) {
+        int medians = left;
+        for (int i = left; i <= right; i += 5) {
+            int end = Math.min(i + 5, right + 1);
+            InsertionSort.insertionSort(array, i, end);
+            swap(array, medians++, i + (end - i - 1) / 2);
+        }
+        int mid = left + (medians - left - 1) / 2;
+        select(array, left, medians - 1, mid, 0);
+        return mid;
+    }
+
+    /**
+     * Rearranges the array so that the k-th smallest element is at index k
+     *
+     * @param array The array to be rearranged
+     * @param k The index of the element in the sorted order
+     * @return The k-th smallest element
+     */
+    public static double select(double[] array, int k) {
+        checkIndex(array.length, k);
+        select(array, 0, array.length - 1, k, QuickSort.depthLimit(array.length));
+        return array[k];
+    }
+
+    /**
+     * Sorts the k smallest elements to {@code [0, k)}, the order of the rest is unspecified
+     *
+     * @param array The array to be partially sorted
+     * @param k The number of the elements to sort
+     * @return The array
+     */
+    public static double[] partialSort(double[] array, int k) {
+        checkRange(array.length, 0, k);
+        if (k == 0) {
+            return array;
+        }
+        for (int root = k / 2 - 1; root >= 0; root--) {
+            HeapSort.siftDown(array, 0, root, k);
+        }
+        for (int i = k; i < array.length; i++) {
+            if (less(array[i], array[0])) {
+                swap(array, 0, i);
+                HeapSort.siftDown(array, 0, 0, k);
+            }
+        }
+        HeapSort.heapSort(array, 0, k);
+        return array;
+    }
+
+    private static void select(double[] array, int left, int right, int k, int depthLimit) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            int pivot = depthLimit-- > 0
+                    ? QuickSort.choosePivot(array, left, right)
+                    : medianOfMedians(array, left, right);
+            int[] bounds = QuickSort.partition(array, left, right, pivot);
+            if (k < bounds[0]) {
+                right = bounds[0] - 1;
+            } else if (k > bounds[1]) {
+                left = bounds[1] + 1;
+            } else {
+                return;
+            }
+        }
+        InsertionSort.insertionSort(array, left, right + 1);
+    }
+
+    private static int medianOfMedians(double[] array, int left, int right) {
+        int medians = left;
+        for (int i = left; i <= right; i += 5) {
+            int end = Math.min(i + 5, right + 1);
+            InsertionSort.insertionSort(array, i, end);
+            swap(array, medians++, i + (end - i - 1) / 2);
+        }
+        int mid = left + (medians - left - 1) / 2;
+        select(array, left, medians - 1, mid, 0);
+        return mid;
+    }
+
+    private static void checkIndex(int length, int k) {
+        if (k < 0 || k >= length) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+    }
+
+    public static void main(String[] args) {
+        Integer[] array = {3, 4, 1, 32, 0, 1, 5, 12, 2, 5, 7, 8, 9, 2, 44, 111, 5};
+
+        // Output => 5
+        System.out.println(select(array, 8));
+
+        // Output => 111
+        System.out.println(select(array, 16, Comparator.naturalOrder()));
+
+        partialSort(array, 5);
+
+        // Output => [0, 1, 1, 2, 2]
+        System.out.println(Arrays.toString(Arrays.copyOf(array, 5)));
+
+        int[] primitives = {3, 4, 1, 32, 0, 1, 5, 12, 2, 5, 7, 8, 9, 2, 44, 111, 5};
+
+        // Output => 0
+        System.out.println(select(primitives, 0));
+
+        partialSort(primitives, 3);
+
+        // Output => [0, 1, 1]
+        System.out.println(Arrays.toString(Arrays.copyOf(primitives, 3)));
+    }
+}
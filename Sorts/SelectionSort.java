@@ -1,5 +1,7 @@
 package Sorts;
 
+import java.util.Comparator;
+
 /**
  *
  * @author Varun Upadhyay (https://github.com/varunu28)
@@ -9,23 +11,24 @@ package Sorts;
  *
  */
 
-public class SelectionSort implements SortAlgorithm {
+public class SelectionSort implements SortAlgorithm, PrimitiveSortAlgorithm {
 
     /**
      * This method implements the Generic Selection Sort
      *
      * @param arr The array to be sorted
+     * @param comparator The order of the elements
      * Sorts the array in increasing order
      **/
     @Override
-    public <T extends Comparable<T>> T[] sort(T[] arr) {
+    public <T> T[] sort(T[] arr, Comparator<? super T> comparator) {
         int n = arr.length;
         for (int i = 0; i < n - 1; i++) {
             // Initial index of min
             int min = i;
 
             for (int j = i +1 ; j < n; j++) {
-                if (SortUtils.less(arr[j], arr[min])) {
+                if (SortUtils.less(comparator, arr[j], arr[min])) {
                     min = j;
                 }
             }
@@ -39,6 +42,69 @@ public class SelectionSort implements SortAlgorithm {
         return arr;
     }
 
+    @Override
+    public int[] sort(int[] arr, int from, int to) {
+        SortUtils.checkRange(arr.length, from, to);
+        for (int i = from; i < to - 1; i++) {
+            // Initial index of min
+            int min = i;
+
+            for (int j = i + 1; j < to; j++) {
+                if (arr[j] < arr[min]) {
+                    min = j;
+                }
+            }
+
+            // Swapping if index of min is changed
+            if (min != i) {
+                SortUtils.swap(arr, i, min);
+            }
+        }
+        return arr;
+    }
+
+    @Override
+    public long[] sort(long[] arr, int from, int to) {
+        SortUtils.checkRange(arr.length, from, to);
+        for (int i = from; i < to - 1; i++) {
+            // Initial index of min
+            int min = i;
+
+            for (int j = i + 1; j < to; j++) {
+                if (arr[j] < arr[min]) {
+                    min = j;
+                }
+            }
+
+            // Swapping if index of min is changed
+            if (min != i) {
+                SortUtils.swap(arr, i, min);
+            }
+        }
+        return arr;
+    }
+
+    @Override
+    public double[] sort(double[] arr, int from, int to) {
+        SortUtils.checkRange(arr.length, from, to);
+        for (int i = from; i < to - 1; i++) {
+            // Initial index of min
+            int min = i;
+
+            for (int j = i + 1; j < to; j++) {
+                if (SortUtils.less(arr[j], arr[min])) {
+                    min = j;
+                }
+            }
+
+            // Swapping if index of min is changed
+            if (min != i) {
+                SortUtils.swap(arr, i, min);
+            }
+        }
+        return arr;
+    }
+
     // Driver Program
     public static void main(String[] args) {
 
@@ -1,5 +1,8 @@
 package Sorts;
 
+import java.util.Arrays;
+import java.util.Comparator;
+
 import static Sorts.SortUtils.*;
 
 
@@ -10,14 +13,15 @@ import static Sorts.SortUtils.*;
  * @see SortAlgorithm
  *
  */
-public class ShellSort implements SortAlgorithm {
+public class ShellSort implements SortAlgorithm, PrimitiveSortAlgorithm {
 
   /**
    * This method implements Generic Shell Sort.
    * @param array The array to be sorted
+   * @param comparator The order of the elements
    */
   @Override
-  public <T extends Comparable<T>> T[] sort(T[] array) {
+  public <T> T[] sort(T[] array, Comparator<? super T> comparator) {
     int N = array.length;
     int h = 1;
 
@@ -27,7 +31,7 @@ public class ShellSort implements SortAlgorithm {
 
     while (h >= 1) {
         for (int i = h; i < N; i++) {
-            for (int j = i; j >= h && less(array[j], array[j-h]); j -= h) {
+            for (int j = i; j >= h && less(comparator, array[j], array[j-h]); j -= h) {
                 swap(array, j, j - h);
             }
         }
@@ -38,6 +42,84 @@ public class ShellSort implements SortAlgorithm {
     return array;
   }
 
+  @Override
+  public int[] sort(int[] array, int from, int to) {
+    checkRange(array.length, from, to);
+    int N = to - from;
+    int h = 1;
+
+    while (h < N/3) {
+        h = 3 * h + 1;
+    }
+
+    while (h >= 1) {
+        for (int i = from + h; i < to; i++) {
+            int key = array[i];
+            int j = i;
+            for (; j - h >= from && key < array[j - h]; j -= h) {
+                array[j] = array[j - h];
+            }
+            array[j] = key;
+        }
+
+        h /= 3;
+    }
+
+    return array;
+  }
+
+  @Override
+  public long[] sort(long[] array, int from, int to) {
+    checkRange(array.length, from, to);
+    int N = to - from;
+    int h = 1;
+
+    while (h < N/3) {
+        h = 3 * h + 1;
+    }
+
+    while (h >= 1) {
+        for (int i = from + h; i < to; i++) {
+            long key = array[i];
+            int j = i;
+            for (; j - h >= from && key < array[j - h]; j -= h) {
+                array[j] = array[j - h];
+            }
+            array[j] = key;
+        }
+
+        h /= 3;
+    }
+
+    return array;
+  }
+
+  @Override
+  public double[] sort(double[] array, int from, int to) {
+    checkRange(array.length, from, to);
+    int N = to - from;
+    int h = 1;
+
+    while (h < N/3) {
+        h = 3 * h + 1;
+    }
+
+    while (h >= 1) {
+        for (int i = from + h; i < to; i++) {
+            double key = array[i];
+            int j = i;
+            for (; j - h >= from && less(key, array[j - h]); j -= h) {
+                array[j] = array[j - h];
+            }
+            array[j] = key;
+        }
+
+        h /= 3;
+    }
+
+    return array;
+  }
+
   public static void main(String[] args) {
       Integer[] toSort = {4, 23, 6, 78, 1, 54, 231, 9, 12};
 
@@ -46,5 +128,8 @@ public class ShellSort implements SortAlgorithm {
 
       print(sorted);
 
+      int[] primitives = {4, 23, 6, 78, 1, 54, 231, 9, 12};
+      System.out.println(Arrays.toString(sort.sort(primitives)));
+
   }
 }
@@ -1,6 +1,7 @@
 package Sorts;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -16,7 +17,18 @@ public interface SortAlgorithm {
      * @param unsorted - an array should be sorted
      * @return a sorted array
      */
-    <T extends Comparable<T>> T[] sort(T[] unsorted);
+    default <T extends Comparable<T>> T[] sort(T[] unsorted) {
+        return sort(unsorted, Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorts an array in the order of the comparator,
+     * so records can be sorted by a field without wrapping them into comparable adapters
+     * @param unsorted - an array should be sorted
+     * @param comparator - the order of the elements
+     * @return a sorted array
+     */
+    <T> T[] sort(T[] unsorted, Comparator<? super T> comparator);
 
     /**
      * Auxiliary method for algorithms what wanted to work with lists from JCF
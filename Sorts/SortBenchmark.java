@@ -0,0 +1,317 @@
+package Sorts;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import static java.lang.String.format;
+
+/**
+ * Benchmark of the {@link SortAlgorithm} and {@link PrimitiveSortAlgorithm} implementations
+ *
+ * Every algorithm sorts arrays of several sizes and distributions, as
+ * - Integer keys, sorted by every {@link SortAlgorithm}
+ * - String keys, the keys written as zero padded digits in the same order,
+ *   sorted by the string sorts and a few comparison sorts for reference
+ * - int keys, sorted by every {@link PrimitiveSortAlgorithm}
+ * Every measurement sorts a fresh copy of the same input: a few warmup rounds first,
+ * then the measured rounds, so the JIT has compiled the algorithm before it is timed.
+ * Every measured result is checked to be sorted, so the sort can't be optimized away.
+ * For every case the benchmark reports
+ * - throughput, sorts per second and nanoseconds per element
+ * - allocated bytes per sort, measured for the current thread
+ *   (the work of {@link ParallelMergeSort} in the pool is not counted)
+ * - comparisons per element, counted by a separate run with keys which count their compareTo calls.
+ *   The counted keys are in the same order as the timed keys, so a comparison sort compares them the same way.
+ *   It is "-" where the timed run doesn't compare keys: the primitive sorts, the radix sorts
+ *   and {@link AdaptiveSort} when it chose another strategy for the timed keys than for the counted ones
+ *
+ * The quadratic algorithms are only run up to {@value #QUADRATIC_LIMIT} elements,
+ * {@link BogoSort} is not run at all.
+ * This harness runs in one JVM without fork isolation, use it for the comparisons
+ * and the JMH benchmarks of the jmh module for throughput and allocation.
+ *
+ * Usage: java Sorts.SortBenchmark [size ...]
+ *
+ * @see SortAlgorithm
+ * @see PrimitiveSortAlgorithm
+ *
+ */
+public class SortBenchmark {
+
+    private static final int[] DEFAULT_SIZES = {100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    private static final int QUADRATIC_LIMIT = 10_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    enum Distribution {
+        RANDOM, SORTED, REVERSE, FEW_UNIQUE, ORGAN_PIPE, ZIPF;
+
+        int[] generate(int size, Random random) {
+            int[] keys = new int[size];
+            switch (this) {
+                case RANDOM:
+                    for (int i = 0; i < size; i++) keys[i] = random.nextInt();
+                    break;
+                case SORTED:
+                    for (int i = 0; i < size; i++) keys[i] = i;
+                    break;
+                case REVERSE:
+                    for (int i = 0; i < size; i++) keys[i] = size - i;
+                    break;
+                case FEW_UNIQUE:
+                    for (int i = 0; i < size; i++) keys[i] = random.nextInt(16);
+                    break;
+                case ORGAN_PIPE:
+                    for (int i = 0; i < size; i++) keys[i] = Math.min(i, size - i);
+                    break;
+                case ZIPF:
+                    double[] cdf = zipfCdf(Math.max(size / 10, 1));
+                    for (int i = 0; i < size; i++) {
+                        int rank = Arrays.binarySearch(cdf, random.nextDouble());
+                        keys[i] = rank < 0 ? -rank - 1 : rank;
+                    }
+                    break;
+            }
+            return keys;
+        }
+
+        /**
+         * Cumulative distribution of ranks 1..n with the exponent 1
+         */
+        private static double[] zipfCdf(int n) {
+            double[] cdf = new double[n];
+            double sum = 0;
+            for (int rank = 1; rank <= n; rank++) {
+                sum += 1.0 / rank;
+                cdf[rank - 1] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cdf[i] /= sum;
+            }
+            return cdf;
+        }
+    }
+
+    /**
+     * A key which counts how many times it was compared
+     */
+    private static final class CountingKey implements Comparable<CountingKey> {
+        private static final LongAdder comparisons = new LongAdder();
+        private final int value;
+
+        CountingKey(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(CountingKey other) {
+            comparisons.increment();
+            return Integer.compare(value, other.value);
+        }
+    }
+
+    /**
+     * The time and the allocated bytes of one sort
+     */
+    private static final class Measurement {
+        private final double nanos;
+        private final double bytes;
+
+        Measurement(double nanos, double bytes) {
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+
+    static Map<String, SortAlgorithm> algorithms() {
+        Map<String, SortAlgorithm> algorithms = new LinkedHashMap<>();
+        algorithms.put("AdaptiveSort", new AdaptiveSort());
+        algorithms.put("QuickSort", new QuickSort());
+        algorithms.put("MergeSort", new MergeSort());
+        algorithms.put("ParallelMergeSort", new ParallelMergeSort());
+        algorithms.put("AdaptiveMergeSort", new AdaptiveMergeSort());
+        algorithms.put("ParallelSampleSort", new ParallelSampleSort());
+        algorithms.put("HeapSort", new HeapSort());
+        algorithms.put("HeapSort(4-ary)", new HeapSort(4));
+        algorithms.put("ShellSort", new ShellSort());
+        algorithms.put("CombSort", new CombSort());
+        algorithms.put("CountingSort", new CountingSort());
+        algorithms.put("BinaryTreeSort", new BinaryTreeSort());
+        algorithms.put("InsertionSort", new InsertionSort());
+        algorithms.put("SelectionSort", new SelectionSort());
+        algorithms.put("BubbleSort", new BubbleSort());
+        algorithms.put("CocktailShakerSort", new CocktailShakerSort());
+        algorithms.put("GnomeSort", new GnomeSort());
+        algorithms.put("CycleSort", new CycleSort());
+        algorithms.put("PancakeSort", new PancakeSort());
+        return algorithms;
+    }
+
+    /**
+     * The string sorts and the comparison sorts to compare them with
+     */
+    static Map<String, SortAlgorithm> stringAlgorithms() {
+        Map<String, SortAlgorithm> algorithms = new LinkedHashMap<>();
+        algorithms.put("AdaptiveSort", new AdaptiveSort());
+        algorithms.put("MSDRadixSort", new MSDRadixSort());
+        algorithms.put("ThreeWayStringQuickSort", new ThreeWayStringQuickSort());
+        algorithms.put("QuickSort", new QuickSort());
+        algorithms.put("MergeSort", new MergeSort());
+        algorithms.put("AdaptiveMergeSort", new AdaptiveMergeSort());
+        return algorithms;
+    }
+
+    static Map<String, PrimitiveSortAlgorithm> primitiveAlgorithms() {
+        Map<String, PrimitiveSortAlgorithm> algorithms = new LinkedHashMap<>();
+        for (Map.Entry<String, SortAlgorithm> entry : algorithms().entrySet()) {
+            if (entry.getValue() instanceof PrimitiveSortAlgorithm) {
+                algorithms.put(entry.getKey(), (PrimitiveSortAlgorithm) entry.getValue());
+            }
+        }
+        algorithms.put("RadixSort", new RadixSort());
+        return algorithms;
+    }
+
+    static boolean isQuadratic(Object algorithm) {
+        return algorithm instanceof InsertionSort
+                || algorithm instanceof SelectionSort
+                || algorithm instanceof BubbleSort
+                || algorithm instanceof CocktailShakerSort
+                || algorithm instanceof GnomeSort
+                || algorithm instanceof CycleSort
+                || algorithm instanceof PancakeSort;
+    }
+
+    /**
+     * @return false for the sorts which sort the strings by their chars instead of comparing them
+     */
+    private static boolean comparesKeys(SortAlgorithm algorithm) {
+        return !(algorithm instanceof MSDRadixSort || algorithm instanceof ThreeWayStringQuickSort);
+    }
+
+    /**
+     * @return the strategy {@link AdaptiveSort} chose for its last sort, null for the other algorithms
+     */
+    private static AdaptiveSort.Strategy strategy(SortAlgorithm algorithm) {
+        return algorithm instanceof AdaptiveSort ? ((AdaptiveSort) algorithm).lastDecision().getStrategy() : null;
+    }
+
+    /**
+     * @return the key written as ten digits, so the strings are in the same order as the keys
+     */
+    static String text(int key) {
+        String digits = Long.toString((long) key - Integer.MIN_VALUE);
+        return "0000000000".substring(digits.length()) + digits;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static <A> Measurement measure(A input, UnaryOperator<A> copy, UnaryOperator<A> sort, Predicate<A> sorted) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sort.apply(copy.apply(input));
+        }
+
+        long elapsed = 0;
+        long allocated = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            A array = copy.apply(input);
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            A result = sort.apply(array);
+            elapsed += System.nanoTime() - start;
+            allocated += allocatedBytes() - bytes;
+            if (!sorted.test(result)) {
+                throw new IllegalStateException("The result is not sorted");
+            }
+        }
+        return new Measurement(elapsed / (double) MEASURED_ROUNDS, allocated / (double) MEASURED_ROUNDS);
+    }
+
+    private static <T extends Comparable<T>> boolean isSorted(T[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (array[i - 1].compareTo(array[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSorted(int[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (array[i - 1] > array[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T extends Comparable<T>> void benchmark(String name, SortAlgorithm algorithm, Distribution distribution,
+                                                            T[] input, CountingKey[] counted) {
+        Measurement measurement = measure(input, T[]::clone, algorithm::sort, SortBenchmark::isSorted);
+        AdaptiveSort.Strategy timed = strategy(algorithm);
+
+        String comparisons = "-";
+        if (comparesKeys(algorithm)) {
+            CountingKey.comparisons.reset();
+            algorithm.sort(counted.clone());
+            long count = CountingKey.comparisons.sum();
+            if (strategy(algorithm) == timed) {
+                comparisons = format("%.2f", count / (double) input.length);
+            }
+        }
+        print(name, input.getClass().getComponentType().getSimpleName(), distribution, input.length, measurement, comparisons);
+    }
+
+    private static void benchmark(String name, PrimitiveSortAlgorithm algorithm, Distribution distribution, int[] input) {
+        Measurement measurement = measure(input, int[]::clone, algorithm::sort, SortBenchmark::isSorted);
+        print(name, "int", distribution, input.length, measurement, "-");
+    }
+
+    private static void print(String name, String keys, Distribution distribution, int size,
+                              Measurement measurement, String comparisons) {
+        System.out.println(format("%-24s %-8s %-11s %,12d %14.2f %12.2f %16.1f %14s",
+                name, keys, distribution, size,
+                1e9 / measurement.nanos,
+                measurement.nanos / size,
+                measurement.bytes / 1024,
+                comparisons));
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? DEFAULT_SIZES : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        Random random = new Random(42);
+
+        System.out.println(format("%-24s %-8s %-11s %12s %14s %12s %16s %14s",
+                "Algorithm", "Keys", "Input", "Size", "Sorts/s", "ns/elem", "Alloc KB/sort", "Cmp/elem"));
+        for (int size : sizes) {
+            for (Distribution distribution : Distribution.values()) {
+                int[] keys = distribution.generate(size, random);
+                Integer[] integers = Arrays.stream(keys).boxed().toArray(Integer[]::new);
+                String[] strings = Arrays.stream(keys).mapToObj(SortBenchmark::text).toArray(String[]::new);
+                CountingKey[] counted = Arrays.stream(keys).mapToObj(CountingKey::new).toArray(CountingKey[]::new);
+
+                for (Map.Entry<String, SortAlgorithm> entry : algorithms().entrySet()) {
+                    if (size <= QUADRATIC_LIMIT || !isQuadratic(entry.getValue())) {
+                        benchmark(entry.getKey(), entry.getValue(), distribution, integers, counted);
+                    }
+                }
+                for (Map.Entry<String, SortAlgorithm> entry : stringAlgorithms().entrySet()) {
+                    benchmark(entry.getKey(), entry.getValue(), distribution, strings, counted);
+                }
+                for (Map.Entry<String, PrimitiveSortAlgorithm> entry : primitiveAlgorithms().entrySet()) {
+                    if (size <= QUADRATIC_LIMIT || !isQuadratic(entry.getValue())) {
+                        benchmark(entry.getKey(), entry.getValue(), distribution, keys);
+                    }
+                }
+            }
+        }
+    }
+}
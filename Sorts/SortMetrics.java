@@ -0,0 +1,69 @@
+package Sorts;
+
+import static java.lang.String.format;
+
+/**
+ * An immutable snapshot of what sorts did: how many times they were called,
+ * how many comparisons and swaps they made, how deep they recursed and how long they took
+ *
+ * @see InstrumentedSort
+ *
+ */
+public final class SortMetrics {
+
+    private final long calls;
+    private final long elements;
+    private final long comparisons;
+    private final long swaps;
+    private final int maxRecursionDepth;
+    private final long elapsedNanos;
+
+    SortMetrics(long calls, long elements, long comparisons, long swaps, int maxRecursionDepth, long elapsedNanos) {
+        this.calls = calls;
+        this.elements = elements;
+        this.comparisons = comparisons;
+        this.swaps = swaps;
+        this.maxRecursionDepth = maxRecursionDepth;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * @return the total length of the sorted arrays
+     */
+    public long getElements() {
+        return elements;
+    }
+
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    public long getSwaps() {
+        return swaps;
+    }
+
+    public int getMaxRecursionDepth() {
+        return maxRecursionDepth;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the average number of comparisons per sorted element
+     */
+    public double getComparisonsPerElement() {
+        return elements == 0 ? 0 : (double) comparisons / elements;
+    }
+
+    @Override
+    public String toString() {
+        return format("SortMetrics{calls=%d, elements=%d, comparisons=%d, swaps=%d, maxRecursionDepth=%d, elapsed=%.3f ms}",
+                calls, elements, comparisons, swaps, maxRecursionDepth, elapsedNanos / 1e6);
+    }
+}
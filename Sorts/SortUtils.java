@@ -1,6 +1,7 @@
 package Sorts;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -11,6 +12,31 @@ import java.util.List;
  **/
 final class SortUtils {
 
+    /**
+     * Switches on the counting of comparisons, swaps and recursion depth,
+     * it is read once, so when it is off the JIT removes the counting code.
+     * Set by {@code -DSorts.instrumented=true}
+     *
+     * @see InstrumentedSort
+     */
+    static final boolean INSTRUMENTED = Boolean.getBoolean("Sorts.instrumented");
+
+    /**
+     * The counters of the current thread, they are updated only if {@link #INSTRUMENTED} is on
+     */
+    static final class Counters {
+        private static final ThreadLocal<Counters> CURRENT = ThreadLocal.withInitial(Counters::new);
+
+        long comparisons;
+        long swaps;
+        int depth;
+        int maxDepth;
+
+        static Counters current() {
+            return CURRENT.get();
+        }
+    }
+
 
     /**
      * Helper method for swapping places in array
@@ -19,6 +45,9 @@ final class SortUtils {
      * @param idy index of the second element
      */
     static <T> boolean swap(T[] array, int idx, int idy){
+        if (INSTRUMENTED) {
+            Counters.current().swaps++;
+        }
         T swap = array[idx];
         array[idx] = array[idy];
         array[idy] = swap;
@@ -26,6 +55,48 @@ final class SortUtils {
     }
 
 
+    /**
+     * Helper method for swapping places in int array
+     * @param array The array which elements we want to swap
+     * @param idx index of the first element
+     * @param idy index of the second element
+     */
+    static boolean swap(int[] array, int idx, int idy){
+        int swap = array[idx];
+        array[idx] = array[idy];
+        array[idy] = swap;
+        return true;
+    }
+
+
+    /**
+     * Helper method for swapping places in long array
+     * @param array The array which elements we want to swap
+     * @param idx index of the first element
+     * @param idy index of the second element
+     */
+    static boolean swap(long[] array, int idx, int idy){
+        long swap = array[idx];
+        array[idx] = array[idy];
+        array[idy] = swap;
+        return true;
+    }
+
+
+    /**
+     * Helper method for swapping places in double array
+     * @param array The array which elements we want to swap
+     * @param idx index of the first element
+     * @param idy index of the second element
+     */
+    static boolean swap(double[] array, int idx, int idy){
+        double swap = array[idx];
+        array[idx] = array[idy];
+        array[idy] = swap;
+        return true;
+    }
+
+
     /**
      * This method checks if first element is less then the other element
      * @param v first element
@@ -33,10 +104,112 @@ final class SortUtils {
      * @return true if the first element is less then the second element
      */
     static <T extends Comparable<T>> boolean less(T v, T w) {
+        if (INSTRUMENTED) {
+            Counters.current().comparisons++;
+        }
         return v.compareTo(w) < 0;
     }
 
 
+    /**
+     * This method checks if first element is less then the other element in the order of the comparator
+     * @param comparator the order of the elements
+     * @param v first element
+     * @param w second element
+     * @return true if the first element is less then the second element
+     */
+    static <T> boolean less(Comparator<? super T> comparator, T v, T w) {
+        if (INSTRUMENTED) {
+            Counters.current().comparisons++;
+        }
+        return comparator.compare(v, w) < 0;
+    }
+
+
+    /**
+     * Compares two elements by the comparator, the same as {@link Comparator#compare(Object, Object)} but counted
+     * @param comparator the order of the elements
+     * @param v first element
+     * @param w second element
+     * @return a negative number, zero, or a positive number as the first element is less than, equal to, or greater than the second
+     */
+    static <T> int compare(Comparator<? super T> comparator, T v, T w) {
+        if (INSTRUMENTED) {
+            Counters.current().comparisons++;
+        }
+        return comparator.compare(v, w);
+    }
+
+
+    /**
+     * Compares two elements, the same as {@link Comparable#compareTo(Object)} but counted
+     * @param v first element
+     * @param w second element
+     * @return a negative number, zero, or a positive number as the first element is less than, equal to, or greater than the second
+     */
+    static <T extends Comparable<T>> int compare(T v, T w) {
+        if (INSTRUMENTED) {
+            Counters.current().comparisons++;
+        }
+        return v.compareTo(w);
+    }
+
+
+    /**
+     * Marks the start of a recursive call, it tracks the recursion depth
+     */
+    static void enter() {
+        if (INSTRUMENTED) {
+            Counters counters = Counters.current();
+            counters.maxDepth = Math.max(counters.maxDepth, ++counters.depth);
+        }
+    }
+
+
+    /**
+     * Marks the end of a recursive call
+     */
+    static void exit() {
+        if (INSTRUMENTED) {
+            Counters.current().depth--;
+        }
+    }
+
+
+    /**
+     * This method checks if first double is less then the other one.
+     * The order is the same as {@link Double#compare(double, double)}:
+     * -0.0 is less than 0.0 and NaN is greater than any other value
+     * @param v first element
+     * @param w second element
+     * @return true if the first element is less then the second element
+     */
+    static boolean less(double v, double w) {
+        return Double.compare(v, w) < 0;
+    }
+
+
+    /**
+     * Checks that {@code [from, to)} is a valid range of an array
+     * @param length the length of the array
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @throws IllegalArgumentException if {@code from > to}
+     * @throws ArrayIndexOutOfBoundsException if {@code from < 0} or {@code to > length}
+     */
+    static void checkRange(int length, int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (to > length) {
+            throw new ArrayIndexOutOfBoundsException(to);
+        }
+    }
+
+
     /**
      * Just print list
      * @param toPrint - a list which should be printed
@@ -67,7 +240,44 @@ final class SortUtils {
      * @param left is a left flip border of the array
      * @param right is a right flip border of the array
      */
-    static <T extends Comparable<T>> void flip(T[] array, int left, int right) {
+    static <T> void flip(T[] array, int left, int right) {
+        while (left <= right) {
+            swap(array, left++ , right--);
+        }
+    }
+
+
+    /**
+     * Swaps all position from {@param left} to @{@param right} for {@param array}
+     * @param array is an array of ints
+     * @param left is a left flip border of the array
+     * @param right is a right flip border of the array
+     */
+    static void flip(int[] array, int left, int right) {
+        while (left <= right) {
+            swap(array, left++ , right--);
+        }
+    }
+
+    /**
+     * Swaps all position from {@param left} to @{@param right} for {@param array}
+     * @param array is an array of longs
+     * @param left is a left flip border of the array
+     * @param right is a right flip border of the array
+     */
+    static void flip(long[] array, int left, int right) {
+        while (left <= right) {
+            swap(array, left++ , right--);
+        }
+    }
+
+    /**
+     * Swaps all position from {@param left} to @{@param right} for {@param array}
+     * @param array is an array of doubles
+     * @param left is a left flip border of the array
+     * @param right is a right flip border of the array
+     */
+    static void flip(double[] array, int left, int right) {
         while (left <= right) {
             swap(array, left++ , right--);
         }
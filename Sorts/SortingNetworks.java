@@ -0,0 +1,285 @@
+package Sorts;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Sorting networks for small primitive arrays
+ *
+ * A sorting network is a fixed sequence of compare-exchange operations, which sorts any input of its size.
+ * Every compare-exchange is a min and a max, so there is no data dependent branch to mispredict.
+ * On random data it is about three times faster than the insertion sort,
+ * which mispredicts about once per element.
+ * The branchless insertion sort does the same with a loop instead of a network.
+ * Measured inside the recursive sorts, the networks are the faster base case of the {@link MergeSort}
+ * and the branchless insertion sort is the faster base case of the {@link QuickSort}.
+ *
+ * The networks have the smallest known number of comparators for their size
+ * (the network for 13 elements is derived from the one for 14 and has one comparator more).
+ * Doubles are ordered by {@link Double#compare(double, double)}, like in the other primitive sorts.
+ *
+ * Worst-case performance O(1) for n <= {@value #MAX_SIZE}, at most 60 compare-exchanges
+ *
+ * @see InsertionSort
+ * @see QuickSort
+ * @see MergeSort
+ *
+ */
+public final class SortingNetworks {
+
+    /**
+     * The largest part which can be sorted by a network
+     */
+    public static final int MAX_SIZE = 16;
+
+    /**
+     * NETWORKS[n] holds the pairs of indexes compared by the network for n elements
+     */
+    private static final int[][] NETWORKS = {
+            {},
+            {},
+            {0, 1},
+            {0, 2, 0, 1, 1, 2},
+            {0, 1, 2, 3, 0, 2, 1, 3, 1, 2},
+            {0, 3, 1, 4, 0, 2, 1, 3, 0, 1, 2, 4, 1, 2, 3, 4,
+                    2, 3},
+            {0, 5, 1, 3, 2, 4, 1, 2, 3, 4, 0, 3, 2, 5, 0, 1,
+                    2, 3, 4, 5, 1, 2, 3, 4},
+            {0, 6, 2, 3, 4, 5, 0, 2, 1, 4, 3, 6, 0, 1, 2, 5,
+                    3, 4, 1, 2, 4, 6, 2, 3, 4, 5, 1, 2, 3, 4, 5, 6},
+            {0, 2, 1, 3, 4, 6, 5, 7, 0, 4, 1, 5, 2, 6, 3, 7,
+                    0, 1, 2, 3, 4, 5, 6, 7, 2, 4, 3, 5, 1, 4, 3, 6,
+                    1, 2, 3, 4, 5, 6},
+            {0, 3, 1, 7, 2, 5, 4, 8, 0, 7, 2, 4, 3, 8, 5, 6,
+                    0, 2, 1, 3, 4, 5, 7, 8, 1, 4, 3, 6, 5, 7, 0, 1,
+                    2, 4, 3, 5, 6, 8, 2, 3, 4, 5, 6, 7, 1, 2, 3, 4,
+                    5, 6},
+            {0, 8, 1, 9, 2, 7, 3, 5, 4, 6, 0, 2, 1, 4, 5, 8,
+                    7, 9, 0, 3, 2, 4, 5, 7, 6, 9, 0, 1, 3, 6, 8, 9,
+                    1, 5, 2, 3, 4, 8, 6, 7, 1, 2, 3, 5, 4, 6, 7, 8,
+                    2, 3, 4, 5, 6, 7, 3, 4, 5, 6},
+            {0, 9, 1, 6, 2, 4, 3, 7, 5, 8, 0, 1, 3, 5, 4, 10,
+                    6, 9, 7, 8, 1, 3, 2, 5, 4, 7, 8, 10, 0, 4, 1, 2,
+                    3, 7, 5, 9, 6, 8, 0, 1, 2, 6, 4, 5, 7, 8, 9, 10,
+                    2, 4, 3, 6, 5, 7, 8, 9, 1, 2, 3, 4, 5, 6, 7, 8,
+                    2, 3, 4, 5, 6, 7},
+            {0, 8, 1, 7, 2, 6, 3, 11, 4, 10, 5, 9, 0, 1, 2, 5,
+                    3, 4, 6, 9, 7, 8, 10, 11, 0, 2, 1, 6, 5, 10, 9, 11,
+                    0, 3, 1, 2, 4, 6, 5, 7, 8, 11, 9, 10, 1, 4, 3, 5,
+                    6, 8, 7, 10, 1, 3, 2, 5, 6, 9, 8, 10, 2, 3, 4, 5,
+                    6, 7, 8, 9, 4, 6, 5, 7, 3, 4, 5, 6, 7, 8},
+            {1, 12, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9,
+                    3, 4, 11, 12, 0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11,
+                    0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 1, 2, 3, 12,
+                    4, 6, 5, 7, 8, 10, 9, 11, 1, 4, 2, 6, 5, 8, 7, 10,
+                    2, 4, 3, 6, 9, 12, 3, 5, 6, 8, 7, 9, 10, 12, 3, 4,
+                    5, 6, 7, 8, 9, 10, 11, 12, 6, 7, 8, 9},
+            {0, 13, 1, 12, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7,
+                    2, 9, 3, 4, 6, 13, 11, 12, 0, 1, 2, 3, 4, 5, 6, 8,
+                    7, 9, 10, 11, 12, 13, 0, 2, 1, 3, 4, 10, 5, 11, 6, 7,
+                    8, 9, 1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 1, 4,
+                    2, 6, 5, 8, 7, 10, 9, 13, 2, 4, 3, 6, 9, 12, 11, 13,
+                    3, 5, 6, 8, 7, 9, 10, 12, 3, 4, 5, 6, 7, 8, 9, 10,
+                    11, 12, 6, 7, 8, 9},
+            {0, 13, 1, 12, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5,
+                    1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 11, 12, 0, 1, 2, 3,
+                    4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 0, 2, 1, 3, 4, 10,
+                    5, 11, 6, 7, 8, 9, 12, 14, 1, 2, 3, 12, 4, 6, 5, 7,
+                    8, 10, 9, 11, 13, 14, 1, 4, 2, 6, 5, 8, 7, 10, 9, 13,
+                    11, 14, 2, 4, 3, 6, 9, 12, 11, 13, 3, 5, 6, 8, 7, 9,
+                    10, 12, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 6, 7, 8, 9},
+            {0, 13, 1, 12, 2, 15, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10,
+                    0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 10, 15, 11, 12,
+                    0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 14, 15,
+                    0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 12, 14, 13, 15,
+                    1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13, 14, 1, 4,
+                    2, 6, 5, 8, 7, 10, 9, 13, 11, 14, 2, 4, 3, 6, 9, 12,
+                    11, 13, 3, 5, 6, 8, 7, 9, 10, 12, 3, 4, 5, 6, 7, 8,
+                    9, 10, 11, 12, 6, 7, 8, 9}
+    };
+
+    private SortingNetworks() {
+    }
+
+    private static int[] network(int size) {
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("size(" + size + ") > " + MAX_SIZE);
+        }
+        return NETWORKS[size];
+    }
+
+    /**
+     * Sorts {@code [from, to)} of at most {@value #MAX_SIZE} elements by the sorting network of its size
+     *
+     * @param array the array to be sorted
+     * @param from the first index of the part
+     * @param to the index after the last element of the part
+     */
+    public static void sort(int[] array, int from, int to) {
+        int[] network = network(to - from);
+        for (int k = 0; k < network.length; k += 2) {
+            int i = from + network[k];
+            int j = from + network[k + 1];
+            int a = array[i];
+            int b = array[j];
+            array[i] = Math.min(a, b);
+            array[j] = Math.max(a, b);
+        }
+    }
+
+    /**
+     * Insertion sort without data dependent branches: every new element is carried down
+     * to the start of the sorted prefix, leaving the greater element behind at every step.
+     * It is quadratic, so it is only meant for a few elements.
+     *
+     * @param array the array to be sorted
+     * @param from the first index of the part
+     * @param to the index after the last element of the part
+     */
+    public static void insertionSort(int[] array, int from, int to) {
+        for (int j = from + 1; j < to; j++) {
+            int x = array[j];
+            for (int i = j; i > from; i--) {
+                int y = array[i - 1];
+                array[i] = Math.max(x, y);
+                x = Math.min(x, y);
+            }
+            array[from] = x;
+        }
+    }
+
+    /**
+     * Sorts {@code [from, to)} of at most {@value #MAX_SIZE} elements by the sorting network of its size
+     *
+     * @param array the array to be sorted
+     * @param from the first index of the part
+     * @param to the index after the last element of the part
+     */
+    public static void sort(long[] array, int from, int to) {
+        int[] network = network(to - from);
+        for (int k = 0; k < network.length; k += 2) {
+            int i = from + network[k];
+            int j = from + network[k + 1];
+            long a = array[i];
+            long b = array[j];
+            array[i] = Math.min(a, b);
+            array[j] = Math.max(a, b);
+        }
+    }
+
+    /**
+     * Insertion sort without data dependent branches: every new element is carried down
+     * to the start of the sorted prefix, leaving the greater element behind at every step.
+     * It is quadratic, so it is only meant for a few elements.
+     *
+     * @param array the array to be sorted
+     * @param from the first index of the part
+     * @param to the index after the last element of the part
+     */
+    public static void insertionSort(long[] array, int from, int to) {
+        for (int j = from + 1; j < to; j++) {
+            long x = array[j];
+            for (int i = j; i > from; i--) {
+                long y = array[i - 1];
+                array[i] = Math.max(x, y);
+                x = Math.min(x, y);
+            }
+            array[from] = x;
+        }
+    }
+
+    /**
+     * Sorts {@code [from, to)} of at most {@value #MAX_SIZE} elements by the sorting network of its size
+     *
+     * @param array the array to be sorted
+     * @param from the first index of the part
+     * @param to the index after the last element of the part
+     */
+    public static void sort(double[] array, int from, int to) {
+        int[] network = network(to - from);
+        for (int k = 0; k < network.length; k += 2) {
+            int i = from + network[k];
+            int j = from + network[k + 1];
+            double a = array[i];
+            double b = array[j];
+            boolean swap = Double.compare(a, b) > 0;
+            array[i] = swap ? b : a;
+            array[j] = swap ? a : b;
+        }
+    }
+
+    /**
+     * Insertion sort without data dependent branches: every new element is carried down
+     * to the start of the sorted prefix, leaving the greater element behind at every step.
+     * It is quadratic, so it is only meant for a few elements.
+     *
+     * @param array the array to be sorted
+     * @param from the first index of the part
+     * @param to the index after the last element of the part
+     */
+    public static void insertionSort(double[] array, int from, int to) {
+        for (int j = from + 1; j < to; j++) {
+            double x = array[j];
+            for (int i = j; i > from; i--) {
+                double y = array[i - 1];
+                boolean swap = Double.compare(y, x) > 0;
+                array[i] = swap ? y : x;
+                x = swap ? x : y;
+            }
+            array[from] = x;
+        }
+    }
+
+    /**
+     * Compares the networks and the branchless insertion sort with the {@link InsertionSort}
+     * on random arrays of every size up to {@value #MAX_SIZE} and on arrays of mixed sizes
+     *
+     * Usage: java Sorts.SortingNetworks [arrays per size]
+     */
+    public static void main(String[] args) {
+        int[] primitives = {3, 4, 1, 32, 0, 1, 5, 12, 2, 5, 7, 8, 9, 2, 44, 111};
+        sort(primitives, 0, primitives.length);
+
+        // Output => [0, 1, 1, 2, 2, 3, 4, 5, 5, 7, 8, 9, 12, 32, 44, 111]
+        System.out.println(Arrays.toString(primitives));
+
+        int arrays = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(42);
+        System.out.println(String.format("%5s %14s %14s %14s", "size", "InsertionSort", "branchless", "network"));
+        for (int size = 2; size <= MAX_SIZE + 1; size++) {
+            boolean mixed = size > MAX_SIZE;
+            int[] sizes = new int[arrays];
+            int length = 0;
+            for (int i = 0; i < arrays; i++) {
+                sizes[i] = mixed ? 1 + random.nextInt(MAX_SIZE) : size;
+                length += sizes[i];
+            }
+            int[] data = new int[length];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = random.nextInt();
+            }
+            long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+            for (int round = 0; round < 10; round++) {
+                for (int kernel = 0; kernel < 3; kernel++) {
+                    int[] copy = data.clone();
+                    long start = System.nanoTime();
+                    for (int i = 0, from = 0; i < arrays; from += sizes[i++]) {
+                        switch (kernel) {
+                            case 0:
+                                InsertionSort.insertionSort(copy, from, from + sizes[i]);
+                                break;
+                            case 1:
+                                insertionSort(copy, from, from + sizes[i]);
+                                break;
+                            default:
+                                sort(copy, from, from + sizes[i]);
+                        }
+                    }
+                    best[kernel] = Math.min(best[kernel], System.nanoTime() - start);
+                }
+            }
+            System.out.println(String.format("%5s %11.1f ns %11.1f ns %11.1f ns", mixed ? "1-" + MAX_SIZE : size,
+                    (double) best[0] / arrays, (double) best[1] / arrays, (double) best[2] / arrays));
+        }
+    }
+}
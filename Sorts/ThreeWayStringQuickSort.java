@@ -0,0 +1,263 @@
+package Sorts;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static Sorts.SortUtils.*;
+
+/**
+ * Three-way string quicksort (multikey quicksort)
+ *
+ * The strings are partitioned by their character at depth d into the strings with a smaller,
+ * an equal and a greater character than the pivot character.
+ * The smaller and the greater parts are sorted again at depth d,
+ * only the equal part moves to depth d + 1, so a common prefix is read once per partition
+ * and never compared again. The largest of the three parts is sorted in a loop and the other two recursively,
+ * as in the {@link QuickSort}. Unlike the {@link MSDRadixSort} it needs no buckets,
+ * so it is fast for large alphabets and for parts with few distinct characters.
+ * Small parts are finished by an insertion sort comparing from depth d.
+ *
+ * The sort is not stable. Strings (and other {@link CharSequence}s) are compared by their UTF-16 chars,
+ * which is the natural order of {@link String}, byte arrays are compared as unsigned bytes.
+ *
+ * Average performance O(n log n + total length of the distinguishing prefixes) character reads
+ * Worst-case space complexity O(log n) stack
+ *
+ * @see MSDRadixSort
+ * @see QuickSort
+ * @see SortAlgorithm
+ *
+ */
+public class ThreeWayStringQuickSort implements SortAlgorithm {
+
+    /**
+     * Parts shorter than this are sorted by the insertion sort
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Strings and other comparable char sequences in their natural order are sorted by the string quicksort,
+     * any other array or order is sorted by the {@link QuickSort}
+     */
+    @Override
+    public <T> T[] sort(T[] unsorted, Comparator<? super T> comparator) {
+        if (comparator == Comparator.naturalOrder() && unsorted instanceof CharSequence[]) {
+            sortChars((CharSequence[]) unsorted);
+            return unsorted;
+        }
+        return new QuickSort().sort(unsorted, comparator);
+    }
+
+    /**
+     * Sorts the char sequences lexicographically by their chars
+     *
+     * @param unsorted the array to be sorted
+     * @return the sorted array
+     */
+    public <T extends CharSequence> T[] sortChars(T[] unsorted) {
+        sort(unsorted, 0, unsorted.length - 1, 0);
+        return unsorted;
+    }
+
+    /**
+     * Sorts the byte arrays lexicographically by their unsigned bytes
+     *
+     * @param unsorted the array to be sorted
+     * @return the sorted array
+     */
+    public byte[][] sort(byte[][] unsorted) {
+        sort(unsorted, 0, unsorted.length - 1, 0);
+        return unsorted;
+    }
+
+    /**
+     * Sorts {@code [lo, hi]}, all strings there are equal before depth d
+     */
+    private static <T extends CharSequence> void sort(T[] array, int lo, int hi, int d) {
+        enter();
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            int mid = lo + (hi - lo) / 2;
+            swap(array, lo, median(array, lo, mid, hi, d));
+            int pivot = charAt(array[lo], d);
+
+            // [lo, lt) < pivot, [lt, gt] == pivot, (gt, hi] > pivot
+            int lt = lo;
+            int gt = hi;
+            int i = lo + 1;
+            while (i <= gt) {
+                int c = charAt(array[i], d);
+                if (c < pivot) {
+                    swap(array, lt++, i++);
+                } else if (c > pivot) {
+                    swap(array, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            // the strings in [lt, gt] all end at d when the pivot is -1, they are equal and sorted
+            int smaller = lt - lo;
+            int equal = pivot < 0 ? 0 : gt - lt + 1;
+            int greater = hi - gt;
+            // the two smaller parts are sorted recursively and the largest one in the loop,
+            // each of the smaller parts is at most half of the strings, so the stack depth is O(log n)
+            if (smaller >= equal && smaller >= greater) {
+                sort(array, gt + 1, hi, d);
+                if (pivot >= 0) {
+                    sort(array, lt, gt, d + 1);
+                }
+                hi = lt - 1;
+            } else if (greater >= equal) {
+                sort(array, lo, lt - 1, d);
+                if (pivot >= 0) {
+                    sort(array, lt, gt, d + 1);
+                }
+                lo = gt + 1;
+            } else {
+                sort(array, lo, lt - 1, d);
+                sort(array, gt + 1, hi, d);
+                lo = lt;
+                hi = gt;
+                d++;
+            }
+        }
+        insertionSort(array, lo, hi, d);
+        exit();
+    }
+
+    private static <T extends CharSequence> int median(T[] array, int i, int j, int k, int d) {
+        int a = charAt(array[i], d);
+        int b = charAt(array[j], d);
+        int c = charAt(array[k], d);
+        return a < b
+                ? (b < c ? j : a < c ? k : i)
+                : (a < c ? i : b < c ? k : j);
+    }
+
+    private static int charAt(CharSequence s, int d) {
+        return d < s.length() ? s.charAt(d) : -1;
+    }
+
+    private static <T extends CharSequence> void insertionSort(T[] array, int lo, int hi, int d) {
+        for (int j = lo + 1; j <= hi; j++) {
+            T key = array[j];
+            int i = j - 1;
+            while (i >= lo && less(key, array[i], d)) {
+                array[i + 1] = array[i];
+                i--;
+            }
+            array[i + 1] = key;
+        }
+    }
+
+    /**
+     * Compares two strings from depth d, the chars before d are known to be equal
+     */
+    private static boolean less(CharSequence v, CharSequence w, int d) {
+        int length = Math.min(v.length(), w.length());
+        for (int i = d; i < length; i++) {
+            char a = v.charAt(i);
+            char b = w.charAt(i);
+            if (a != b) {
+                return a < b;
+            }
+        }
+        return v.length() < w.length();
+    }
+
+    private static void sort(byte[][] array, int lo, int hi, int d) {
+        enter();
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            int mid = lo + (hi - lo) / 2;
+            swap(array, lo, median(array, lo, mid, hi, d));
+            int pivot = byteAt(array[lo], d);
+
+            int lt = lo;
+            int gt = hi;
+            int i = lo + 1;
+            while (i <= gt) {
+                int b = byteAt(array[i], d);
+                if (b < pivot) {
+                    swap(array, lt++, i++);
+                } else if (b > pivot) {
+                    swap(array, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            // the strings in [lt, gt] all end at d when the pivot is -1, they are equal and sorted
+            int smaller = lt - lo;
+            int equal = pivot < 0 ? 0 : gt - lt + 1;
+            int greater = hi - gt;
+            // the two smaller parts are sorted recursively and the largest one in the loop,
+            // each of the smaller parts is at most half of the strings, so the stack depth is O(log n)
+            if (smaller >= equal && smaller >= greater) {
+                sort(array, gt + 1, hi, d);
+                if (pivot >= 0) {
+                    sort(array, lt, gt, d + 1);
+                }
+                hi = lt - 1;
+            } else if (greater >= equal) {
+                sort(array, lo, lt - 1, d);
+                if (pivot >= 0) {
+                    sort(array, lt, gt, d + 1);
+                }
+                lo = gt + 1;
+            } else {
+                sort(array, lo, lt - 1, d);
+                sort(array, gt + 1, hi, d);
+                lo = lt;
+                hi = gt;
+                d++;
+            }
+        }
+        insertionSort(array, lo, hi, d);
+        exit();
+    }
+
+    private static int median(byte[][] array, int i, int j, int k, int d) {
+        int a = byteAt(array[i], d);
+        int b = byteAt(array[j], d);
+        int c = byteAt(array[k], d);
+        return a < b
+                ? (b < c ? j : a < c ? k : i)
+                : (a < c ? i : b < c ? k : j);
+    }
+
+    private static int byteAt(byte[] s, int d) {
+        return d < s.length ? s[d] & 0xFF : -1;
+    }
+
+    private static void insertionSort(byte[][] array, int lo, int hi, int d) {
+        for (int j = lo + 1; j <= hi; j++) {
+            byte[] key = array[j];
+            int i = j - 1;
+            while (i >= lo && less(key, array[i], d)) {
+                array[i + 1] = array[i];
+                i--;
+            }
+            array[i + 1] = key;
+        }
+    }
+
+    private static boolean less(byte[] v, byte[] w, int d) {
+        return Arrays.compareUnsigned(v, Math.min(d, v.length), v.length, w, Math.min(d, w.length), w.length) < 0;
+    }
+
+    public static void main(String[] args) {
+        ThreeWayStringQuickSort stringQuickSort = new ThreeWayStringQuickSort();
+
+        String[] paths = {"/var/log/b.log", "/var/log/a.log", "/var/lib", "/usr/bin", "/var/log/a.log.1"};
+        stringQuickSort.sort(paths);
+
+        // Output => [/usr/bin, /var/lib, /var/log/a.log, /var/log/a.log.1, /var/log/b.log]
+        System.out.println(Arrays.toString(paths));
+
+        byte[][] keys = {{1, 2}, {(byte) 0xFF}, {1}, {}};
+        stringQuickSort.sort(keys);
+
+        // Output => [[], [1], [1, 2], [-1]]
+        System.out.println(Arrays.deepToString(keys));
+    }
+}
@@ -0,0 +1,358 @@
+package Sorts.vector;
+
+import Sorts.PartitionKernel;
+import Sorts.SortingNetworks;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vectorized partition and small-block sort for the primitive QuickSort
+ *
+ * The partition reads a vector of elements, compares it with the pivot at once
+ * and moves the smaller elements to the front of the vector by a shuffle from a table indexed by the mask.
+ * The vector is then stored twice: to the end of the smaller elements on the left
+ * and to the start of the greater elements on the right, only the matching lanes are kept by moving
+ * the write positions. Both sides always keep a vector of free space, so the part is partitioned in place.
+ * The three-way partition is a pass by {@code < pivot}, followed by a pass by {@code <= pivot}
+ * over the right side only when it contains another copy of the pivot.
+ *
+ * Parts of up to 16 ints are sorted by a bitonic network in one 512-bit vector.
+ *
+ * The kernels use 256-bit vectors, 8 ints or 4 longs, so the shuffle tables stay small.
+ * When the preferred vectors of the CPU are narrower, {@link #create()} returns null
+ * and the QuickSort keeps its scalar code, and without 512-bit vectors the small parts are sorted
+ * by the branchless insertion sort of {@link SortingNetworks}.
+ *
+ * Compile and run with {@code --add-modules jdk.incubator.vector}.
+ *
+ * @see PartitionKernel
+ *
+ */
+public final class VectorKernels implements PartitionKernel {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_256;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_256;
+    private static final VectorSpecies<Integer> SMALL = IntVector.SPECIES_512;
+
+    /**
+     * Parts shorter than this are partitioned by the scalar code
+     */
+    private static final int VECTOR_THRESHOLD = 64;
+
+    /**
+     * The lanes from {@code mask * lanes} move the lanes set in the mask to the front, keeping their order
+     */
+    private static final int[] INT_COMPRESS = compressIndexes(INTS.length());
+    private static final long[] LONG_COMPRESS = toLongs(compressIndexes(LONGS.length()));
+
+    /**
+     * The bit of every lane: a mask is turned into an int by blending and or-ing them,
+     * since {@link VectorMask#toLong()} is not a single instruction on every CPU
+     */
+    private static final IntVector INT_BITS = IntVector.broadcast(INTS, 1)
+            .lanewise(VectorOperators.LSHL, IntVector.zero(INTS).addIndex(1));
+    private static final LongVector LONG_BITS = LongVector.broadcast(LONGS, 1)
+            .lanewise(VectorOperators.LSHL, LongVector.zero(LONGS).addIndex(1));
+
+    /**
+     * The bitonic network of 16 lanes: the partner lanes and the lanes which take the maximum of every step
+     */
+    private static final VectorShuffle<Integer>[] BITONIC_PARTNERS;
+    private static final VectorMask<Integer>[] BITONIC_MAXIMA;
+
+    static {
+        int lanes = SMALL.length();
+        int steps = 0;
+        for (int k = 2; k <= lanes; k *= 2) {
+            for (int j = k / 2; j > 0; j /= 2) {
+                steps++;
+            }
+        }
+        BITONIC_PARTNERS = shuffles(steps);
+        BITONIC_MAXIMA = masks(steps);
+        int step = 0;
+        for (int k = 2; k <= lanes; k *= 2) {
+            for (int j = k / 2; j > 0; j /= 2, step++) {
+                int[] partners = new int[lanes];
+                boolean[] maxima = new boolean[lanes];
+                for (int i = 0; i < lanes; i++) {
+                    partners[i] = i ^ j;
+                    maxima[i] = ((i & j) != 0) == ((i & k) == 0);
+                }
+                BITONIC_PARTNERS[step] = VectorShuffle.fromArray(SMALL, partners, 0);
+                BITONIC_MAXIMA[step] = VectorMask.fromArray(SMALL, maxima, 0);
+            }
+        }
+    }
+
+    private final boolean sortSmallVectors;
+
+    private VectorKernels(boolean sortSmallVectors) {
+        this.sortSmallVectors = sortSmallVectors;
+    }
+
+    /**
+     * @return the kernels or null if the CPU has no 256-bit vectors
+     */
+    public static PartitionKernel create() {
+        int bits = IntVector.SPECIES_PREFERRED.vectorBitSize();
+        if (bits < INTS.vectorBitSize()) {
+            return null;
+        }
+        return new VectorKernels(bits >= SMALL.vectorBitSize());
+    }
+
+    /**
+     * The pivot is kept aside at {@code left} during the first pass and then swapped
+     * with the last smaller element, so with distinct elements a single pass is enough
+     */
+    @Override
+    public int[] partition(int[] array, int left, int right, int pivotIndex) {
+        int pivot = array[pivotIndex];
+        array[pivotIndex] = array[left];
+        array[left] = pivot;
+        int lt = partition(array, left + 1, right, pivot, false) - 1;
+        array[left] = array[lt];
+        array[lt] = pivot;
+        int gt = lt;
+        if (contains(array, lt + 1, right, pivot)) {
+            gt = partition(array, lt + 1, right, pivot, true) - 1;
+        }
+        return new int[]{lt, gt};
+    }
+
+    @Override
+    public int[] partition(long[] array, int left, int right, int pivotIndex) {
+        long pivot = array[pivotIndex];
+        array[pivotIndex] = array[left];
+        array[left] = pivot;
+        int lt = partition(array, left + 1, right, pivot, false) - 1;
+        array[left] = array[lt];
+        array[lt] = pivot;
+        int gt = lt;
+        if (contains(array, lt + 1, right, pivot)) {
+            gt = partition(array, lt + 1, right, pivot, true) - 1;
+        }
+        return new int[]{lt, gt};
+    }
+
+    @Override
+    public void sortSmall(int[] array, int from, int to) {
+        if (!sortSmallVectors) {
+            SortingNetworks.insertionSort(array, from, to);
+            return;
+        }
+        VectorMask<Integer> used = SMALL.indexInRange(0, to - from);
+        IntVector vector = IntVector.broadcast(SMALL, Integer.MAX_VALUE)
+                .blend(IntVector.fromArray(SMALL, array, from, used), used);
+        for (int step = 0; step < BITONIC_PARTNERS.length; step++) {
+            IntVector partner = vector.rearrange(BITONIC_PARTNERS[step]);
+            vector = vector.min(partner).blend(vector.max(partner), BITONIC_MAXIMA[step]);
+        }
+        vector.intoArray(array, from, used);
+    }
+
+    @Override
+    public void sortSmall(long[] array, int from, int to) {
+        SortingNetworks.insertionSort(array, from, to);
+    }
+
+    /**
+     * Two-way partition of {@code [left, right]}: the elements less than the pivot, or equal to it, first
+     *
+     * @return the index of the first element of the right side
+     */
+    private static int partition(int[] array, int left, int right, int pivot, boolean orEqual) {
+        int lanes = INTS.length();
+        if (right - left + 1 < VECTOR_THRESHOLD) {
+            return scalarPartition(array, left, right, pivot, orEqual);
+        }
+
+        // the first and the last vector are put aside, so both sides start with a vector of free space
+        int[] rest = new int[3 * lanes];
+        System.arraycopy(array, left, rest, 0, lanes);
+        System.arraycopy(array, right + 1 - lanes, rest, lanes, lanes);
+        int readLeft = left + lanes;
+        int readRight = right + 1 - lanes;
+        int writeLeft = left;
+        int writeRight = right + 1;
+
+        while (readRight - readLeft >= lanes) {
+            IntVector vector;
+            if (readLeft - writeLeft <= writeRight - readRight) {
+                vector = IntVector.fromArray(INTS, array, readLeft);
+                readLeft += lanes;
+            } else {
+                readRight -= lanes;
+                vector = IntVector.fromArray(INTS, array, readRight);
+            }
+            VectorMask<Integer> mask = vector.compare(orEqual ? VectorOperators.LE : VectorOperators.LT, pivot);
+            int bits = IntVector.zero(INTS).blend(INT_BITS, mask).reduceLanes(VectorOperators.OR);
+            int count = Integer.bitCount(bits);
+            IntVector compressed = vector.rearrange(IntVector.fromArray(INTS, INT_COMPRESS, bits * lanes).toShuffle());
+            compressed.intoArray(array, writeLeft);
+            compressed.intoArray(array, writeRight - lanes);
+            writeLeft += count;
+            writeRight -= lanes - count;
+        }
+
+        int length = 2 * lanes;
+        for (int i = readLeft; i < readRight; i++) {
+            rest[length++] = array[i];
+        }
+        for (int i = 0; i < length; i++) {
+            int value = rest[i];
+            if (value < pivot || (orEqual && value == pivot)) {
+                array[writeLeft++] = value;
+            } else {
+                array[--writeRight] = value;
+            }
+        }
+        return writeLeft;
+    }
+
+    private static int partition(long[] array, int left, int right, long pivot, boolean orEqual) {
+        int lanes = LONGS.length();
+        if (right - left + 1 < VECTOR_THRESHOLD) {
+            return scalarPartition(array, left, right, pivot, orEqual);
+        }
+
+        long[] rest = new long[3 * lanes];
+        System.arraycopy(array, left, rest, 0, lanes);
+        System.arraycopy(array, right + 1 - lanes, rest, lanes, lanes);
+        int readLeft = left + lanes;
+        int readRight = right + 1 - lanes;
+        int writeLeft = left;
+        int writeRight = right + 1;
+
+        while (readRight - readLeft >= lanes) {
+            LongVector vector;
+            if (readLeft - writeLeft <= writeRight - readRight) {
+                vector = LongVector.fromArray(LONGS, array, readLeft);
+                readLeft += lanes;
+            } else {
+                readRight -= lanes;
+                vector = LongVector.fromArray(LONGS, array, readRight);
+            }
+            VectorMask<Long> mask = vector.compare(orEqual ? VectorOperators.LE : VectorOperators.LT, pivot);
+            int bits = (int) LongVector.zero(LONGS).blend(LONG_BITS, mask).reduceLanes(VectorOperators.OR);
+            int count = Integer.bitCount(bits);
+            LongVector compressed = vector.rearrange(LongVector.fromArray(LONGS, LONG_COMPRESS, bits * lanes).toShuffle());
+            compressed.intoArray(array, writeLeft);
+            compressed.intoArray(array, writeRight - lanes);
+            writeLeft += count;
+            writeRight -= lanes - count;
+        }
+
+        int length = 2 * lanes;
+        for (int i = readLeft; i < readRight; i++) {
+            rest[length++] = array[i];
+        }
+        for (int i = 0; i < length; i++) {
+            long value = rest[i];
+            if (value < pivot || (orEqual && value == pivot)) {
+                array[writeLeft++] = value;
+            } else {
+                array[--writeRight] = value;
+            }
+        }
+        return writeLeft;
+    }
+
+    private static int scalarPartition(int[] array, int left, int right, int pivot, boolean orEqual) {
+        int i = left;
+        for (int j = left; j <= right; j++) {
+            int value = array[j];
+            if (value < pivot || (orEqual && value == pivot)) {
+                array[j] = array[i];
+                array[i++] = value;
+            }
+        }
+        return i;
+    }
+
+    private static int scalarPartition(long[] array, int left, int right, long pivot, boolean orEqual) {
+        int i = left;
+        for (int j = left; j <= right; j++) {
+            long value = array[j];
+            if (value < pivot || (orEqual && value == pivot)) {
+                array[j] = array[i];
+                array[i++] = value;
+            }
+        }
+        return i;
+    }
+
+    private static boolean contains(int[] array, int from, int to, int key) {
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from + 1); i < bound; i += INTS.length()) {
+            if (IntVector.fromArray(INTS, array, i).eq(key).anyTrue()) {
+                return true;
+            }
+        }
+        for (; i <= to; i++) {
+            if (array[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(long[] array, int from, int to, long key) {
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from + 1); i < bound; i += LONGS.length()) {
+            if (LongVector.fromArray(LONGS, array, i).eq(key).anyTrue()) {
+                return true;
+            }
+        }
+        for (; i <= to; i++) {
+            if (array[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return for every mask of the lanes, the indexes of the set lanes followed by the other lanes
+     */
+    private static int[] compressIndexes(int lanes) {
+        int[] indexes = new int[lanes << lanes];
+        for (int mask = 0; mask < 1 << lanes; mask++) {
+            int next = mask * lanes;
+            for (int lane = 0; lane < lanes; lane++) {
+                if ((mask & (1 << lane)) != 0) {
+                    indexes[next++] = lane;
+                }
+            }
+            for (int lane = 0; lane < lanes; lane++) {
+                if ((mask & (1 << lane)) == 0) {
+                    indexes[next++] = lane;
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static long[] toLongs(int[] values) {
+        long[] longs = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            longs[i] = values[i];
+        }
+        return longs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> VectorShuffle<E>[] shuffles(int length) {
+        return (VectorShuffle<E>[]) new VectorShuffle<?>[length];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> VectorMask<E>[] masks(int length) {
+        return (VectorMask<E>[]) new VectorMask<?>[length];
+    }
+}
@@ -0,0 +1,192 @@
+package Sorts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the {@link SortAlgorithm} and {@link PrimitiveSortAlgorithm} implementations
+ *
+ * Every algorithm sorts the sizes and distributions of {@link SortBenchmark}, as
+ * - Integer keys, sorted by every {@link SortAlgorithm}
+ * - String keys, the keys written as zero padded digits, sorted by the string sorts and a few comparison sorts
+ * - int keys, sorted by every {@link PrimitiveSortAlgorithm}
+ * The quadratic algorithms have their own benchmarks, which only go up to 10 000 elements.
+ *
+ * Every invocation sorts a fresh copy of the input, the copy is part of the measured time.
+ * The sorted array is returned, so JMH consumes it and the sort can't be optimized away.
+ * Every case runs in two forked JVMs, with the vector module added, so {@link QuickSort} uses its vector kernels
+ * where the CPU has them.
+ *
+ * The allocation rate per sort is reported by the GC profiler, {@code -prof gc}, as gc.alloc.rate.norm.
+ * The comparisons per element don't depend on the JVM, they are counted by {@link SortBenchmark}.
+ *
+ * Build and run from the root of the repository:
+ * mvn -B package
+ * java -jar jmh/target/benchmarks.jar SortThroughputBenchmark -prof gc
+ * java -jar jmh/target/benchmarks.jar "SortThroughputBenchmark.ints$" -p algorithm=QuickSort,RadixSort -p size=1000000 -prof gc
+ *
+ * @see SortBenchmark
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class SortThroughputBenchmark {
+
+    @State(Scope.Thread)
+    public static class IntegerKeys {
+        @Param({"AdaptiveSort", "QuickSort", "MergeSort", "ParallelMergeSort", "AdaptiveMergeSort", "ParallelSampleSort",
+                "HeapSort", "HeapSort(4-ary)", "ShellSort", "CombSort", "CountingSort", "BinaryTreeSort"})
+        public String algorithm;
+
+        @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+        public int size;
+
+        @Param({"RANDOM", "SORTED", "REVERSE", "FEW_UNIQUE", "ORGAN_PIPE", "ZIPF"})
+        public String distribution;
+
+        SortAlgorithm sort;
+        Integer[] input;
+
+        @Setup
+        public void setup() {
+            sort = SortBenchmark.algorithms().get(algorithm);
+            input = Arrays.stream(generate(distribution, size)).boxed().toArray(Integer[]::new);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class QuadraticIntegerKeys {
+        @Param({"InsertionSort", "SelectionSort", "BubbleSort", "CocktailShakerSort", "GnomeSort", "CycleSort",
+                "PancakeSort"})
+        public String algorithm;
+
+        @Param({"100", "1000", "10000"})
+        public int size;
+
+        @Param({"RANDOM", "SORTED", "REVERSE", "FEW_UNIQUE", "ORGAN_PIPE", "ZIPF"})
+        public String distribution;
+
+        SortAlgorithm sort;
+        Integer[] input;
+
+        @Setup
+        public void setup() {
+            sort = SortBenchmark.algorithms().get(algorithm);
+            input = Arrays.stream(generate(distribution, size)).boxed().toArray(Integer[]::new);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class StringKeys {
+        @Param({"AdaptiveSort", "MSDRadixSort", "ThreeWayStringQuickSort", "QuickSort", "MergeSort",
+                "AdaptiveMergeSort"})
+        public String algorithm;
+
+        @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+        public int size;
+
+        @Param({"RANDOM", "SORTED", "REVERSE", "FEW_UNIQUE", "ORGAN_PIPE", "ZIPF"})
+        public String distribution;
+
+        SortAlgorithm sort;
+        String[] input;
+
+        @Setup
+        public void setup() {
+            sort = SortBenchmark.stringAlgorithms().get(algorithm);
+            input = Arrays.stream(generate(distribution, size)).mapToObj(SortBenchmark::text).toArray(String[]::new);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class IntKeys {
+        @Param({"AdaptiveSort", "QuickSort", "MergeSort", "HeapSort", "HeapSort(4-ary)", "ShellSort", "CombSort",
+                "RadixSort"})
+        public String algorithm;
+
+        @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+        public int size;
+
+        @Param({"RANDOM", "SORTED", "REVERSE", "FEW_UNIQUE", "ORGAN_PIPE", "ZIPF"})
+        public String distribution;
+
+        PrimitiveSortAlgorithm sort;
+        int[] input;
+
+        @Setup
+        public void setup() {
+            sort = SortBenchmark.primitiveAlgorithms().get(algorithm);
+            input = generate(distribution, size);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class QuadraticIntKeys {
+        @Param({"InsertionSort", "SelectionSort", "BubbleSort", "CocktailShakerSort", "GnomeSort", "CycleSort",
+                "PancakeSort"})
+        public String algorithm;
+
+        @Param({"100", "1000", "10000"})
+        public int size;
+
+        @Param({"RANDOM", "SORTED", "REVERSE", "FEW_UNIQUE", "ORGAN_PIPE", "ZIPF"})
+        public String distribution;
+
+        PrimitiveSortAlgorithm sort;
+        int[] input;
+
+        @Setup
+        public void setup() {
+            sort = SortBenchmark.primitiveAlgorithms().get(algorithm);
+            input = generate(distribution, size);
+        }
+    }
+
+    /**
+     * The same keys for every algorithm of a size and distribution
+     */
+    private static int[] generate(String distribution, int size) {
+        return SortBenchmark.Distribution.valueOf(distribution).generate(size, new Random(42));
+    }
+
+    @Benchmark
+    public Integer[] integers(IntegerKeys keys) {
+        return keys.sort.sort(keys.input.clone());
+    }
+
+    @Benchmark
+    public Integer[] quadraticIntegers(QuadraticIntegerKeys keys) {
+        return keys.sort.sort(keys.input.clone());
+    }
+
+    @Benchmark
+    public String[] strings(StringKeys keys) {
+        return keys.sort.sort(keys.input.clone());
+    }
+
+    @Benchmark
+    public int[] ints(IntKeys keys) {
+        return keys.sort.sort(keys.input.clone());
+    }
+
+    @Benchmark
+    public int[] quadraticInts(QuadraticIntKeys keys) {
+        return keys.sort.sort(keys.input.clone());
+    }
+}